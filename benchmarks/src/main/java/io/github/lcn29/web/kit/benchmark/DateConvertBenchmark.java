@@ -0,0 +1,65 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import io.github.lcn29.web.kit.json.convert.String2LocalDateConverter;
+import io.github.lcn29.web.kit.json.convert.String2LocalDateTimeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 请求参数中字符串转时间的基准测试
+ * 覆盖时间戳和格式化字符串两种入参
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 10:12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateConvertBenchmark {
+
+    private final String2LocalDateTimeConverter localDateTimeConverter = new String2LocalDateTimeConverter();
+
+    private final String2LocalDateConverter localDateConverter = new String2LocalDateConverter();
+
+    private final String epochMillis = "1678009200000";
+
+    private final String dateTimeText = "2023-03-05 17:40:00";
+
+    private final String dateText = "2023-03-05";
+
+    @Benchmark
+    public LocalDateTime localDateTimeFromEpochMillis() {
+        return localDateTimeConverter.convert(epochMillis);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTimeFromText() {
+        return localDateTimeConverter.convert(dateTimeText);
+    }
+
+    @Benchmark
+    public LocalDate localDateFromEpochMillis() {
+        return localDateConverter.convert(epochMillis);
+    }
+
+    @Benchmark
+    public LocalDate localDateFromText() {
+        return localDateConverter.convert(dateText);
+    }
+}
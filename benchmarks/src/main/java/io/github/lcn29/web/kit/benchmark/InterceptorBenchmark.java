@@ -0,0 +1,103 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import io.github.lcn29.web.kit.interceptor.RequestLogInterceptor;
+import io.github.lcn29.web.kit.interceptor.TraceIdInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 拦截器的基准测试
+ * 每个请求都会经过 TraceIdInterceptor 和 RequestLogInterceptor, 这里测量一次完整的 preHandle + afterCompletion
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 10:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterceptorBenchmark {
+
+    private final TraceIdInterceptor traceIdInterceptor = new TraceIdInterceptor();
+
+    private final RequestLogInterceptor requestLogInterceptor = new RequestLogInterceptor();
+
+    private final RequestLogInterceptor sampledRequestLogInterceptor = new RequestLogInterceptor()
+            .combinedLog(true)
+            .defaultSampleRate(0.01D);
+
+    private final Object handler = new Object();
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletRequest tracedRequest;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("GET", "/sample/list");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36");
+        request.addParameter("pageNo", "1");
+        request.addParameter("pageSize", "20");
+        request.addParameter("keyword", "lcn");
+
+        tracedRequest = new MockHttpServletRequest("GET", "/sample/list");
+        tracedRequest.addHeader("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+
+        response = new MockHttpServletResponse();
+    }
+
+    /**
+     * 请求头中没有 traceId, 需要生成
+     */
+    @Benchmark
+    public boolean traceIdGenerated() throws Exception {
+        boolean result = traceIdInterceptor.preHandle(request, response, handler);
+        traceIdInterceptor.afterCompletion(request, response, handler, null);
+        return result;
+    }
+
+    /**
+     * 请求头中带有 traceId
+     */
+    @Benchmark
+    public boolean traceIdFromHeader() throws Exception {
+        boolean result = traceIdInterceptor.preHandle(tracedRequest, response, handler);
+        traceIdInterceptor.afterCompletion(tracedRequest, response, handler, null);
+        return result;
+    }
+
+    @Benchmark
+    public boolean requestLog() throws Exception {
+        boolean result = requestLogInterceptor.preHandle(request, response, handler);
+        requestLogInterceptor.afterCompletion(request, response, handler, null);
+        return result;
+    }
+
+    /**
+     * 合并日志并按照 1% 采样
+     */
+    @Benchmark
+    public boolean requestLogSampled() throws Exception {
+        boolean result = sampledRequestLogInterceptor.preHandle(request, response, handler);
+        sampledRequestLogInterceptor.afterCompletion(request, response, handler, null);
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.lcn29.web.kit.json.JacksonObjectMapperBuilderCustomizer;
+import io.github.lcn29.web.kit.json.deserializer.Long2LocalDateTimeDeserializer;
+import io.github.lcn29.web.kit.json.serializer.LocalDateTime2LongSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * json 序列化和反序列化的基准测试
+ * kitMapper: 通过 JacksonObjectMapperBuilderCustomizer 配置的 ObjectMapper, 即业务服务实际使用的
+ * epochMapper: 额外注册了 LocalDateTime <-> long 的 ObjectMapper
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 10:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private ObjectMapper kitMapper;
+
+    private ObjectMapper epochMapper;
+
+    private SampleDto sampleDto;
+
+    private String epochJson;
+
+    @Setup
+    public void setup() throws IOException {
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonObjectMapperBuilderCustomizer().generateJackson2ObjectMapperBuilderCustomizer().customize(builder);
+        kitMapper = builder.build();
+
+        SimpleModule epochModule = new SimpleModule();
+        epochModule.addSerializer(LocalDateTime.class, new LocalDateTime2LongSerializer());
+        epochModule.addDeserializer(LocalDateTime.class, new Long2LocalDateTimeDeserializer());
+        epochMapper = new ObjectMapper().registerModule(epochModule);
+
+        sampleDto = SampleDto.sample();
+        epochJson = epochMapper.writeValueAsString(sampleDto.getCreateTime());
+    }
+
+    /**
+     * Long/BigInteger 转字符串 + LocalDateTime/LocalDate 格式化
+     */
+    @Benchmark
+    public byte[] serializeWithKitMapper() throws IOException {
+        return kitMapper.writeValueAsBytes(sampleDto);
+    }
+
+    @Benchmark
+    public byte[] serializeLongValue() throws IOException {
+        return kitMapper.writeValueAsBytes(sampleDto.getId());
+    }
+
+    @Benchmark
+    public byte[] serializeBigIntegerValue() throws IOException {
+        return kitMapper.writeValueAsBytes(sampleDto.getAmount());
+    }
+
+    @Benchmark
+    public byte[] serializeLocalDateTime2Long() throws IOException {
+        return epochMapper.writeValueAsBytes(sampleDto.getCreateTime());
+    }
+
+    @Benchmark
+    public LocalDateTime deserializeLong2LocalDateTime() throws IOException {
+        return epochMapper.readValue(epochJson, LocalDateTime.class);
+    }
+
+    /**
+     * 基准测试使用的 DTO
+     */
+    public static class SampleDto {
+
+        private Long id;
+
+        private BigInteger amount;
+
+        private String name;
+
+        private LocalDateTime createTime;
+
+        private LocalDate birthday;
+
+        static SampleDto sample() {
+            SampleDto dto = new SampleDto();
+            dto.id = 1632548937158770690L;
+            dto.amount = new BigInteger("123456789012345678901234567890");
+            dto.name = "lcn-web-kit";
+            dto.createTime = LocalDateTime.of(2023, 3, 5, 17, 40, 0);
+            dto.birthday = LocalDate.of(2023, 3, 5);
+            return dto;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public BigInteger getAmount() {
+            return amount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.json.JacksonObjectMapperBuilderCustomizer;
+import io.github.lcn29.web.kit.json.JsonEngine;
+import io.github.lcn29.web.kit.response.Response;
+import io.github.lcn29.web.kit.response.ResponseBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * json 引擎的基准测试, 用于按照服务的实际数据选择 JsonEngine
+ * 开始前会检查两个引擎对同一个 Response 的输出是否完全一致, 不一致时直接失败
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 22:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonEngineBenchmark {
+
+    @Param({"JACKSON", "FASTJSON2"})
+    private JsonEngine engine;
+
+    @Param({"1", "100"})
+    private int rows;
+
+    private HttpMessageConverter<Object> converter;
+
+    private Response<List<Map<String, Object>>> response;
+
+    @Setup
+    public void setup() throws IOException {
+        JacksonObjectMapperBuilderCustomizer customizer = new JacksonObjectMapperBuilderCustomizer();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        customizer.generateJackson2ObjectMapperBuilderCustomizer().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+
+        List<Map<String, Object>> content = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", 1632548937158770690L + i);
+            row.put("amount", new BigInteger("123456789012345678901234567890"));
+            row.put("name", "lcn-web-kit-" + i);
+            row.put("createTime", LocalDateTime.of(2023, 3, 5, 17, 40, i % 60));
+            row.put("birthday", LocalDate.of(2023, 3, 5));
+            row.put("tags", Arrays.asList("a", "b"));
+            row.put("remark", null);
+            content.add(row);
+        }
+        response = ResponseBuilder.success(content);
+        converter = engine.createHttpMessageConverter(customizer, objectMapper);
+
+        String expected = objectMapper.writeValueAsString(response);
+        String actual = write().getBodyAsString();
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(engine + " output differs from Jackson\nexpected: " + expected + "\nactual:   " + actual);
+        }
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeResponse() throws IOException {
+        return write();
+    }
+
+    private MockHttpOutputMessage write() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+}
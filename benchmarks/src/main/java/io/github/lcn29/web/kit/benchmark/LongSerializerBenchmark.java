@@ -0,0 +1,87 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.github.lcn29.web.kit.json.JacksonObjectMapperBuilderCustomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * long 输出为字符串的基准测试, 配合 -prof gc 观察分配
+ * toStringMapper: 原来的 ToStringSerializer, 只处理 Long
+ * kitMapper: 通过 JacksonObjectMapperBuilderCustomizer 配置的 ObjectMapper
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LongSerializerBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper toStringMapper;
+
+    private ObjectMapper kitMapper;
+
+    private IdsDto idsDto;
+
+    @Setup
+    public void setup() {
+        SimpleModule toStringModule = new SimpleModule();
+        toStringModule.addSerializer(Long.class, ToStringSerializer.instance);
+        toStringMapper = new ObjectMapper().registerModule(toStringModule);
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonObjectMapperBuilderCustomizer().generateJackson2ObjectMapperBuilderCustomizer().customize(builder);
+        kitMapper = builder.build();
+
+        idsDto = new IdsDto();
+        idsDto.ids = new ArrayList<>(size);
+        idsDto.values = new long[size];
+        for (int i = 0; i < size; i++) {
+            idsDto.ids.add(1632548937158770690L + i);
+            idsDto.values[i] = 1632548937158770690L - i;
+        }
+    }
+
+    @Benchmark
+    public byte[] toStringSerializer() throws IOException {
+        return toStringMapper.writeValueAsBytes(idsDto);
+    }
+
+    @Benchmark
+    public byte[] long2StringSerializer() throws IOException {
+        return kitMapper.writeValueAsBytes(idsDto);
+    }
+
+    public static class IdsDto {
+
+        public List<Long> ids;
+
+        public long[] values;
+    }
+}
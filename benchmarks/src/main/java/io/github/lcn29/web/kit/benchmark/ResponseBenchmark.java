@@ -0,0 +1,136 @@
+package io.github.lcn29.web.kit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.response.EnvelopeHttpMessageConverter;
+import io.github.lcn29.web.kit.response.Response;
+import io.github.lcn29.web.kit.response.ResponseBuilder;
+import io.github.lcn29.web.kit.response.ResponseResultHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 响应体包装的基准测试
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 10:31
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private final ResponseResultHandler responseResultHandler = new ResponseResultHandler();
+
+    private final List<String> body = Arrays.asList("a", "b", "c");
+
+    private MethodParameter returnType;
+
+    private ServerHttpRequest request;
+
+    private ServerHttpResponse response;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        returnType = new MethodParameter(SampleController.class.getMethod("list"), -1);
+        request = new ServletServerHttpRequest(new MockHttpServletRequest("GET", "/sample/list"));
+        response = new ServletServerHttpResponse(new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public Response<List<String>> responseBuilderSuccess() {
+        return ResponseBuilder.success(body);
+    }
+
+    @Benchmark
+    public Object beforeBodyWrite() {
+        return responseResultHandler.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, request, response);
+    }
+
+    /**
+     * 原来的方式: 创建 Response 后由 Jackson 序列化
+     */
+    @Benchmark
+    public Object writeJackson(ConverterState state) throws IOException {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(servletResponse);
+        Object wrapped = responseResultHandler.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, state.request, outputMessage);
+        state.jacksonConverter.write(wrapped, null, MediaType.APPLICATION_JSON, outputMessage);
+        return servletResponse;
+    }
+
+    /**
+     * EnvelopeHttpMessageConverter 直接输出包装后的 json
+     */
+    @Benchmark
+    public Object writeEnvelope(ConverterState state) throws IOException {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(servletResponse);
+        Object wrapped = responseResultHandler.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON,
+                EnvelopeHttpMessageConverter.class, state.request, outputMessage);
+        state.envelopeConverter.write(wrapped, null, MediaType.APPLICATION_JSON, outputMessage);
+        return servletResponse;
+    }
+
+    /**
+     * 转换器相关的状态, RequestContextHolder 是线程绑定的, 需要在执行基准测试的线程上设置
+     */
+    @State(Scope.Thread)
+    public static class ConverterState {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+        private final EnvelopeHttpMessageConverter envelopeConverter = new EnvelopeHttpMessageConverter(objectMapper);
+
+        private ServerHttpRequest request;
+
+        @Setup
+        public void setup() {
+            MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/sample/list");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+            request = new ServletServerHttpRequest(servletRequest);
+        }
+    }
+
+    /**
+     * 提供 MethodParameter 的示例 Controller
+     */
+    public static class SampleController {
+
+        public List<String> list() {
+            return null;
+        }
+    }
+}
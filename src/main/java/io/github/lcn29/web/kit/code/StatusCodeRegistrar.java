@@ -0,0 +1,52 @@
+package io.github.lcn29.web.kit.code;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * 启动时扫描状态码枚举并注册到 StatusCodeRegistry, 需要注册为 Bean
+ * 没有指定包名时, 扫描 Spring Boot 的自动配置包 (启动类所在的包)
+ * 状态码冲突时抛出 IllegalStateException, 启动失败
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 20:55
+ */
+public class StatusCodeRegistrar implements BeanFactoryAware, SmartInitializingSingleton {
+
+    private final static Logger logger = LoggerFactory.getLogger(StatusCodeRegistrar.class);
+
+    private final String[] basePackages;
+
+    private BeanFactory beanFactory;
+
+    /**
+     * @param basePackages 扫描的包名, 为空时扫描自动配置包
+     */
+    public StatusCodeRegistrar(String... basePackages) {
+        this.basePackages = basePackages;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String[] packages = basePackages;
+        if (packages.length == 0 && AutoConfigurationPackages.has(beanFactory)) {
+            List<String> autoConfigurationPackages = AutoConfigurationPackages.get(beanFactory);
+            packages = autoConfigurationPackages.toArray(new String[0]);
+        }
+        StatusCodeRegistry.scan(packages);
+        logger.info("StatusCodeRegistry registered {} status codes", StatusCodeRegistry.statusCodes().size());
+    }
+}
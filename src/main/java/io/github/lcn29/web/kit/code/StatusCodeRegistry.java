@@ -0,0 +1,232 @@
+package io.github.lcn29.web.kit.code;
+
+import io.github.lcn29.web.kit.response.Response;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <pre>
+ * 状态码注册表
+ *
+ * 1. 注册 StatusCodeInterface 的枚举, 默认注册 WebStatusCode, 也可以扫描指定包下所有的枚举
+ * 2. 不同的枚举值使用相同的状态码时, 抛出 IllegalStateException
+ * 3. 状态码到枚举的查询使用开放寻址的 int 数组, 没有装箱
+ * 4. 每个状态码缓存一个不带内容的 Response, ResponseBuilder 构建失败的 Response 时直接复用,
+ *    EnvelopeHttpMessageConverter 会为每个注册的状态码缓存序列化后的字节
+ *
+ * 注册时复制一份新的表, 查询不需要加锁
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 20:40
+ */
+public final class StatusCodeRegistry {
+
+    private final static Object LOCK = new Object();
+
+    /**
+     * 当前的注册表
+     */
+    private static volatile Table table = new Table(Arrays.<StatusCodeInterface>asList(WebStatusCode.values()), 0);
+
+    private StatusCodeRegistry() {
+    }
+
+    /**
+     * 注册状态码枚举
+     *
+     * @param enumClass 实现了 StatusCodeInterface 的枚举
+     */
+    public static void register(Class<? extends StatusCodeInterface> enumClass) {
+        StatusCodeInterface[] constants = enumClass.getEnumConstants();
+        if (constants == null) {
+            throw new IllegalArgumentException(enumClass.getName() + " is not an enum");
+        }
+        register(constants);
+    }
+
+    /**
+     * 注册状态码
+     *
+     * @param statusCodes 状态码
+     * @throws IllegalStateException 状态码和已经注册的状态码冲突
+     */
+    public static void register(StatusCodeInterface... statusCodes) {
+        synchronized (LOCK) {
+            Table current = table;
+            List<StatusCodeInterface> merged = new ArrayList<>(current.statusCodes);
+            for (StatusCodeInterface statusCode : statusCodes) {
+                if (!merged.contains(statusCode)) {
+                    merged.add(statusCode);
+                }
+            }
+            if (merged.size() != current.statusCodes.size()) {
+                table = new Table(merged, current.version + 1);
+            }
+        }
+    }
+
+    /**
+     * 扫描包下所有实现了 StatusCodeInterface 的枚举并注册
+     *
+     * @param basePackages 包名
+     * @throws IllegalStateException 状态码冲突
+     */
+    public static void scan(String... basePackages) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent() && !beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(StatusCodeInterface.class));
+
+        List<StatusCodeInterface> statusCodes = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type;
+                try {
+                    type = ClassUtils.forName(candidate.getBeanClassName(), ClassUtils.getDefaultClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Could not load status code class " + candidate.getBeanClassName(), e);
+                }
+                if (type.isEnum()) {
+                    statusCodes.addAll(Arrays.asList((StatusCodeInterface[]) type.getEnumConstants()));
+                }
+            }
+        }
+        register(statusCodes.toArray(new StatusCodeInterface[0]));
+    }
+
+    /**
+     * 获取状态码对应的枚举
+     *
+     * @param code 状态码
+     * @return 枚举, 没有注册时返回空
+     */
+    @Nullable
+    public static StatusCodeInterface find(int code) {
+        Table current = table;
+        int slot = current.slotOf(code);
+        return slot < 0 ? null : current.values[slot];
+    }
+
+    /**
+     * 获取缓存的不带内容的 Response
+     *
+     * @param code    状态码
+     * @param message 描述信息
+     * @return Response, 状态码没有注册或者描述信息和注册的不一致时返回空
+     */
+    @Nullable
+    public static Response<Void> findResponse(int code, String message) {
+        Table current = table;
+        int slot = current.slotOf(code);
+        if (slot < 0) {
+            return null;
+        }
+        Response<Void> response = current.responses[slot];
+        return response.getMessage().equals(message) ? response : null;
+    }
+
+    /**
+     * 获取所有注册的状态码
+     *
+     * @return 状态码, 按照注册顺序
+     */
+    public static List<StatusCodeInterface> statusCodes() {
+        return table.statusCodes;
+    }
+
+    /**
+     * 获取注册表的版本, 每次注册新的状态码后加一
+     *
+     * @return 版本
+     */
+    public static int version() {
+        return table.version;
+    }
+
+    /**
+     * 不可变的开放寻址表
+     */
+    private static class Table {
+
+        private final List<StatusCodeInterface> statusCodes;
+
+        private final int version;
+
+        private final int mask;
+
+        private final int[] keys;
+
+        private final StatusCodeInterface[] values;
+
+        private final Response<Void>[] responses;
+
+        private Table(List<StatusCodeInterface> statusCodes, int version) {
+            this.statusCodes = Collections.unmodifiableList(new ArrayList<>(statusCodes));
+            this.version = version;
+
+            // 负载因子不超过 0.5
+            int capacity = Integer.highestOneBit(Math.max(statusCodes.size(), 1) * 2 - 1) << 1;
+            this.mask = capacity - 1;
+            this.keys = new int[capacity];
+            this.values = new StatusCodeInterface[capacity];
+            this.responses = newResponses(capacity);
+
+            for (StatusCodeInterface statusCode : statusCodes) {
+                int slot = hash(statusCode.getCode()) & mask;
+                while (values[slot] != null) {
+                    if (keys[slot] == statusCode.getCode()) {
+                        throw new IllegalStateException("Duplicate status code " + statusCode.getCode() + ": "
+                                + describe(values[slot]) + " and " + describe(statusCode));
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = statusCode.getCode();
+                values[slot] = statusCode;
+                responses[slot] = new Response<>(statusCode.getCode(), statusCode.getMessage());
+            }
+        }
+
+        /**
+         * 泛型数组只能创建通配符类型, 数组只在当前类中使用, 元素都是 Response&lt;Void&gt;
+         */
+        @SuppressWarnings("unchecked")
+        private static Response<Void>[] newResponses(int capacity) {
+            return (Response<Void>[]) new Response<?>[capacity];
+        }
+
+        private int slotOf(int code) {
+            int slot = hash(code) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == code) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(int code) {
+            int hash = code * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        private static String describe(StatusCodeInterface statusCode) {
+            return statusCode instanceof Enum<?>
+                    ? ((Enum<?>) statusCode).getDeclaringClass().getName() + "." + ((Enum<?>) statusCode).name()
+                    : statusCode.getClass().getName();
+        }
+    }
+}
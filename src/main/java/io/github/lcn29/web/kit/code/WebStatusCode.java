@@ -15,6 +15,8 @@ public enum WebStatusCode implements StatusCodeInterface {
     PARAM_ERROR(400, "param error"),
     HTTP_REQUEST_METHOD_ERROR(401, "http request method error"),
     HTTP_REQUEST_PATH_NOT_FOUND(404, "http request path not found"),
+    TOO_MANY_REQUESTS(42900, "too many requests, please retry later"),
+    SERVER_OVERLOADED(50300, "server overloaded, please retry later"),
     INTERNAL_SERVER_ERROR(50000, "Internal Server Error or IllegalArgumentException");
 
     /**
@@ -0,0 +1,70 @@
+package io.github.lcn29.web.kit.compress;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <pre>
+ * Deflater 池
+ * Deflater 持有 zlib 的本地内存, 每个响应新建时需要等 finalize / Cleaner 才能释放
+ * 池中最多保留 poolSize 个, 归还时池已满则立即调用 end() 释放本地内存
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:10
+ */
+class DeflaterPool {
+
+    /**
+     * 压缩输出的缓冲区大小
+     */
+    private final static int BUFFER_SIZE = 8 * 1024;
+
+    private final BlockingQueue<Slot> slots;
+
+    DeflaterPool(int poolSize) {
+        this.slots = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * 获取 Deflater, 池中没有时新建
+     *
+     * @param level 压缩级别
+     * @return Deflater 和对应的缓冲区
+     */
+    Slot acquire(int level) {
+        Slot slot = slots.poll();
+        if (slot == null) {
+            slot = new Slot();
+        }
+        slot.deflater.setLevel(level);
+        return slot;
+    }
+
+    /**
+     * 归还 Deflater
+     *
+     * @param slot Deflater 和对应的缓冲区
+     */
+    void release(Slot slot) {
+        slot.deflater.reset();
+        slot.crc.reset();
+        if (!slots.offer(slot)) {
+            slot.deflater.end();
+        }
+    }
+
+    /**
+     * 池中的对象, 不包含 gzip 的头和尾的 Deflater, 以及输出的缓冲区和 CRC32
+     */
+    static class Slot {
+
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        final byte[] buffer = new byte[BUFFER_SIZE];
+
+        final CRC32 crc = new CRC32();
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.lcn29.web.kit.compress;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.zip.Deflater;
+
+/**
+ * <pre>
+ * gzip 压缩, 由 CompressionFilter 和 ResponseCache 共用
+ *
+ * 1. Deflater 池化复用, 不再每个响应新建
+ * 2. 小于 minBytes 的响应体不压缩, 压缩后节省的字节不值得 CPU 和 gzip 头尾的开销
+ * 3. 按照响应体的大小选择压缩级别: 不超过 largeBytes 的使用 smallLevel (默认 6),
+ *    超过或者长度未知 (流式输出, 大的列表) 的使用 largeLevel (默认 1), 避免大响应的压缩时间超过节省的传输时间
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:10
+ */
+public class GzipCompressor {
+
+    public final static String GZIP = "gzip";
+
+    private final static String ANY_ENCODING = "*";
+
+    private final static String QUALITY_PREFIX = "q=";
+
+    private final static int DEFAULT_POOL_SIZE = 32;
+
+    private final static int DEFAULT_MIN_BYTES = 1024;
+
+    private final static int DEFAULT_LARGE_BYTES = 64 * 1024;
+
+    private DeflaterPool pool = new DeflaterPool(DEFAULT_POOL_SIZE);
+
+    private int minBytes = DEFAULT_MIN_BYTES;
+
+    private int smallLevel = 6;
+
+    private int largeBytes = DEFAULT_LARGE_BYTES;
+
+    private int largeLevel = Deflater.BEST_SPEED;
+
+    /**
+     * 设置池中最多保留的 Deflater 个数, 常驻的本地内存约为 poolSize * 256KB
+     *
+     * @param poolSize 个数
+     * @return 当前的压缩
+     */
+    public GzipCompressor poolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive, but was " + poolSize);
+        }
+        this.pool = new DeflaterPool(poolSize);
+        return this;
+    }
+
+    /**
+     * 设置压缩的最小字节数, 长度已知并且小于这个值的响应体不压缩
+     *
+     * @param minBytes 字节数
+     * @return 当前的压缩
+     */
+    public GzipCompressor minBytes(int minBytes) {
+        this.minBytes = minBytes;
+        return this;
+    }
+
+    /**
+     * 设置压缩级别
+     *
+     * @param smallLevel 不超过 largeBytes 的响应体的压缩级别, 1 ~ 9
+     * @param largeBytes 大响应体的字节数
+     * @param largeLevel 超过 largeBytes 或者长度未知的响应体的压缩级别, 1 ~ 9
+     * @return 当前的压缩
+     */
+    public GzipCompressor levels(int smallLevel, int largeBytes, int largeLevel) {
+        this.smallLevel = checkLevel(smallLevel);
+        this.largeBytes = largeBytes;
+        this.largeLevel = checkLevel(largeLevel);
+        return this;
+    }
+
+    /**
+     * 判断响应体是否需要压缩
+     *
+     * @param length 响应体的长度, 未知时为 -1
+     * @return true: 压缩
+     */
+    public boolean shouldCompress(long length) {
+        return length < 0 || length >= minBytes;
+    }
+
+    /**
+     * 打开压缩的输出流
+     *
+     * @param out    目标输出流
+     * @param length 响应体的长度, 未知时为 -1
+     * @return 压缩的输出流, 结束时需要调用 finish() 或者 close() 归还 Deflater
+     */
+    public PooledGzipOutputStream open(OutputStream out, long length) {
+        int level = length < 0 || length > largeBytes ? largeLevel : smallLevel;
+        return new PooledGzipOutputStream(out, pool, level);
+    }
+
+    /**
+     * 一次压缩完整的内容, 用于预先压缩需要多次输出的响应体
+     *
+     * @param body   内容
+     * @param offset 起始位置
+     * @param length 长度
+     * @return gzip 格式的字节
+     */
+    public byte[] compress(byte[] body, int offset, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length >> 2));
+        PooledGzipOutputStream gzip = open(out, length);
+        try {
+            gzip.write(body, offset, length);
+            gzip.finish();
+        } catch (IOException e) {
+            gzip.discard();
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 判断请求是否接受 gzip, 按照 Accept-Encoding 中的 gzip 或者 *, q=0 表示不接受
+     *
+     * @param request 请求
+     * @return true: 接受
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        if (headers == null) {
+            return false;
+        }
+        boolean gzip = false;
+        boolean any = false;
+        while (headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                int paramIndex = coding.indexOf(';');
+                String name = (paramIndex < 0 ? coding : coding.substring(0, paramIndex)).trim();
+                boolean accepted = paramIndex < 0 || quality(coding.substring(paramIndex + 1)) > 0;
+                if (GZIP.equalsIgnoreCase(name)) {
+                    if (!accepted) {
+                        return false;
+                    }
+                    gzip = true;
+                } else if (ANY_ENCODING.equals(name)) {
+                    any = accepted;
+                }
+            }
+        }
+        return gzip || any;
+    }
+
+    /**
+     * 解析 q 参数, 格式错误时按照 1 处理
+     */
+    private static double quality(String params) {
+        for (String param : params.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.startsWith(QUALITY_PREFIX)) {
+                try {
+                    return Double.parseDouble(trimmed.substring(QUALITY_PREFIX.length()));
+                } catch (NumberFormatException e) {
+                    return 1D;
+                }
+            }
+        }
+        return 1D;
+    }
+
+    private static int checkLevel(int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("level must be between 1 and 9, but was " + level);
+        }
+        return level;
+    }
+}
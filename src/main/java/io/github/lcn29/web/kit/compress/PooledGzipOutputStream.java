@@ -0,0 +1,146 @@
+package io.github.lcn29.web.kit.compress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * <pre>
+ * 使用池化 Deflater 的 gzip 输出流
+ * GZIPOutputStream 不能传入 Deflater, 每次都会新建, 这里自己写 gzip 的头和尾
+ *
+ * finish() 写入 gzip 的尾并归还 Deflater, 之后不能再写入; close() 会先 finish() 再关闭目标输出流
+ * flush() 使用 SYNC_FLUSH, 已经写入的内容可以被客户端解压
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:10
+ */
+public final class PooledGzipOutputStream extends OutputStream {
+
+    /**
+     * gzip 的头: 魔数, deflate, 没有标志位和修改时间
+     */
+    private final static byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final OutputStream out;
+
+    private final DeflaterPool pool;
+
+    private DeflaterPool.Slot slot;
+
+    private boolean headerWritten;
+
+    PooledGzipOutputStream(OutputStream out, DeflaterPool pool, int level) {
+        this.out = out;
+        this.pool = pool;
+        this.slot = pool.acquire(level);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (slot == null) {
+            throw new IOException("Gzip stream already finished");
+        }
+        if (len == 0) {
+            return;
+        }
+        writeHeader();
+        slot.crc.update(b, off, len);
+        Deflater deflater = slot.deflater;
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (slot != null && headerWritten) {
+            int length;
+            do {
+                length = deflate(Deflater.SYNC_FLUSH);
+            } while (length == slot.buffer.length);
+        }
+        out.flush();
+    }
+
+    /**
+     * 写入 gzip 的尾并归还 Deflater, 重复调用没有影响
+     *
+     * @throws IOException 输出异常
+     */
+    public void finish() throws IOException {
+        if (slot == null) {
+            return;
+        }
+        try {
+            writeHeader();
+            Deflater deflater = slot.deflater;
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+            writeTrailer((int) slot.crc.getValue(), (int) deflater.getBytesRead());
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 不写入 gzip 的尾, 直接归还 Deflater, 用于响应被重置的情况
+     */
+    public void discard() {
+        if (slot != null) {
+            release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            out.write(HEADER);
+            headerWritten = true;
+        }
+    }
+
+    private int deflate(int flush) throws IOException {
+        byte[] buffer = slot.buffer;
+        int length = slot.deflater.deflate(buffer, 0, buffer.length, flush);
+        if (length > 0) {
+            out.write(buffer, 0, length);
+        }
+        return length;
+    }
+
+    /**
+     * gzip 的尾: CRC32 和原始长度 (对 2^32 取模), 小端序
+     */
+    private void writeTrailer(int crc, int size) throws IOException {
+        byte[] buffer = slot.buffer;
+        for (int i = 0; i < 4; i++) {
+            buffer[i] = (byte) (crc >>> (i * 8));
+            buffer[4 + i] = (byte) (size >>> (i * 8));
+        }
+        out.write(buffer, 0, 8);
+    }
+
+    private void release() {
+        DeflaterPool.Slot current = slot;
+        slot = null;
+        pool.release(current);
+    }
+}
@@ -40,4 +40,9 @@ public class WebConstants {
      */
     public final static String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
+    /**
+     * 日志上下文和请求头中 traceId 的标识
+     */
+    public final static String TRACE_ID = "traceId";
+
 }
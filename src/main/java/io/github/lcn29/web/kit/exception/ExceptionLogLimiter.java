@@ -0,0 +1,234 @@
+package io.github.lcn29.web.kit.exception;
+
+import org.slf4j.Logger;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * 异常日志限流
+ *
+ * 按照异常的指纹 (异常类型 + 前几个堆栈帧 + 状态码) 分组, 每组在一个时间窗口内只输出前 permits 次完整的日志,
+ * 之后的只计数, 窗口结束后输出一行汇总日志, 说明被忽略的次数
+ *
+ * 1. 判断过程只使用 CAS, 不会阻塞请求
+ * 2. 指纹的数量有上限, 超过上限的异常共用一个分组; 长时间没有出现的分组会被移除
+ * 3. 汇总日志在窗口结束后, 由下一次出现的同类异常或者定时的清理 (由任意一次调用触发) 输出
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 20:10
+ */
+public class ExceptionLogLimiter {
+
+    /**
+     * 默认每个窗口完整输出的次数
+     */
+    private final static int DEFAULT_PERMITS = 5;
+
+    /**
+     * 默认的窗口时长, 单位毫秒
+     */
+    private final static long DEFAULT_WINDOW_MILLIS = 60_000L;
+
+    /**
+     * 默认参与指纹计算的堆栈帧数
+     */
+    private final static int DEFAULT_FRAME_DEPTH = 3;
+
+    /**
+     * 默认的最大指纹数量
+     */
+    private final static int DEFAULT_MAX_FINGERPRINTS = 1024;
+
+    private final static long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final Logger logger;
+
+    private final int permits;
+
+    private final long windowMillis;
+
+    private final int frameDepth;
+
+    private final int maxFingerprints;
+
+    /**
+     * 指纹对应的分组
+     */
+    private final Map<Long, LogBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 指纹数量超过上限后共用的分组
+     */
+    private final LogBucket overflowBucket;
+
+    /**
+     * 下一次清理的时间
+     */
+    private final AtomicLong nextSweepMillis;
+
+    public ExceptionLogLimiter(Logger logger) {
+        this(logger, DEFAULT_PERMITS, DEFAULT_WINDOW_MILLIS, DEFAULT_FRAME_DEPTH, DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    /**
+     * @param logger          输出汇总日志的 Logger
+     * @param permits         每个窗口完整输出的次数
+     * @param windowMillis    窗口时长, 单位毫秒
+     * @param frameDepth      参与指纹计算的堆栈帧数
+     * @param maxFingerprints 最大指纹数量
+     */
+    public ExceptionLogLimiter(Logger logger, int permits, long windowMillis, int frameDepth, int maxFingerprints) {
+        if (permits < 0 || windowMillis <= 0 || frameDepth < 0 || maxFingerprints <= 0) {
+            throw new IllegalArgumentException("permits, frameDepth must not be negative and windowMillis, maxFingerprints must be positive");
+        }
+        this.logger = logger;
+        this.permits = permits;
+        this.windowMillis = windowMillis;
+        this.frameDepth = frameDepth;
+        this.maxFingerprints = maxFingerprints;
+        long now = System.currentTimeMillis();
+        this.overflowBucket = new LogBucket("other exceptions (fingerprint limit " + maxFingerprints + " reached)", now);
+        this.nextSweepMillis = new AtomicLong(now + windowMillis);
+    }
+
+    /**
+     * 判断异常是否需要输出完整的日志
+     *
+     * @param throwable 异常
+     * @param code      响应的状态码
+     * @return true: 输出完整的日志, false: 只计数
+     */
+    public boolean tryAcquire(Throwable throwable, int code) {
+        long now = System.currentTimeMillis();
+        sweepIfDue(now);
+        return bucketOf(throwable, code, now).tryAcquire(now);
+    }
+
+    /**
+     * 获取异常对应的分组
+     */
+    private LogBucket bucketOf(Throwable throwable, int code, long now) {
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        Long fingerprint = fingerprint(throwable, stackTrace, code);
+        LogBucket bucket = buckets.get(fingerprint);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxFingerprints) {
+            return overflowBucket;
+        }
+        return buckets.computeIfAbsent(fingerprint, key -> new LogBucket(describe(throwable, stackTrace, code), now));
+    }
+
+    /**
+     * 计算异常的指纹
+     */
+    private long fingerprint(Throwable throwable, StackTraceElement[] stackTrace, int code) {
+        long hash = mix(throwable.getClass().getName().hashCode(), code);
+        int depth = Math.min(frameDepth, stackTrace.length);
+        for (int i = 0; i < depth; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash ^ (hash >>> 32);
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash + value) * HASH_MULTIPLIER;
+    }
+
+    private static String describe(Throwable throwable, StackTraceElement[] stackTrace, int code) {
+        StringBuilder builder = new StringBuilder(throwable.getClass().getName());
+        if (stackTrace.length > 0) {
+            builder.append(" at ").append(stackTrace[0]);
+        }
+        return builder.append(", code ").append(code).toString();
+    }
+
+    /**
+     * 到达清理时间时, 输出所有已经结束的窗口的汇总日志, 并移除长时间没有出现的分组
+     * 同一时间只有一个线程执行清理
+     */
+    private void sweepIfDue(long now) {
+        long next = nextSweepMillis.get();
+        if (now < next || !nextSweepMillis.compareAndSet(next, now + windowMillis)) {
+            return;
+        }
+        Iterator<LogBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            LogBucket bucket = iterator.next();
+            bucket.rollIfDue(now);
+            if (now - bucket.lastSeenMillis >= (windowMillis << 1) && bucket.suppressed.get() == 0) {
+                iterator.remove();
+            }
+        }
+        overflowBucket.rollIfDue(now);
+    }
+
+    /**
+     * 一个指纹的计数
+     */
+    private class LogBucket {
+
+        /**
+         * 汇总日志中的异常描述
+         */
+        private final String description;
+
+        /**
+         * 当前窗口的开始时间
+         */
+        private final AtomicLong windowStart;
+
+        /**
+         * 当前窗口已经完整输出的次数
+         */
+        private final AtomicInteger used = new AtomicInteger();
+
+        /**
+         * 当前窗口被忽略的次数
+         */
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private volatile long lastSeenMillis;
+
+        private LogBucket(String description, long now) {
+            this.description = description;
+            this.windowStart = new AtomicLong(now);
+            this.lastSeenMillis = now;
+        }
+
+        private boolean tryAcquire(long now) {
+            lastSeenMillis = now;
+            rollIfDue(now);
+            if (used.get() < permits && used.incrementAndGet() <= permits) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * 窗口结束时开始新的窗口, 有被忽略的日志时输出汇总
+         */
+        private void rollIfDue(long now) {
+            long start = windowStart.get();
+            if (now - start < windowMillis || !windowStart.compareAndSet(start, now)) {
+                return;
+            }
+            used.set(0);
+            long count = suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.warn("Suppressed {} logs of {} in the last {} ms", count, description, now - start);
+            }
+        }
+    }
+}
@@ -40,6 +40,20 @@ public class GlobalExceptionHandler {
 
     private ObjectError allError;
 
+    /**
+     * warn 异常和兜底异常的日志限流, 相同的异常在一个窗口内只输出前几次堆栈信息
+     */
+    private ExceptionLogLimiter exceptionLogLimiter = new ExceptionLogLimiter(logger);
+
+    /**
+     * 设置异常日志限流
+     *
+     * @param exceptionLogLimiter 异常日志限流
+     */
+    public void setExceptionLogLimiter(ExceptionLogLimiter exceptionLogLimiter) {
+        this.exceptionLogLimiter = exceptionLogLimiter;
+    }
+
     /**
      * 业务 info 异常
      *
@@ -122,7 +136,9 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(WarnException.class)
     Response<Void> warnException(WarnException exception) {
 
-        logger.warn("Business's WarnException:{}", exception.getMessage(), exception);
+        if (exceptionLogLimiter.tryAcquire(exception, exception.getCode())) {
+            logger.warn("Business's WarnException:{}", exception.getMessage(), exception);
+        }
         return ResponseBuilder.fail(exception.getCode(), exception.getMessage());
     }
 
@@ -136,7 +152,9 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     Response<Void> defaultException(Exception exception) {
 
-        logger.warn("System's Exception:{}", exception.getMessage(), exception);
+        if (exceptionLogLimiter.tryAcquire(exception, WebStatusCode.INTERNAL_SERVER_ERROR.getCode())) {
+            logger.warn("System's Exception:{}", exception.getMessage(), exception);
+        }
         return ResponseBuilder.fail(
                 WebStatusCode.INTERNAL_SERVER_ERROR.getCode(), WebStatusCode.INTERNAL_SERVER_ERROR.getMessage());
     }
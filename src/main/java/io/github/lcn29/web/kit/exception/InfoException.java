@@ -2,10 +2,16 @@ package io.github.lcn29.web.kit.exception;
 
 import io.github.lcn29.web.kit.code.StatusCodeInterface;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * <pre>
  * 业务异常
  * 全局捕获后, 会打印 info 日志级别, 同时只打印 message 信息, 不包含堆栈信息
+ *
+ * 堆栈信息不会被使用, 默认不获取堆栈 (fillInStackTrace), 可以通过 setWritableStackTrace 全局开启, 或者通过构造函数单独指定
+ * 不需要额外信息时, 可以通过 InfoException.of 获取状态码对应的共享实例, 不再创建新的异常
  * </pre>
  *
  * @author lcn29
@@ -13,20 +19,71 @@ import io.github.lcn29.web.kit.code.StatusCodeInterface;
  */
 public class InfoException extends RuntimeException {
 
+    /**
+     * 默认是否获取堆栈信息
+     */
+    private static volatile boolean writableStackTrace = false;
+
+    /**
+     * 枚举状态码对应的共享实例
+     */
+    private final static Map<StatusCodeInterface, InfoException> SHARED_INSTANCES = new ConcurrentHashMap<>();
+
     private final int code;
 
     private final String message;
 
     public InfoException(int code, String message) {
-        super(message);
+        this(code, message, writableStackTrace);
+    }
+
+    public InfoException(StatusCodeInterface statusCodeInterface) {
+        this(statusCodeInterface.getCode(), statusCodeInterface.getMessage(), writableStackTrace);
+    }
+
+    public InfoException(StatusCodeInterface statusCodeInterface, boolean writableStackTrace) {
+        this(statusCodeInterface.getCode(), statusCodeInterface.getMessage(), writableStackTrace);
+    }
+
+    public InfoException(int code, String message, boolean writableStackTrace) {
+        this(code, message, true, writableStackTrace);
+    }
+
+    /**
+     * @param enableSuppression  是否记录 suppressed 异常, 共享实例不记录
+     * @param writableStackTrace 是否获取堆栈信息
+     */
+    private InfoException(int code, String message, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, null, enableSuppression, writableStackTrace);
         this.code = code;
         this.message = message;
     }
 
-    public InfoException(StatusCodeInterface statusCodeInterface) {
-        super(statusCodeInterface.getMessage());
-        this.code = statusCodeInterface.getCode();
-        this.message = statusCodeInterface.getMessage();
+    /**
+     * 设置默认是否获取堆栈信息
+     *
+     * @param writableStackTrace true: 获取堆栈信息
+     */
+    public static void setWritableStackTrace(boolean writableStackTrace) {
+        InfoException.writableStackTrace = writableStackTrace;
+    }
+
+    /**
+     * 获取状态码对应的异常
+     * 状态码为枚举时, 返回缓存的共享实例, 否则创建新的不带堆栈信息的异常
+     *
+     * @param statusCodeInterface 状态码接口
+     * @return 异常
+     */
+    public static InfoException of(StatusCodeInterface statusCodeInterface) {
+        if (!(statusCodeInterface instanceof Enum<?>)) {
+            return new InfoException(statusCodeInterface, false);
+        }
+        InfoException exception = SHARED_INSTANCES.get(statusCodeInterface);
+        if (exception == null) {
+            exception = SHARED_INSTANCES.computeIfAbsent(statusCodeInterface, item -> new InfoException(item.getCode(), item.getMessage(), false, false));
+        }
+        return exception;
     }
 
     public int getCode() {
@@ -6,6 +6,8 @@ import io.github.lcn29.web.kit.code.StatusCodeInterface;
  * <pre>
  * 业务异常
  * 全局捕获后, 会打印 warn 日志级别, 除了打印 message 信息, 还会打印堆栈信息
+ *
+ * 默认获取堆栈信息, 可以通过 setWritableStackTrace 全局关闭, 或者通过构造函数单独指定
  * </pre>
  *
  * @author lcn29
@@ -13,20 +15,40 @@ import io.github.lcn29.web.kit.code.StatusCodeInterface;
  */
 public class WarnException extends RuntimeException {
 
+    /**
+     * 默认是否获取堆栈信息
+     */
+    private static volatile boolean writableStackTrace = true;
+
     private final int code;
 
     private final String message;
 
     public WarnException(int code, String message) {
-        super(message);
+        this(code, message, writableStackTrace);
+    }
+
+    public WarnException(StatusCodeInterface statusCodeInterface) {
+        this(statusCodeInterface.getCode(), statusCodeInterface.getMessage(), writableStackTrace);
+    }
+
+    public WarnException(StatusCodeInterface statusCodeInterface, boolean writableStackTrace) {
+        this(statusCodeInterface.getCode(), statusCodeInterface.getMessage(), writableStackTrace);
+    }
+
+    public WarnException(int code, String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
         this.code = code;
         this.message = message;
     }
 
-    public WarnException(StatusCodeInterface statusCodeInterface) {
-        super(statusCodeInterface.getMessage());
-        this.code = statusCodeInterface.getCode();
-        this.message = statusCodeInterface.getMessage();
+    /**
+     * 设置默认是否获取堆栈信息
+     *
+     * @param writableStackTrace true: 获取堆栈信息
+     */
+    public static void setWritableStackTrace(boolean writableStackTrace) {
+        WarnException.writableStackTrace = writableStackTrace;
     }
 
     public int getCode() {
@@ -0,0 +1,51 @@
+package io.github.lcn29.web.kit.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <pre>
+ * 请求体/响应体截取使用的缓冲区池
+ * 缓冲区大小固定为截取的最大字节数, 池中最多保留 poolSize 个, 超出时直接丢弃, 由 GC 回收
+ * 常驻内存的上限为 poolSize * bufferSize
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:40
+ */
+class BodyBufferPool {
+
+    private final int bufferSize;
+
+    private final BlockingQueue<byte[]> buffers;
+
+    BodyBufferPool(int poolSize, int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 获取缓冲区, 池中没有时新建
+     *
+     * @return 缓冲区
+     */
+    byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * 归还缓冲区
+     *
+     * @param buffer 缓冲区
+     */
+    void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+}
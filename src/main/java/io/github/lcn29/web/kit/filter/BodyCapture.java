@@ -0,0 +1,203 @@
+package io.github.lcn29.web.kit.filter;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <pre>
+ * 截取的请求体/响应体, 由 BodyCaptureFilter 放到请求属性中, 供 RequestLogInterceptor 输出
+ *
+ * 数据在读写的同时复制到池化的缓冲区, 最多 maxBytes 个字节, 第一次写入时才获取缓冲区
+ * 只在 toString 时才解码为字符串, 超出部分以截断标识结尾
+ * 请求结束后缓冲区归还到池中, 之后的 toString 返回空字符串 (异步请求在归还前保存解码后的内容)
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:40
+ */
+public class BodyCapture {
+
+    private final static String EMPTY = "";
+
+    private final BodyBufferPool pool;
+
+    private byte[] buffer;
+
+    /**
+     * 缓冲区中的字节数
+     */
+    private int count;
+
+    /**
+     * 读写的总字节数 (通过 Writer 输出时为字符数)
+     */
+    private long total;
+
+    /**
+     * 是否超出了截取的最大字节数
+     */
+    private boolean truncated;
+
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * false: 内容类型不在允许的范围内, 或者已经释放
+     */
+    private boolean enabled = true;
+
+    /**
+     * 释放时保存的内容
+     */
+    private String text;
+
+    BodyCapture(BodyBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 获取读写的总字节数
+     *
+     * @return 总字节数, 通过 Writer 输出时为字符数
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 是否超出了截取的最大字节数
+     *
+     * @return true: 截断
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void disable() {
+        enabled = false;
+    }
+
+    void setCharset(String charsetName) {
+        if (charsetName == null) {
+            return;
+        }
+        try {
+            this.charset = Charset.forName(charsetName);
+        } catch (IllegalArgumentException ignore) {
+            // 不支持的编码继续使用 UTF-8 解码, 只影响日志的展示
+        }
+    }
+
+    void write(int b) {
+        if (!enabled) {
+            return;
+        }
+        total++;
+        if (remaining() > 0) {
+            buffer()[count++] = (byte) b;
+        } else {
+            truncated = true;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        if (!enabled || length <= 0) {
+            return;
+        }
+        total += length;
+        int copy = Math.min(length, remaining());
+        if (copy > 0) {
+            System.arraycopy(bytes, offset, buffer(), count, copy);
+            count += copy;
+        }
+        if (copy < length) {
+            truncated = true;
+        }
+    }
+
+    /**
+     * 写入字符, 只编码缓冲区剩余空间能够容纳的部分
+     *
+     * @param chars  字符
+     * @param offset 开始位置
+     * @param length 长度
+     */
+    void write(char[] chars, int offset, int length) {
+        if (!enabled || length <= 0) {
+            return;
+        }
+        int remaining = remaining();
+        writeText(remaining > 0 ? new String(chars, offset, Math.min(length, remaining)) : null, remaining, length);
+    }
+
+    /**
+     * 写入字符串, 只编码缓冲区剩余空间能够容纳的部分
+     *
+     * @param str    字符串
+     * @param offset 开始位置
+     * @param length 长度
+     */
+    void write(String str, int offset, int length) {
+        if (!enabled || length <= 0) {
+            return;
+        }
+        int remaining = remaining();
+        writeText(remaining > 0 ? str.substring(offset, offset + Math.min(length, remaining)) : null, remaining, length);
+    }
+
+    private void writeText(String text, int remaining, int length) {
+        total += length;
+        if (text == null) {
+            truncated = true;
+            return;
+        }
+        byte[] bytes = text.getBytes(charset);
+        int copy = Math.min(bytes.length, remaining);
+        System.arraycopy(bytes, 0, buffer(), count, copy);
+        count += copy;
+        if (copy < bytes.length || text.length() < length) {
+            truncated = true;
+        }
+    }
+
+    /**
+     * 归还缓冲区, 之后不再截取
+     *
+     * @param keepText true: 保存解码后的内容, 用于请求结束后才输出日志的场景 (异步请求)
+     */
+    void release(boolean keepText) {
+        if (keepText) {
+            text = decode();
+        }
+        enabled = false;
+        pool.release(buffer);
+        buffer = null;
+    }
+
+    @Override
+    public String toString() {
+        return text != null ? text : decode();
+    }
+
+    private String decode() {
+        if (buffer == null) {
+            return EMPTY;
+        }
+        String content = new String(buffer, 0, count, charset);
+        return isTruncated() ? content + "...[truncated, total " + total + "]" : content;
+    }
+
+    private int remaining() {
+        return pool.getBufferSize() - count;
+    }
+
+    private byte[] buffer() {
+        if (buffer == null) {
+            buffer = pool.acquire();
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.lcn29.web.kit.filter;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <pre>
+ * 请求体/响应体截取的过滤器, 截取的内容通过请求属性提供给 RequestLogInterceptor, 输出在请求日志中
+ *
+ * 和 ContentCachingRequestWrapper 不同, 不缓存完整的请求体/响应体:
+ * 1. 读写的同时最多复制 maxBytes 个字节到池化的缓冲区, 超出部分只计数, 日志中以截断标识结尾
+ * 2. 按照路径采样, 没有采样的请求不做包装
+ * 3. 只截取允许的内容类型 (默认 json 和 text/plain), 上传文件等请求不会截取
+ *
+ * 需要注册为 Filter 的 Bean, 如 FilterRegistrationBean
+ * 异步请求只截取初始分发中读写的内容
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:40
+ */
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    /**
+     * 请求属性中截取的请求体的标识, 值为 BodyCapture
+     */
+    public final static String REQUEST_BODY_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".requestBody";
+
+    /**
+     * 请求属性中截取的响应体的标识, 值为 BodyCapture
+     */
+    public final static String RESPONSE_BODY_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".responseBody";
+
+    /**
+     * 默认截取的最大字节数
+     */
+    private final static int DEFAULT_MAX_BYTES = 1024;
+
+    /**
+     * 默认缓冲区池的大小
+     */
+    private final static int DEFAULT_POOL_SIZE = 64;
+
+    /**
+     * 全部采样
+     */
+    private final static double FULL_SAMPLE_RATE = 1D;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 按照路径配置的采样比例, key: 路径表达式, value: 采样比例
+     */
+    private final Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * 允许截取的内容类型
+     */
+    private List<MediaType> contentTypes = Arrays.asList(
+            MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), MediaType.TEXT_PLAIN);
+
+    /**
+     * 没有匹配到路径时的采样比例
+     */
+    private double defaultSampleRate = FULL_SAMPLE_RATE;
+
+    private int maxBytes = DEFAULT_MAX_BYTES;
+
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    private BodyBufferPool bufferPool = new BodyBufferPool(DEFAULT_POOL_SIZE, DEFAULT_MAX_BYTES);
+
+    /**
+     * 设置截取的最大字节数, 请求体和响应体分别计算
+     *
+     * @param maxBytes 最大字节数
+     * @return 当前的过滤器
+     */
+    public BodyCaptureFilter maxBytes(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive, but was " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.bufferPool = new BodyBufferPool(poolSize, maxBytes);
+        return this;
+    }
+
+    /**
+     * 设置缓冲区池的大小, 常驻内存的上限为 poolSize * maxBytes
+     *
+     * @param poolSize 池中最多保留的缓冲区个数
+     * @return 当前的过滤器
+     */
+    public BodyCaptureFilter poolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive, but was " + poolSize);
+        }
+        this.poolSize = poolSize;
+        this.bufferPool = new BodyBufferPool(poolSize, maxBytes);
+        return this;
+    }
+
+    /**
+     * 设置允许截取的内容类型, 替换默认的 json 和 text/plain
+     *
+     * @param contentTypes 内容类型, 支持通配符, 如 text/*
+     * @return 当前的过滤器
+     */
+    public BodyCaptureFilter contentTypes(String... contentTypes) {
+        List<MediaType> mediaTypes = new ArrayList<>(contentTypes.length);
+        for (String contentType : contentTypes) {
+            mediaTypes.add(MediaType.parseMediaType(contentType));
+        }
+        this.contentTypes = Collections.unmodifiableList(mediaTypes);
+        return this;
+    }
+
+    /**
+     * 添加路径的采样比例, 多个路径表达式都匹配时, 取最先添加的
+     *
+     * @param pathPattern 路径表达式, 如 /upload/**
+     * @param sampleRate  采样比例, 0 ~ 1
+     * @return 当前的过滤器
+     */
+    public BodyCaptureFilter sampleRate(String pathPattern, double sampleRate) {
+        sampleRates.put(pathPattern, checkSampleRate(sampleRate));
+        return this;
+    }
+
+    /**
+     * 设置没有匹配到路径时的采样比例
+     *
+     * @param sampleRate 采样比例, 0 ~ 1
+     * @return 当前的过滤器
+     */
+    public BodyCaptureFilter defaultSampleRate(double sampleRate) {
+        this.defaultSampleRate = checkSampleRate(sampleRate);
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!sampled(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BodyBufferPool pool = bufferPool;
+        BodyCapture requestBody = new BodyCapture(pool);
+        BodyCapture responseBody = new BodyCapture(pool);
+        request.setAttribute(REQUEST_BODY_ATTRIBUTE, requestBody);
+        request.setAttribute(RESPONSE_BODY_ATTRIBUTE, responseBody);
+
+        HttpServletRequest requestToUse = request;
+        if (allowed(request.getContentType())) {
+            requestBody.setCharset(request.getCharacterEncoding());
+            requestToUse = new BodyCaptureRequestWrapper(request, requestBody);
+        } else {
+            requestBody.disable();
+        }
+
+        try {
+            filterChain.doFilter(requestToUse, new BodyCaptureResponseWrapper(response, responseBody, this::allowed));
+        } finally {
+            // 同步请求的日志已经在 afterCompletion 中输出, 异步请求需要先保存内容
+            boolean keepText = request.isAsyncStarted();
+            requestBody.release(keepText);
+            responseBody.release(keepText);
+        }
+    }
+
+    /**
+     * 判断内容类型是否允许截取
+     *
+     * @param contentType 内容类型
+     * @return true: 截取
+     */
+    private boolean allowed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType allowed : contentTypes) {
+            if (allowed.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断请求是否被采样
+     *
+     * @param request 请求
+     * @return true: 截取, false: 不截取
+     */
+    private boolean sampled(HttpServletRequest request) {
+        double sampleRate = matchSampleRate(request.getRequestURI());
+        if (sampleRate >= FULL_SAMPLE_RATE) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 按照路径表达式匹配采样比例
+     *
+     * @param path 路径
+     * @return 采样比例
+     */
+    private double matchSampleRate(String path) {
+        for (Map.Entry<String, Double> entry : sampleRates.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultSampleRate;
+    }
+
+    private double checkSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > FULL_SAMPLE_RATE) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1, but was " + sampleRate);
+        }
+        return sampleRate;
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.lcn29.web.kit.filter;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <pre>
+ * 请求的包装, 读取请求体的同时复制到 BodyCapture, 不缓存完整的请求体
+ * 只截取业务代码真正读取的部分
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:40
+ */
+class BodyCaptureRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BodyCapture capture;
+
+    private ServletInputStream inputStream;
+
+    private BufferedReader reader;
+
+    BodyCaptureRequestWrapper(HttpServletRequest request, BodyCapture capture) {
+        super(request);
+        this.capture = capture;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CaptureInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            reader = new BufferedReader(encoding != null
+                    ? new InputStreamReader(getInputStream(), encoding)
+                    : new InputStreamReader(getInputStream(), StandardCharsets.ISO_8859_1));
+        }
+        return reader;
+    }
+
+    /**
+     * 读取的同时复制到 BodyCapture
+     */
+    private static class CaptureInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private final BodyCapture capture;
+
+        private CaptureInputStream(ServletInputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                capture.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
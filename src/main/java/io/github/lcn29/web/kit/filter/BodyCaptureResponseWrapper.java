@@ -0,0 +1,183 @@
+package io.github.lcn29.web.kit.filter;
+
+import org.springframework.http.MediaType;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * <pre>
+ * 响应的包装, 输出响应体的同时复制到 BodyCapture, 不缓存完整的响应体, 不影响 Content-Length 和提交时机
+ * 第一次输出时按照响应的内容类型判断是否截取, 并按照 Content-Type 的 charset 参数解码,
+ * 没有 charset 参数的 json 按照 UTF-8 解码 (getCharacterEncoding 此时返回 Servlet 默认的 ISO-8859-1, 而 json 的转换器输出 UTF-8 的字节)
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:40
+ */
+class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final static MediaType JSON_SUFFIX = new MediaType("application", "*+json");
+
+    private final BodyCapture capture;
+
+    /**
+     * 判断响应的内容类型是否需要截取
+     */
+    private final Predicate<String> contentTypeFilter;
+
+    private boolean contentTypeChecked;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    BodyCaptureResponseWrapper(HttpServletResponse response, BodyCapture capture, Predicate<String> contentTypeFilter) {
+        super(response);
+        this.capture = capture;
+        this.contentTypeFilter = contentTypeFilter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CaptureOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new CaptureWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    /**
+     * 第一次输出时检查内容类型, 之后内容类型不再变化
+     */
+    private void checkContentType() {
+        if (contentTypeChecked) {
+            return;
+        }
+        contentTypeChecked = true;
+        if (!contentTypeFilter.test(getContentType())) {
+            capture.disable();
+            return;
+        }
+        capture.setCharset(charsetOf(getContentType()));
+    }
+
+    /**
+     * 获取响应体的编码
+     *
+     * @param contentType 内容类型
+     * @return 编码的名称
+     */
+    private String charsetOf(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            Charset charset = mediaType.getCharset();
+            if (charset != null) {
+                return charset.name();
+            }
+            if (MediaType.APPLICATION_JSON.includes(mediaType) || JSON_SUFFIX.includes(mediaType)) {
+                return StandardCharsets.UTF_8.name();
+            }
+        } catch (IllegalArgumentException ignore) {
+            // 内容类型或者编码不合法, 使用响应的编码
+        }
+        return getCharacterEncoding();
+    }
+
+    /**
+     * 输出的同时复制到 BodyCapture
+     */
+    private class CaptureOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CaptureOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            checkContentType();
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            checkContentType();
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * 输出的同时复制到 BodyCapture, PrintWriter(Writer) 不额外缓冲, 直接写入原来的 Writer
+     */
+    private class CaptureWriter extends Writer {
+
+        private final PrintWriter delegate;
+
+        private CaptureWriter(PrintWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            delegate.write(cbuf, off, len);
+            checkContentType();
+            capture.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            delegate.write(str, off, len);
+            checkContentType();
+            capture.write(str, off, len);
+        }
+
+        @Override
+        public void flush() {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.lcn29.web.kit.filter;
+
+import io.github.lcn29.web.kit.compress.GzipCompressor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <pre>
+ * 响应压缩的过滤器, 代替容器的全量压缩
+ *
+ * 1. 只压缩 Accept-Encoding 接受 gzip 的请求, 以及允许的内容类型 (默认 json)
+ * 2. Content-Length 小于 GzipCompressor 的 minBytes 时不压缩, EnvelopeHttpMessageConverter 输出不超过 64KB 的响应时会设置 Content-Length
+ * 3. 按照长度选择压缩级别, 流式输出等长度未知的响应按照大响应处理
+ * 4. 响应已经有 Content-Encoding 时不再压缩, 如 ResponseCache 输出的预先压缩的响应体
+ *
+ * 需要注册为 Filter 的 Bean, 并且在 ResponseCacheFilter 和 BodyCaptureFilter 之前, 它们看到的是压缩前的响应体
+ * 异步请求在最后一次分发结束后完成压缩
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:10
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final GzipCompressor compressor;
+
+    /**
+     * 允许压缩的内容类型
+     */
+    private List<MediaType> contentTypes = Arrays.asList(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+
+    public CompressionFilter() {
+        this(new GzipCompressor());
+    }
+
+    /**
+     * @param compressor 压缩, 和 ResponseCache 共用时可以共享 Deflater 池
+     */
+    public CompressionFilter(GzipCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    /**
+     * 设置允许压缩的内容类型, 替换默认的 json
+     *
+     * @param contentTypes 内容类型, 支持通配符, 如 text/*
+     * @return 当前的过滤器
+     */
+    public CompressionFilter contentTypes(String... contentTypes) {
+        List<MediaType> mediaTypes = new ArrayList<>(contentTypes.length);
+        for (String contentType : contentTypes) {
+            mediaTypes.add(MediaType.parseMediaType(contentType));
+        }
+        this.contentTypes = Collections.unmodifiableList(mediaTypes);
+        return this;
+    }
+
+    public GzipCompressor getCompressor() {
+        return compressor;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // 异步分发时响应已经是初始分发中的包装
+        CompressionResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressionResponseWrapper.class);
+        if (wrapper == null) {
+            if (!GzipCompressor.acceptsGzip(request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            wrapper = new CompressionResponseWrapper(response, compressor, this::allowed);
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    /**
+     * 判断内容类型是否允许压缩
+     *
+     * @param contentType 内容类型
+     * @return true: 压缩
+     */
+    private boolean allowed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType allowed : contentTypes) {
+            if (allowed.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.lcn29.web.kit.filter;
+
+import io.github.lcn29.web.kit.compress.GzipCompressor;
+import io.github.lcn29.web.kit.compress.PooledGzipOutputStream;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.function.Predicate;
+
+/**
+ * <pre>
+ * 压缩响应的包装
+ * Content-Length 先保存不输出, 第一次输出时按照内容类型, 长度和已有的 Content-Encoding 决定是否压缩:
+ * 压缩时设置 Content-Encoding: gzip 并丢弃 Content-Length, 不压缩时再输出保存的 Content-Length
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:10
+ */
+class CompressionResponseWrapper extends HttpServletResponseWrapper {
+
+    private final GzipCompressor compressor;
+
+    /**
+     * 判断响应的内容类型是否需要压缩
+     */
+    private final Predicate<String> contentTypeFilter;
+
+    /**
+     * 保存的 Content-Length, 没有设置时为 -1
+     */
+    private long contentLength = -1;
+
+    private boolean decided;
+
+    /**
+     * 压缩的输出流, 不压缩时为空
+     */
+    private PooledGzipOutputStream gzip;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CompressionResponseWrapper(HttpServletResponse response, GzipCompressor compressor, Predicate<String> contentTypeFilter) {
+        super(response);
+        this.compressor = compressor;
+        this.contentTypeFilter = contentTypeFilter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressionOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decided) {
+            if (gzip == null) {
+                super.setContentLengthLong(len);
+            }
+            return;
+        }
+        this.contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        } else if (value != null) {
+            setContentLengthLong(Long.parseLong(value));
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        } else if (value != null) {
+            setContentLengthLong(Long.parseLong(value));
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setIntHeader(name, value);
+        } else {
+            setContentLengthLong(value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addIntHeader(name, value);
+        } else {
+            setContentLengthLong(value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // 提交响应头之前需要决定是否压缩
+        decide();
+        if (writer != null) {
+            writer.flush();
+        } else if (gzip != null) {
+            gzip.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clear();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (gzip != null) {
+            // 响应头没有重置, 保持压缩, 重新开始 gzip 流
+            gzip.discard();
+            gzip = openGzip();
+        }
+    }
+
+    /**
+     * 结束输出: 写入 gzip 的尾, 没有输出时补上保存的 Content-Length
+     *
+     * @throws IOException 输出异常
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (!decided) {
+            if (contentLength >= 0 && !isCommitted()) {
+                super.setContentLengthLong(contentLength);
+            }
+            return;
+        }
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    /**
+     * 第一次输出时决定是否压缩
+     */
+    private void decide() {
+        if (decided) {
+            return;
+        }
+        decided = true;
+        int status = getStatus();
+        boolean compress = !isCommitted() && status >= HttpServletResponse.SC_OK
+                && status != HttpServletResponse.SC_NO_CONTENT && status != HttpServletResponse.SC_NOT_MODIFIED
+                && !containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && contentTypeFilter.test(getContentType()) && compressor.shouldCompress(contentLength);
+        if (!compress) {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return;
+        }
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, GzipCompressor.GZIP);
+        super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        gzip = openGzip();
+    }
+
+    private PooledGzipOutputStream openGzip() {
+        try {
+            return compressor.open(super.getOutputStream(), contentLength);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open response output stream", e);
+        }
+    }
+
+    private void clear() {
+        if (gzip != null) {
+            gzip.discard();
+            gzip = null;
+        }
+        decided = false;
+        contentLength = -1;
+    }
+
+    /**
+     * 第一次输出时决定是否压缩, 之后写到压缩流或者原始的输出流
+     */
+    private class CompressionOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CompressionOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            decide();
+            if (gzip != null) {
+                gzip.write(b);
+            } else {
+                delegate.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            decide();
+            if (gzip != null) {
+                gzip.write(b, off, len);
+            } else {
+                delegate.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) {
+                gzip.flush();
+            } else {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (gzip != null) {
+                gzip.finish();
+            } else if (!decided && contentLength >= 0 && !isCommitted()) {
+                decided = true;
+                CompressionResponseWrapper.super.setContentLengthLong(contentLength);
+            }
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import io.github.lcn29.web.kit.limit.AdaptiveConcurrencyLimit;
+import io.github.lcn29.web.kit.limit.ConcurrencyLimitRegistry;
+import io.github.lcn29.web.kit.response.ResponseWriter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <pre>
+ * 自适应并发限制拦截器
+ * 请求需要同时获取全局和接口 (开启时) 的许可, 超出限制时立即返回 http 状态 503 和 WebStatusCode.SERVER_OVERLOADED (50300), 不进入排队
+ * 请求结束时按照耗时调整限制, 详见 AdaptiveConcurrencyLimit
+ *
+ * 异步请求在异步处理结束后才释放许可
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * 请求属性中许可的标识
+     */
+    private final static String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    /**
+     * 没有路由的请求的名称
+     */
+    private final static String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final ConcurrencyLimitRegistry concurrencyLimitRegistry;
+
+    private ResponseWriter responseWriter = new ResponseWriter();
+
+    public ConcurrencyLimitInterceptor() {
+        this(new ConcurrencyLimitRegistry());
+    }
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitRegistry concurrencyLimitRegistry) {
+        this.concurrencyLimitRegistry = concurrencyLimitRegistry;
+    }
+
+    /**
+     * 设置拒绝请求时的输出, 需要和 HttpMessageConverter 使用相同的 ObjectMapper 时设置
+     *
+     * @param responseWriter 输出
+     * @return 当前的拦截器
+     */
+    public ConcurrencyLimitInterceptor responseWriter(ResponseWriter responseWriter) {
+        this.responseWriter = responseWriter;
+        return this;
+    }
+
+    public ConcurrencyLimitRegistry getConcurrencyLimitRegistry() {
+        return concurrencyLimitRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        // 异步请求的再次分发, 许可已经获取
+        if (request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+
+        AdaptiveConcurrencyLimit globalLimit = concurrencyLimitRegistry.getGlobalLimit();
+        if (!globalLimit.tryAcquire()) {
+            return reject(response);
+        }
+        AdaptiveConcurrencyLimit routeLimit = resolveRouteLimit(request, handler);
+        if (routeLimit != null && !routeLimit.tryAcquire()) {
+            globalLimit.cancel();
+            return reject(response);
+        }
+        request.setAttribute(PERMIT, new Permit(routeLimit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        Object permit = request.getAttribute(PERMIT);
+        if (!(permit instanceof Permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT);
+
+        long rtt = System.nanoTime() - ((Permit) permit).startNanoTime;
+        concurrencyLimitRegistry.getGlobalLimit().release(rtt);
+        AdaptiveConcurrencyLimit routeLimit = ((Permit) permit).routeLimit;
+        if (routeLimit != null) {
+            routeLimit.release(rtt);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit resolveRouteLimit(HttpServletRequest request, Object handler) {
+        if (!concurrencyLimitRegistry.isRouteLimitEnabled()) {
+            return null;
+        }
+        // HandlerMethod 每次请求可能是新的对象, 使用其中的 Method 作为 key
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object key = handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod() : route;
+        if (key == null) {
+            key = UNKNOWN_ROUTE;
+        }
+        AdaptiveConcurrencyLimit routeLimit = concurrencyLimitRegistry.getRouteLimit(key);
+        if (routeLimit == null) {
+            routeLimit = concurrencyLimitRegistry.registerRouteLimit(key, request.getMethod() + " " + (route != null ? route : UNKNOWN_ROUTE));
+        }
+        return routeLimit;
+    }
+
+    private boolean reject(HttpServletResponse response) throws Exception {
+        responseWriter.writeFail(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, WebStatusCode.SERVER_OVERLOADED);
+        return false;
+    }
+
+    /**
+     * 获取到的许可
+     */
+    private static class Permit {
+
+        /**
+         * 接口的限制, 不按照接口限制时为空
+         */
+        private final AdaptiveConcurrencyLimit routeLimit;
+
+        private final long startNanoTime;
+
+        private Permit(AdaptiveConcurrencyLimit routeLimit, long startNanoTime) {
+            this.routeLimit = routeLimit;
+            this.startNanoTime = startNanoTime;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <pre>
+ * 携带用户凭证的请求头, ResponseCacheInterceptor 和 RequestCoalescingInterceptor 共用
+ * 请求带有没有作为 key 的一部分 (varyHeaders) 的凭证时, 不使用缓存也不合并, 避免不同用户共用同一个响应
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:20
+ */
+final class CredentialHeaders {
+
+    private final static String[] HEADERS = {HttpHeaders.AUTHORIZATION, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.COOKIE};
+
+    private final static String[] NONE = new String[0];
+
+    private CredentialHeaders() {
+    }
+
+    /**
+     * 获取需要检查的凭证请求头
+     *
+     * @param varyHeaders      作为 key 的一部分的请求头, 其中的凭证请求头不需要检查
+     * @param shareAcrossUsers true: 接口声明响应和用户无关, 不检查
+     * @return 请求头的名称
+     */
+    static String[] guarded(String[] varyHeaders, boolean shareAcrossUsers) {
+        if (shareAcrossUsers) {
+            return NONE;
+        }
+        List<String> guarded = new ArrayList<>(HEADERS.length);
+        for (String header : HEADERS) {
+            boolean vary = false;
+            for (String varyHeader : varyHeaders) {
+                if (header.equalsIgnoreCase(varyHeader)) {
+                    vary = true;
+                    break;
+                }
+            }
+            if (!vary) {
+                guarded.add(header);
+            }
+        }
+        return guarded.toArray(NONE);
+    }
+
+    /**
+     * 判断请求是否带有任意一个请求头
+     *
+     * @param request 请求
+     * @param headers guarded 返回的请求头
+     * @return true: 带有凭证, 不能和其他请求共用响应
+     */
+    static boolean present(HttpServletRequest request, String[] headers) {
+        for (String header : headers) {
+            if (request.getHeader(header) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.monitor.InFlightRequest;
+import io.github.lcn29.web.kit.monitor.InFlightRequestRegistry;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <pre>
+ * 处理中的请求的拦截器
+ * 请求开始时注册到 InFlightRequestRegistry, 结束时移除, 供 SlowRequestWatchdog 和 InFlightRequestEndpoint 使用
+ * traceId 从日志上下文中获取, 需要注册在 TraceIdInterceptor 之后
+ *
+ * 异步请求在初始的请求线程释放后移除, 异步处理的部分不在统计范围内
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class InFlightRequestInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * 请求属性中处理中的请求的标识
+     */
+    private final static String IN_FLIGHT_REQUEST = InFlightRequestInterceptor.class.getName() + ".inFlightRequest";
+
+    private final InFlightRequestRegistry inFlightRequestRegistry;
+
+    public InFlightRequestInterceptor() {
+        this(new InFlightRequestRegistry());
+    }
+
+    public InFlightRequestInterceptor(InFlightRequestRegistry inFlightRequestRegistry) {
+        this.inFlightRequestRegistry = inFlightRequestRegistry;
+    }
+
+    public InFlightRequestRegistry getInFlightRequestRegistry() {
+        return inFlightRequestRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        InFlightRequest inFlightRequest = new InFlightRequest(MDC.get(WebConstants.TRACE_ID), request.getMethod(),
+                request.getRequestURI(), Thread.currentThread());
+        if (inFlightRequestRegistry.register(inFlightRequest)) {
+            request.setAttribute(IN_FLIGHT_REQUEST, inFlightRequest);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        unregister(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        unregister(request);
+    }
+
+    private void unregister(HttpServletRequest request) {
+        Object inFlightRequest = request.getAttribute(IN_FLIGHT_REQUEST);
+        if (inFlightRequest instanceof InFlightRequest) {
+            inFlightRequestRegistry.unregister((InFlightRequest) inFlightRequest);
+            request.removeAttribute(IN_FLIGHT_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.metrics.LatencyHistogram;
+import io.github.lcn29.web.kit.metrics.LatencyRecorder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <pre>
+ * 接口延迟统计拦截器
+ * 按照 请求方式 + 路由的路径表达式 记录耗时到 LatencyRecorder 中, 而不是实际的请求路径
+ * 同一个方法映射了多个路径或者请求方式时, 分别统计
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 16:40
+ */
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求属性中的开始时间 (纳秒) 的标识
+     */
+    private final static String START_NANO_TIME = LatencyInterceptor.class.getName() + ".startNanoTime";
+
+    /**
+     * 没有路由的请求的名称
+     */
+    private final static String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final LatencyRecorder latencyRecorder;
+
+    public LatencyInterceptor() {
+        this(new LatencyRecorder());
+    }
+
+    public LatencyInterceptor(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        request.setAttribute(START_NANO_TIME, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+
+        Long startNanoTime = (Long) request.getAttribute(START_NANO_TIME);
+        if (startNanoTime == null) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanoTime;
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        RouteKey key = new RouteKey(request.getMethod(), route instanceof String ? (String) route : UNKNOWN_ROUTE);
+
+        LatencyHistogram histogram = latencyRecorder.get(key);
+        if (histogram == null) {
+            histogram = latencyRecorder.register(key, key.httpMethod + " " + key.route);
+        }
+        histogram.recordNanos(duration);
+    }
+
+    /**
+     * 直方图的 key, 路由的路径表达式来自处理器的映射, 数量和接口数量一致
+     */
+    private static class RouteKey {
+
+        private final String httpMethod;
+
+        private final String route;
+
+        private RouteKey(String httpMethod, String route) {
+            this.httpMethod = httpMethod;
+            this.route = route;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey other = (RouteKey) o;
+            return httpMethod.equals(other.httpMethod) && route.equals(other.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * httpMethod.hashCode() + route.hashCode();
+        }
+    }
+}
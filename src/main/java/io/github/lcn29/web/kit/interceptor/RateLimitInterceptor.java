@@ -0,0 +1,80 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import io.github.lcn29.web.kit.limit.GcraRateLimiter;
+import io.github.lcn29.web.kit.limit.RateLimitKeyResolver;
+import io.github.lcn29.web.kit.response.ResponseWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 限流拦截器
+ * 按照 RateLimitKeyResolver 获取的 key (客户端地址, 请求头, 路由等) 通过 GcraRateLimiter 限流,
+ * 超出限制时返回 http 状态 429 和 WebStatusCode.TOO_MANY_REQUESTS (42900), 并通过 Retry-After 返回需要等待的秒数
+ *
+ * 不同的接口需要不同的限制时, 注册多个拦截器并指定路径
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:20
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final GcraRateLimiter rateLimiter;
+
+    private final RateLimitKeyResolver keyResolver;
+
+    private ResponseWriter responseWriter = new ResponseWriter();
+
+    /**
+     * @param rateLimiter 限流器
+     * @param keyResolver key 的获取
+     */
+    public RateLimitInterceptor(GcraRateLimiter rateLimiter, RateLimitKeyResolver keyResolver) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * 设置拒绝请求时的输出, 需要和 HttpMessageConverter 使用相同的 ObjectMapper 时设置
+     *
+     * @param responseWriter 输出
+     * @return 当前的拦截器
+     */
+    public RateLimitInterceptor responseWriter(ResponseWriter responseWriter) {
+        this.responseWriter = responseWriter;
+        return this;
+    }
+
+    public GcraRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        // 异步请求的再次分发不重复计算
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String key = keyResolver.resolve(request);
+        if (key == null) {
+            return true;
+        }
+        long waitMicros = rateLimiter.tryAcquire(key);
+        if (waitMicros == 0) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1L, (waitMicros + TimeUnit.SECONDS.toMicros(1) - 1) / TimeUnit.SECONDS.toMicros(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        responseWriter.writeFail(response, HttpStatus.TOO_MANY_REQUESTS.value(), WebStatusCode.TOO_MANY_REQUESTS);
+        return false;
+    }
+}
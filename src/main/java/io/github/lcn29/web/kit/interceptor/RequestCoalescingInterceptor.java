@@ -0,0 +1,124 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.response.annotation.CoalesceRequests;
+import io.github.lcn29.web.kit.response.cache.RequestCoalescer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 请求合并拦截器
+ * 对 @CoalesceRequests 标注的 GET 接口, 相同 key 的并发请求只有一个执行接口, 其他请求等待并输出它的响应体
+ * key 为请求路径 + 按照名称排序的参数 + varyHeaders 的值, 参数顺序不同的请求也会合并
+ * 请求带有不在 varyHeaders 中的凭证请求头时不合并, 除非接口声明了 shareAcrossUsers
+ *
+ * 和 ResponseCacheInterceptor 一起使用时, 注册在它之后, 命中缓存的请求不需要合并
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:50
+ */
+public class RequestCoalescingInterceptor implements HandlerInterceptor {
+
+    private final static String GET = "GET";
+
+    /**
+     * 没有 @CoalesceRequests 的方法
+     */
+    private final static Policy NONE = new Policy(0L, new String[0], new String[0]);
+
+    private final RequestCoalescer coalescer;
+
+    /**
+     * 方法对应的合并策略
+     */
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+
+    public RequestCoalescingInterceptor(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC
+                || !GET.equals(request.getMethod())) {
+            return true;
+        }
+        Policy policy = policies.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::resolvePolicy);
+        if (policy == NONE || CredentialHeaders.present(request, policy.credentialHeaders)) {
+            return true;
+        }
+        return !coalescer.coalesce(coalesceKey(request, policy), policy.timeoutMillis, request, response);
+    }
+
+    /**
+     * 获取方法的合并策略, 方法上的注解优先
+     *
+     * @param method 方法
+     * @return 策略, 没有注解时返回 NONE
+     */
+    private Policy resolvePolicy(Method method) {
+        CoalesceRequests annotation = AnnotatedElementUtils.findMergedAnnotation(method, CoalesceRequests.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), CoalesceRequests.class);
+        }
+        if (annotation == null || annotation.timeoutMillis() <= 0) {
+            return NONE;
+        }
+        return new Policy(annotation.timeoutMillis(), annotation.varyHeaders(),
+                CredentialHeaders.guarded(annotation.varyHeaders(), annotation.shareAcrossUsers()));
+    }
+
+    /**
+     * 合并的 key: 请求路径 + 按照名称排序的参数 + varyHeaders 的值
+     */
+    private String coalesceKey(HttpServletRequest request, Policy policy) {
+        StringBuilder key = new StringBuilder(128).append(request.getRequestURI());
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!parameters.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, String[]> entry : new TreeMap<>(parameters).entrySet()) {
+                for (String value : entry.getValue()) {
+                    key.append(separator).append(entry.getKey()).append('=').append(value);
+                    separator = '&';
+                }
+            }
+        }
+        for (String header : policy.varyHeaders) {
+            String value = request.getHeader(header);
+            key.append('|').append(header).append('=');
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static class Policy {
+
+        private final long timeoutMillis;
+
+        private final String[] varyHeaders;
+
+        /**
+         * 请求带有时不合并的凭证请求头
+         */
+        private final String[] credentialHeaders;
+
+        private Policy(long timeoutMillis, String[] varyHeaders, String[] credentialHeaders) {
+            this.timeoutMillis = timeoutMillis;
+            this.varyHeaders = varyHeaders;
+            this.credentialHeaders = credentialHeaders;
+        }
+    }
+}
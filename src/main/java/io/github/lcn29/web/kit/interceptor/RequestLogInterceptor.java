@@ -1,16 +1,33 @@
 package io.github.lcn29.web.kit.interceptor;
 
 import com.alibaba.fastjson2.JSONObject;
+import io.github.lcn29.web.kit.filter.BodyCaptureFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <pre>
  * Http 请求拦截器
+ *
+ * 默认在请求开始和结束时各输出一行日志
+ * 开启 combinedLog 后, 只在请求结束时输出一行合并的日志, 并支持按照路径采样:
+ * 1. 异常请求 (状态码 >= alwaysLogStatus 或者有未处理的异常) 和慢请求 (耗时 >= slowThresholdMillis) 一定输出
+ * 2. 其他请求按照路径匹配的采样比例输出, 没有匹配的路径使用 defaultSampleRate
+ *
+ * 所有的日志内容 (请求参数序列化, User-Agent 等) 只在日志级别开启时才会获取和格式化
+ * 注册了 BodyCaptureFilter 时, 请求结束的日志中追加截取的请求体和响应体
  * </pre>
  *
  * @author lcn29
@@ -30,22 +47,232 @@ public class RequestLogInterceptor implements HandlerInterceptor {
      */
     private final static String USER_AGENT = "User-Agent";
 
+    /**
+     * 全部采样
+     */
+    private final static double FULL_SAMPLE_RATE = 1D;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 没有路由时, 获取去掉 contextPath 的请求路径, 和路由的路径表达式保持一致
+     */
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * 按照路径配置的采样比例, key: 路径表达式, value: 采样比例
+     */
+    private final Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * 路由对应的采样比例的缓存, key 为路由的路径表达式, 数量和接口数量一致
+     */
+    private final Map<String, Double> routeSampleRateCache = new ConcurrentHashMap<>();
+
+    /**
+     * 是否合并为一行日志, 在请求结束时输出
+     */
+    private boolean combinedLog = false;
+
+    /**
+     * 没有匹配到路径时的采样比例
+     */
+    private double defaultSampleRate = FULL_SAMPLE_RATE;
+
+    /**
+     * 慢请求的阈值, 单位毫秒
+     */
+    private long slowThresholdMillis = 1000L;
+
+    /**
+     * 状态码大于等于这个值的请求一定输出日志
+     */
+    private int alwaysLogStatus = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+
+    /**
+     * 设置是否合并为一行日志
+     *
+     * @param combinedLog true: 只在请求结束时输出一行日志, 同时开启采样
+     * @return 当前的拦截器
+     */
+    public RequestLogInterceptor combinedLog(boolean combinedLog) {
+        this.combinedLog = combinedLog;
+        return this;
+    }
+
+    /**
+     * 添加路径的采样比例, 只在合并日志时生效
+     * 多个路径表达式都匹配时, 取最先添加的
+     *
+     * @param pathPattern 路径表达式, 如 /actuator/**
+     * @param sampleRate  采样比例, 0 ~ 1
+     * @return 当前的拦截器
+     */
+    public RequestLogInterceptor sampleRate(String pathPattern, double sampleRate) {
+        sampleRates.put(pathPattern, checkSampleRate(sampleRate));
+        routeSampleRateCache.clear();
+        return this;
+    }
+
+    /**
+     * 设置没有匹配到路径时的采样比例, 只在合并日志时生效
+     *
+     * @param sampleRate 采样比例, 0 ~ 1
+     * @return 当前的拦截器
+     */
+    public RequestLogInterceptor defaultSampleRate(double sampleRate) {
+        this.defaultSampleRate = checkSampleRate(sampleRate);
+        routeSampleRateCache.clear();
+        return this;
+    }
+
+    /**
+     * 设置慢请求的阈值, 超过阈值的请求不受采样影响
+     *
+     * @param slowThresholdMillis 阈值, 单位毫秒
+     * @return 当前的拦截器
+     */
+    public RequestLogInterceptor slowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+        return this;
+    }
+
+    /**
+     * 设置一定输出日志的最小状态码
+     *
+     * @param alwaysLogStatus 状态码
+     * @return 当前的拦截器
+     */
+    public RequestLogInterceptor alwaysLogStatus(int alwaysLogStatus) {
+        this.alwaysLogStatus = alwaysLogStatus;
+        return this;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
         long startTime = System.currentTimeMillis();
         request.setAttribute(START_TIME, startTime);
 
-        logger.info("{}:{}:{}:{}-{}\nReqParam:{}", request.getHeader(USER_AGENT), request.getRemoteHost(), request.getMethod(),
-                request.getRequestURI(), startTime, JSONObject.toJSONString(request.getParameterMap()));
-
+        if (!combinedLog && logger.isInfoEnabled()) {
+            logger.info("{}:{}:{}:{}-{}\nReqParam:{}", request.getHeader(USER_AGENT), request.getRemoteHost(), request.getMethod(),
+                    request.getRequestURI(), startTime, new ParameterMapJson(request));
+        }
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
 
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+
         Long startTime = (Long) request.getAttribute(START_TIME);
-        logger.info("RespStatus:{}, dur:{}", response.getStatus(), System.currentTimeMillis() - startTime);
+        long duration = System.currentTimeMillis() - startTime;
+
+        Object requestBody = request.getAttribute(BodyCaptureFilter.REQUEST_BODY_ATTRIBUTE);
+        Object responseBody = request.getAttribute(BodyCaptureFilter.RESPONSE_BODY_ATTRIBUTE);
+
+        if (!combinedLog) {
+            if (requestBody == null) {
+                logger.info("RespStatus:{}, dur:{}", response.getStatus(), duration);
+            } else {
+                logger.info("RespStatus:{}, dur:{}\nReqBody:{}\nRespBody:{}", response.getStatus(), duration, requestBody, responseBody);
+            }
+            return;
+        }
+
+        boolean alwaysLog = ex != null || response.getStatus() >= alwaysLogStatus || duration >= slowThresholdMillis;
+        if (!alwaysLog && !sampled(request)) {
+            return;
+        }
+        if (requestBody == null) {
+            logger.info("{}:{}:{}:{}-{}\nReqParam:{}\nRespStatus:{}, dur:{}", request.getHeader(USER_AGENT), request.getRemoteHost(),
+                    request.getMethod(), request.getRequestURI(), startTime, new ParameterMapJson(request), response.getStatus(), duration);
+        } else {
+            logger.info("{}:{}:{}:{}-{}\nReqParam:{}\nReqBody:{}\nRespStatus:{}, dur:{}\nRespBody:{}", request.getHeader(USER_AGENT),
+                    request.getRemoteHost(), request.getMethod(), request.getRequestURI(), startTime, new ParameterMapJson(request),
+                    requestBody, response.getStatus(), duration, responseBody);
+        }
+    }
+
+    /**
+     * 判断请求是否被采样
+     *
+     * @param request 请求
+     * @return true: 输出日志, false: 不输出
+     */
+    private boolean sampled(HttpServletRequest request) {
+        double sampleRate = resolveSampleRate(request);
+        if (sampleRate >= FULL_SAMPLE_RATE) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 获取请求的采样比例
+     * 优先按照路由的路径表达式缓存, 没有路由 (如 404) 时按照去掉 contextPath 的请求路径实时匹配
+     *
+     * @param request 请求
+     * @return 采样比例
+     */
+    private double resolveSampleRate(HttpServletRequest request) {
+
+        if (sampleRates.isEmpty()) {
+            return defaultSampleRate;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (!(route instanceof String)) {
+            return matchSampleRate(urlPathHelper.getPathWithinApplication(request));
+        }
+
+        Double sampleRate = routeSampleRateCache.get(route);
+        if (sampleRate == null) {
+            sampleRate = matchSampleRate((String) route);
+            routeSampleRateCache.put((String) route, sampleRate);
+        }
+        return sampleRate;
+    }
+
+    /**
+     * 按照路径表达式匹配采样比例
+     *
+     * @param path 路径
+     * @return 采样比例
+     */
+    private double matchSampleRate(String path) {
+        for (Map.Entry<String, Double> entry : sampleRates.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultSampleRate;
+    }
+
+    private double checkSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > FULL_SAMPLE_RATE) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1, but was " + sampleRate);
+        }
+        return sampleRate;
+    }
+
+    /**
+     * 请求参数的 json 字符串, 只在日志真正输出时才进行序列化
+     */
+    private static class ParameterMapJson {
+
+        private final HttpServletRequest request;
+
+        private ParameterMapJson(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public String toString() {
+            return JSONObject.toJSONString(request.getParameterMap());
+        }
     }
 }
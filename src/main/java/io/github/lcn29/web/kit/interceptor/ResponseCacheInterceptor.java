@@ -0,0 +1,126 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.response.annotation.CacheableResponse;
+import io.github.lcn29.web.kit.response.cache.ResponseCache;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 响应缓存拦截器
+ * 对 @CacheableResponse 标注的 GET 接口, 命中 ResponseCache 时直接输出缓存的字节, 不执行接口
+ * 请求接受 gzip 并且条目有预先压缩的响应体时, 输出压缩后的字节
+ * 没有命中时标记请求, 由 ResponseCacheFilter 在输出完成后放入缓存
+ * 请求带有不在 varyHeaders 中的凭证请求头时跳过, 除非接口声明了 shareAcrossUsers
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final static String GET = "GET";
+
+    /**
+     * 没有 @CacheableResponse 的方法
+     */
+    private final static Policy NONE = new Policy(0L, new String[0], new String[0]);
+
+    private final ResponseCache responseCache;
+
+    /**
+     * 方法对应的缓存策略
+     */
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+
+    public ResponseCacheInterceptor(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC
+                || !GET.equals(request.getMethod())) {
+            return true;
+        }
+        Policy policy = policies.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::resolvePolicy);
+        if (policy == NONE || CredentialHeaders.present(request, policy.credentialHeaders)) {
+            return true;
+        }
+        String key = cacheKey(request, policy);
+        if (responseCache.writeTo(key, request, response)) {
+            return false;
+        }
+        ResponseCache.markPending(request, key, policy.ttlMillis);
+        return true;
+    }
+
+    /**
+     * 获取方法的缓存策略, 方法上的注解优先
+     *
+     * @param method 方法
+     * @return 策略, 没有注解时返回 NONE
+     */
+    private Policy resolvePolicy(Method method) {
+        CacheableResponse annotation = AnnotatedElementUtils.findMergedAnnotation(method, CacheableResponse.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), CacheableResponse.class);
+        }
+        if (annotation == null || annotation.ttlSeconds() <= 0) {
+            return NONE;
+        }
+        return new Policy(TimeUnit.SECONDS.toMillis(annotation.ttlSeconds()), annotation.varyHeaders(),
+                CredentialHeaders.guarded(annotation.varyHeaders(), annotation.shareAcrossUsers()));
+    }
+
+    /**
+     * 缓存 key: 请求路径 + 查询参数 + varyHeaders 的值
+     */
+    private String cacheKey(HttpServletRequest request, Policy policy) {
+        String uri = request.getRequestURI();
+        String query = request.getQueryString();
+        if (query == null && policy.varyHeaders.length == 0) {
+            return uri;
+        }
+        StringBuilder key = new StringBuilder(uri.length() + 64).append(uri);
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : policy.varyHeaders) {
+            String value = request.getHeader(header);
+            key.append('|').append(header).append('=');
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static class Policy {
+
+        private final long ttlMillis;
+
+        private final String[] varyHeaders;
+
+        /**
+         * 请求带有时不缓存的凭证请求头
+         */
+        private final String[] credentialHeaders;
+
+        private Policy(long ttlMillis, String[] varyHeaders, String[] credentialHeaders) {
+            this.ttlMillis = ttlMillis;
+            this.varyHeaders = varyHeaders;
+            this.credentialHeaders = credentialHeaders;
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package io.github.lcn29.web.kit.interceptor;
 
 import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.trace.RandomTraceIdGenerator;
+import io.github.lcn29.web.kit.trace.TraceIdGenerator;
+import io.github.lcn29.web.kit.trace.TraceParent;
 import org.slf4j.MDC;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.UUID;
 
 /**
  * <pre>
  * TraceId 拦截器
+ * traceId 的获取顺序: 请求头 traceId -> W3C 请求头 traceparent 中的 trace-id -> TraceIdGenerator 生成
+ * 获取到的 traceId 会通过响应头 traceId 返回, 符合 W3C 格式时, 同时通过响应头 traceresponse 返回当前服务的 span
+ * 上游的 trace-flags 只在 traceparent 的 trace-id 和最终的 traceId 相同时沿用, 否则属于另一条链路, 使用默认值
  * </pre>
  *
  * @author lcn29
@@ -22,16 +27,48 @@ public class TraceIdInterceptor implements HandlerInterceptor {
     /**
      * 日志文件中, traceId 的标识
      */
-    private final static String LOG_TRACK_ID_MARK = "traceId";
+    private final static String LOG_TRACK_ID_MARK = WebConstants.TRACE_ID;
+
+    /**
+     * 请求属性中, 当前服务的 traceparent 的标识, 调用下游服务时可以直接透传
+     */
+    public final static String TRACE_PARENT_ATTRIBUTE = TraceIdInterceptor.class.getName() + ".traceParent";
+
+    private final TraceIdGenerator traceIdGenerator;
+
+    public TraceIdInterceptor() {
+        this(RandomTraceIdGenerator.INSTANCE);
+    }
+
+    public TraceIdInterceptor(TraceIdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
-        // 从请求头中尝试获取 traceId, 获取不到自动生成
+        // 从请求头中尝试获取 traceId, 获取不到尝试从 traceparent 中获取, 都获取不到自动生成
+        // traceparent 总是读取, traceId 来自请求头并且和 traceparent 是同一条链路时, 也需要沿用上游的 trace-flags
+        String traceParent = request.getHeader(TraceParent.HEADER);
+        String parentTraceId = TraceParent.parseTraceId(traceParent);
         String trackId = request.getHeader(LOG_TRACK_ID_MARK);
-        trackId = StringUtils.hasLength(trackId) ? trackId : getUuid();
+        if (!StringUtils.hasLength(trackId)) {
+            trackId = parentTraceId;
+            if (trackId == null) {
+                trackId = traceIdGenerator.generate();
+            }
+        }
         // 填充到日志上下文
         MDC.put(LOG_TRACK_ID_MARK, trackId);
+
+        // 通过响应头返回
+        response.setHeader(LOG_TRACK_ID_MARK, trackId);
+        if (TraceParent.isValidTraceId(trackId)) {
+            String flags = trackId.equals(parentTraceId) ? TraceParent.parseFlags(traceParent) : TraceParent.DEFAULT_FLAGS;
+            String currentTraceParent = TraceParent.format(trackId, traceIdGenerator.generateSpanId(), flags);
+            request.setAttribute(TRACE_PARENT_ATTRIBUTE, currentTraceParent);
+            response.setHeader(TraceParent.RESPONSE_HEADER, currentTraceParent);
+        }
         return true;
     }
 
@@ -40,13 +77,4 @@ public class TraceIdInterceptor implements HandlerInterceptor {
         // 从日志上下文中移除
         MDC.remove(LOG_TRACK_ID_MARK);
     }
-
-    /**
-     * 获取 UUID 字符串
-     *
-     * @return 替换掉 - 的 UUID 字符串
-     */
-    private String getUuid() {
-        return UUID.randomUUID().toString().replace(WebConstants.CROSS_BAR, WebConstants.EMPTY_STR);
-    }
 }
@@ -2,26 +2,42 @@ package io.github.lcn29.web.kit.json;
 
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.json.deserializer.String2LocalDateDeserializer;
+import io.github.lcn29.web.kit.json.deserializer.String2LocalDateTimeDeserializer;
+import io.github.lcn29.web.kit.json.serializer.BigInteger2StringSerializer;
+import io.github.lcn29.web.kit.json.serializer.LocalDate2StringSerializer;
+import io.github.lcn29.web.kit.json.serializer.LocalDateTime2StringSerializer;
+import io.github.lcn29.web.kit.json.serializer.Long2StringSerializer;
+import io.github.lcn29.web.kit.json.serializer.LongArray2StringSerializer;
+import io.github.lcn29.web.kit.json.serializer.LongCollection2StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <pre>
  * 自定义的 json 序列化和反序列化配置
  * 如果有特殊场景可以通过 @JsonDeserialize @JsonSerialize 进行重写
+ *
+ * 添加的序列化器和反序列化器会一直保留, 可以同时用于 Jackson 和 fastjson2 (Fastjson2HttpMessageConverter)
  * </pre>
  *
  * @author lcn29
@@ -29,6 +45,36 @@ import java.util.Map;
  */
 public class JacksonObjectMapperBuilderCustomizer {
 
+    private final static Logger logger = LoggerFactory.getLogger(JacksonObjectMapperBuilderCustomizer.class);
+
+    /**
+     * 字节码生成属性访问器的模块, 按照顺序取第一个存在的
+     */
+    private final static String[] ACCESSOR_MODULE_CLASS_NAMES = {
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
+
+    /**
+     * 默认的预热轮数
+     */
+    private final static int DEFAULT_WARM_UP_ROUNDS = 2000;
+
+    /**
+     * 是否注册字节码生成属性访问器的模块
+     */
+    private boolean accessorModule = false;
+
+    /**
+     * 预热的轮数
+     */
+    private int warmUpRounds = DEFAULT_WARM_UP_ROUNDS;
+
+    /**
+     * long/BigInteger 是否只有超出 JavaScript 安全整数范围的值才输出为字符串
+     */
+    private boolean onlyUnsafeLongAsString = false;
+
     /**
      * 临时存放自定义的序列化器
      */
@@ -65,6 +111,52 @@ public class JacksonObjectMapperBuilderCustomizer {
         return this;
     }
 
+    /**
+     * 设置是否注册字节码生成属性访问器的模块 (Blackbird, 不存在时使用 Afterburner), 替代反射访问属性
+     * 两个模块都不在 classpath 中时不做任何处理
+     *
+     * @param accessorModule true: 注册
+     * @return 当前的配置类
+     */
+    public JacksonObjectMapperBuilderCustomizer accessorModule(boolean accessorModule) {
+        this.accessorModule = accessorModule;
+        return this;
+    }
+
+    /**
+     * 设置 ObjectMapper 预热的轮数
+     *
+     * @param warmUpRounds 序列化和反序列化的轮数
+     * @return 当前的配置类
+     */
+    public JacksonObjectMapperBuilderCustomizer warmUpRounds(int warmUpRounds) {
+        this.warmUpRounds = warmUpRounds;
+        return this;
+    }
+
+    /**
+     * 设置 long/BigInteger 是否只有超出 JavaScript 安全整数范围 (±(2^53 - 1)) 的值才输出为字符串
+     * 默认 false, 全部输出为字符串
+     *
+     * @param onlyUnsafeLongAsString true: 安全范围内的值仍然输出为数字
+     * @return 当前的配置类
+     */
+    public JacksonObjectMapperBuilderCustomizer onlyUnsafeLongAsString(boolean onlyUnsafeLongAsString) {
+        this.onlyUnsafeLongAsString = onlyUnsafeLongAsString;
+        return this;
+    }
+
+    /**
+     * 获取 ObjectMapper 的预热, 需要注册为 Bean 才会在启动时执行
+     *
+     * @param objectMapper    需要预热的 ObjectMapper
+     * @param handlerMappings 接口的映射
+     * @return ObjectMapper 的预热
+     */
+    public ObjectMapperWarmUp generateObjectMapperWarmUp(ObjectMapper objectMapper, Collection<RequestMappingHandlerMapping> handlerMappings) {
+        return new ObjectMapperWarmUp(objectMapper, handlerMappings, warmUpRounds);
+    }
+
     /**
      * 获取自定义的序列器和反序列化器的构造器
      */
@@ -81,19 +173,77 @@ public class JacksonObjectMapperBuilderCustomizer {
                     jacksonObjectMapperBuilder.deserializerByType(item.classType, item.jsonDeserializer)
             );
 
-            // 注册成功后进行清除, 减少内存
-            customerJsonSerializerMap.clear();
-            customerJsonDeserializerMap.clear();
-
             // localDateTime 默认的序列化和反序列化配置
             localDateTimeHandler(jacksonObjectMapperBuilder);
             // localDate 默认的序列化和反序列化配置
             localDateHandler(jacksonObjectMapperBuilder);
             // 其他数据类型的序列化和反序列化配置
             otherDataTypeHandler(jacksonObjectMapperBuilder);
+
+            // 通过 postConfigurer 注册, 不覆盖 Spring Boot 通过 modulesToInstall 注册的模块
+            if (accessorModule) {
+                Module module = createAccessorModule();
+                if (module != null) {
+                    jacksonObjectMapperBuilder.postConfigurer(objectMapper -> objectMapper.registerModule(module));
+                }
+            }
         };
     }
 
+    /**
+     * 创建字节码生成属性访问器的模块
+     *
+     * @return 模块, 不在 classpath 中时返回空
+     */
+    private Module createAccessorModule() {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (String className : ACCESSOR_MODULE_CLASS_NAMES) {
+            if (!ClassUtils.isPresent(className, classLoader)) {
+                continue;
+            }
+            try {
+                Module module = (Module) BeanUtils.instantiateClass(ClassUtils.forName(className, classLoader));
+                logger.info("Jackson accessor module:{}", className);
+                return module;
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.warn("Jackson accessor module {} load error:{}", className, e.getMessage());
+            }
+        }
+        logger.warn("Jackson accessor module not found, add jackson-module-blackbird to the classpath");
+        return null;
+    }
+
+    /**
+     * 获取添加的自定义序列化器
+     *
+     * @return key: 数据类型, value: 序列化器
+     */
+    public Map<Class<?>, JsonSerializer<?>> getCustomJsonSerializers() {
+        Map<Class<?>, JsonSerializer<?>> serializers = new LinkedHashMap<>();
+        customerJsonSerializerMap.values().forEach(item -> serializers.put(item.classType, item.jsonSerializer));
+        return Collections.unmodifiableMap(serializers);
+    }
+
+    /**
+     * 获取添加的自定义反序列化器
+     *
+     * @return key: 数据类型, value: 反序列化器
+     */
+    public Map<Class<?>, JsonDeserializer<?>> getCustomJsonDeserializers() {
+        Map<Class<?>, JsonDeserializer<?>> deserializers = new LinkedHashMap<>();
+        customerJsonDeserializerMap.values().forEach(item -> deserializers.put(item.classType, item.jsonDeserializer));
+        return Collections.unmodifiableMap(deserializers);
+    }
+
+    /**
+     * 获取 long/BigInteger 是否只有超出 JavaScript 安全整数范围的值才输出为字符串
+     *
+     * @return true: 安全范围内的值仍然输出为数字
+     */
+    public boolean isOnlyUnsafeLongAsString() {
+        return onlyUnsafeLongAsString;
+    }
+
     /**
      * 指定 localDateTime 默认的序列化和反序列化
      *
@@ -107,12 +257,12 @@ public class JacksonObjectMapperBuilderCustomizer {
         // 如果没有指定 LocalDateTime 的序列化器, 添加默认的
         if (!customerJsonSerializerMap.containsKey(LocalDateTime.class.getName())) {
             jacksonObjectMapperBuilder.serializerByType(
-                    LocalDateTime.class, new LocalDateTimeSerializer(dateTimeFormatter));
+                    LocalDateTime.class, new LocalDateTime2StringSerializer(dateTimeFormatter));
         }
         // 如果没有指定 LocalDateTime 的反序列化器, 添加默认的
         if (!customerJsonDeserializerMap.containsKey(LocalDateTime.class.getName())) {
             jacksonObjectMapperBuilder.deserializerByType(
-                    LocalDateTime.class, new LocalDateTimeDeserializer(dateTimeFormatter));
+                    LocalDateTime.class, new String2LocalDateTimeDeserializer(dateTimeFormatter));
         }
     }
 
@@ -126,10 +276,10 @@ public class JacksonObjectMapperBuilderCustomizer {
         // 指定 localDate 默认的序列化和反序列化格式
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(WebConstants.DATE_FORMAT);
         if (!customerJsonSerializerMap.containsKey(LocalDate.class.getName())) {
-            jacksonObjectMapperBuilder.serializerByType(LocalDate.class, new LocalDateSerializer(dateFormatter));
+            jacksonObjectMapperBuilder.serializerByType(LocalDate.class, new LocalDate2StringSerializer(dateFormatter));
         }
         if (!customerJsonDeserializerMap.containsKey(LocalDate.class.getName())) {
-            jacksonObjectMapperBuilder.deserializerByType(LocalDate.class, new LocalDateDeserializer(dateFormatter));
+            jacksonObjectMapperBuilder.deserializerByType(LocalDate.class, new String2LocalDateDeserializer(dateFormatter));
         }
     }
 
@@ -142,10 +292,18 @@ public class JacksonObjectMapperBuilderCustomizer {
 
         // long/bigInteger 直接转到前端存在丢精度问题, 这里转为序列化为字符串处理
         if (!customerJsonSerializerMap.containsKey(BigInteger.class.getName())) {
-            jacksonObjectMapperBuilder.serializerByType(BigInteger.class, ToStringSerializer.instance);
+            jacksonObjectMapperBuilder.serializerByType(BigInteger.class, new BigInteger2StringSerializer(onlyUnsafeLongAsString));
         }
         if (!customerJsonSerializerMap.containsKey(Long.class.getName())) {
-            jacksonObjectMapperBuilder.serializerByType(Long.class, ToStringSerializer.instance);
+            jacksonObjectMapperBuilder.serializerByType(Long.class, new Long2StringSerializer(Long.class, onlyUnsafeLongAsString));
+            jacksonObjectMapperBuilder.serializerByType(long.class, new Long2StringSerializer(long.class, onlyUnsafeLongAsString));
+            jacksonObjectMapperBuilder.serializerByType(long[].class, new LongArray2StringSerializer(onlyUnsafeLongAsString));
+            // Collection<Long> 需要按照泛型匹配, 通过模块注册
+            jacksonObjectMapperBuilder.postConfigurer(objectMapper ->
+                    objectMapper.registerModule(LongCollection2StringSerializer.module(onlyUnsafeLongAsString)));
+        }
+        if (!customerJsonSerializerMap.containsKey(AtomicLong.class.getName())) {
+            jacksonObjectMapperBuilder.serializerByType(AtomicLong.class, new Long2StringSerializer(AtomicLong.class, onlyUnsafeLongAsString));
         }
     }
 
@@ -0,0 +1,49 @@
+package io.github.lcn29.web.kit.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.json.fastjson.Fastjson2HttpMessageConverter;
+import io.github.lcn29.web.kit.response.EnvelopeHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+
+/**
+ * <pre>
+ * Http 请求和响应的 json 引擎
+ * 可以通过配置选择, 如: @Value("${lcn.web.kit.json.engine:jackson}") JsonEngine jsonEngine
+ *
+ * 两个引擎使用相同的规则: WebConstants 中的时间格式, Long/BigInteger 转为字符串, JacksonObjectMapperBuilderCustomizer 中添加的序列化器, Response 包装
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 21:20
+ */
+public enum JsonEngine {
+
+    /**
+     * Jackson, 使用 EnvelopeHttpMessageConverter
+     */
+    JACKSON {
+        @Override
+        public HttpMessageConverter<Object> createHttpMessageConverter(JacksonObjectMapperBuilderCustomizer customizer, ObjectMapper objectMapper) {
+            return new EnvelopeHttpMessageConverter(objectMapper);
+        }
+    },
+
+    /**
+     * fastjson2, 使用 Fastjson2HttpMessageConverter
+     */
+    FASTJSON2 {
+        @Override
+        public HttpMessageConverter<Object> createHttpMessageConverter(JacksonObjectMapperBuilderCustomizer customizer, ObjectMapper objectMapper) {
+            return new Fastjson2HttpMessageConverter(customizer, objectMapper);
+        }
+    };
+
+    /**
+     * 创建 json 的 HttpMessageConverter, 需要注册为 Bean
+     *
+     * @param customizer   自定义的序列化和反序列化配置
+     * @param objectMapper 通过 customizer 配置的 ObjectMapper
+     * @return HttpMessageConverter
+     */
+    public abstract HttpMessageConverter<Object> createHttpMessageConverter(JacksonObjectMapperBuilderCustomizer customizer, ObjectMapper objectMapper);
+}
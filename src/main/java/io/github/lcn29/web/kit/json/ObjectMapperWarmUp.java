@@ -0,0 +1,163 @@
+package io.github.lcn29.web.kit.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.github.lcn29.web.kit.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>
+ * ObjectMapper 预热, 在应用启动完成 (开始接收请求) 之前执行, 需要注册为 Bean
+ * 通过 JacksonObjectMapperBuilderCustomizer.generateObjectMapperWarmUp 创建
+ *
+ * 1. 扫描所有接口的返回类型和 @RequestBody 参数类型, 提前创建对应的序列化器和反序列化器
+ * 2. 执行指定轮数的序列化和反序列化, 覆盖 json 包中的时间转换器和 Long/BigInteger 的序列化, 使其提前被 JIT 编译
+ *
+ * 预热过程中的异常只输出日志, 不影响启动
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 22:20
+ */
+public class ObjectMapperWarmUp implements SmartInitializingSingleton {
+
+    private final static Logger logger = LoggerFactory.getLogger(ObjectMapperWarmUp.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Collection<RequestMappingHandlerMapping> handlerMappings;
+
+    private final int rounds;
+
+    /**
+     * @param objectMapper    需要预热的 ObjectMapper
+     * @param handlerMappings 接口的映射, 用于获取接口的返回类型和参数类型
+     * @param rounds          序列化和反序列化的轮数
+     */
+    public ObjectMapperWarmUp(ObjectMapper objectMapper, Collection<RequestMappingHandlerMapping> handlerMappings, int rounds) {
+        this.objectMapper = objectMapper;
+        this.handlerMappings = handlerMappings;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long startTime = System.currentTimeMillis();
+        int types = prefetchHandlerTypes();
+        syntheticRounds();
+        logger.info("ObjectMapper warm up finished, types:{}, rounds:{}, dur:{}", types, rounds, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 提前创建接口的返回类型和 @RequestBody 参数类型的序列化器和反序列化器
+     *
+     * @return 处理的类型数量
+     */
+    private int prefetchHandlerTypes() {
+
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        Set<Type> writeTypes = new HashSet<>();
+        Set<Type> readTypes = new HashSet<>();
+
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
+            for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+                writeTypes.add(bodyType(ResolvableType.forMethodReturnType(handlerMethod.getMethod())));
+                for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                    if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                        readTypes.add(bodyType(ResolvableType.forMethodParameter(parameter)));
+                    }
+                }
+            }
+        }
+
+        for (Type type : writeTypes) {
+            if (isSkipped(type)) {
+                continue;
+            }
+            try {
+                JavaType javaType = typeFactory.constructType(type);
+                objectMapper.writerFor(javaType);
+                objectMapper.writerFor(typeFactory.constructParametricType(Response.class, javaType));
+            } catch (Exception e) {
+                logger.debug("ObjectMapper warm up skip write type:{}, {}", type, e.getMessage());
+            }
+        }
+        for (Type type : readTypes) {
+            if (isSkipped(type)) {
+                continue;
+            }
+            try {
+                objectMapper.readerFor(typeFactory.constructType(type));
+            } catch (Exception e) {
+                logger.debug("ObjectMapper warm up skip read type:{}, {}", type, e.getMessage());
+            }
+        }
+        return writeTypes.size() + readTypes.size();
+    }
+
+    /**
+     * 执行序列化和反序列化
+     */
+    private void syntheticRounds() {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("id", Long.MAX_VALUE);
+        sample.put("amount", new BigInteger("123456789012345678901234567890"));
+        sample.put("createTime", LocalDateTime.of(2023, 3, 5, 17, 40, 0));
+        sample.put("birthday", LocalDate.of(2023, 3, 5));
+        sample.put("ids", Arrays.asList(1L, 2L, 3L));
+        Response<Map<String, Object>> response = new Response<>(200, "success", sample);
+        try {
+            String dateTimeJson = objectMapper.writeValueAsString(sample.get("createTime"));
+            String dateJson = objectMapper.writeValueAsString(sample.get("birthday"));
+            for (int i = 0; i < rounds; i++) {
+                objectMapper.writeValueAsBytes(response);
+                objectMapper.readValue(dateTimeJson, LocalDateTime.class);
+                objectMapper.readValue(dateJson, LocalDate.class);
+            }
+        } catch (Exception e) {
+            logger.warn("ObjectMapper warm up synthetic rounds error:{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取 HttpEntity (ResponseEntity) 中的 body 类型
+     */
+    private static Type bodyType(ResolvableType type) {
+        Class<?> rawClass = type.toClass();
+        if (HttpEntity.class.isAssignableFrom(rawClass)) {
+            return type.as(HttpEntity.class).getGeneric(0).getType();
+        }
+        return type.getType();
+    }
+
+    /**
+     * 不需要 json 序列化的类型
+     */
+    private static boolean isSkipped(Type type) {
+        if (!(type instanceof Class<?>)) {
+            return false;
+        }
+        Class<?> clazz = (Class<?>) type;
+        return clazz.isPrimitive() || clazz == Object.class || clazz == String.class || clazz == Void.class || clazz == byte[].class;
+    }
+}
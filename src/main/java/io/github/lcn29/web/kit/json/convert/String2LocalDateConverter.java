@@ -1,12 +1,11 @@
 package io.github.lcn29.web.kit.json.convert;
 
 import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.json.time.DateTimeTextParser;
+import io.github.lcn29.web.kit.json.time.ZoneEpochConverter;
 import org.springframework.core.convert.converter.Converter;
 
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -26,26 +25,40 @@ public class String2LocalDateConverter implements Converter<String, LocalDate> {
 
     @Override
     public LocalDate convert(String source) {
-        // 全都是数字, 尝试按照 long 进行处理
+        // 不超过 18 位的数字, 直接按照时间戳处理
+        if (DateTimeTextParser.isEpochMillis(source)) {
+            return long2LocalDate(DateTimeTextParser.parseEpochMillis(source));
+        }
+        // 格式固定的字符串, 直接解析
+        LocalDate value = DateTimeTextParser.parseLocalDate(source);
+        if (value != null) {
+            return value;
+        }
+        // 其他全是数字的字符串 (超过 18 位, 非 ASCII 的数字等), 尝试按照 long 进行处理
         if (isNumeric(source)) {
             return long2LocalDate(Long.parseLong(source));
         }
-        // 不全都是数字, 尝试进行解析
+        // 其他格式, 尝试进行解析
         return string2LocalDate(source);
     }
 
     /**
-     * 判断一个字符串是否为数字
+     * 判断字符串是否全部为数字
      *
      * @param str 需要判断的字符串
      * @return true: 是数字, false: 不是
      */
-    private Boolean isNumeric(String str) {
+    private boolean isNumeric(String str) {
 
         if (str == null || str.isEmpty()) {
             return false;
         }
-        return str.chars().allMatch(Character::isDigit);
+        for (int i = 0; i < str.length(); i++) {
+            if (!Character.isDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -55,7 +68,7 @@ public class String2LocalDateConverter implements Converter<String, LocalDate> {
      * @return localDate
      */
     private LocalDate long2LocalDate(long longTime) {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(longTime), ZoneId.systemDefault()).toLocalDate();
+        return ZoneEpochConverter.systemDefault().toLocalDate(longTime);
     }
 
     /**
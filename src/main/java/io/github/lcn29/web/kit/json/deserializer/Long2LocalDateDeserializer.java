@@ -4,12 +4,10 @@ import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import io.github.lcn29.web.kit.json.time.ZoneEpochConverter;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /**
  * <pre>
@@ -35,7 +33,7 @@ public class Long2LocalDateDeserializer extends JsonDeserializer<LocalDate> {
      * @param longTime long 时间
      * @return localDate
      */
-    private LocalDate long2LocalDate(Long longTime) {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(longTime), ZoneId.systemDefault()).toLocalDate();
+    private LocalDate long2LocalDate(long longTime) {
+        return ZoneEpochConverter.systemDefault().toLocalDate(longTime);
     }
 }
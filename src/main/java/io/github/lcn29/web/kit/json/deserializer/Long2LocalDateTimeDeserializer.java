@@ -4,11 +4,10 @@ import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import io.github.lcn29.web.kit.json.time.ZoneEpochConverter;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /**
  * <pre>
@@ -34,7 +33,7 @@ public class Long2LocalDateTimeDeserializer extends JsonDeserializer<LocalDateTi
      * @param longTime long 时间
      * @return localDateTime
      */
-    private LocalDateTime long2LocalDateTime(Long longTime) {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(longTime), ZoneId.systemDefault());
+    private LocalDateTime long2LocalDateTime(long longTime) {
+        return ZoneEpochConverter.systemDefault().toLocalDateTime(longTime);
     }
 }
@@ -0,0 +1,68 @@
+package io.github.lcn29.web.kit.json.deserializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import io.github.lcn29.web.kit.json.time.DateTimeTextParser;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <pre>
+ * 反序列化器: 将 yyyy-MM-dd 格式的字符串转为 localDate
+ * 直接读取 JsonParser 中的字符数组进行解析, 不创建中间的字符串
+ * 格式不匹配的值, 以及通过 @JsonFormat 指定了格式的属性, 交由 jackson 的 LocalDateDeserializer 处理
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 14:10
+ */
+public class String2LocalDateDeserializer extends JsonDeserializer<LocalDate> implements ContextualDeserializer {
+
+    /**
+     * 兜底的反序列化器
+     */
+    private final LocalDateDeserializer delegate;
+
+    public String2LocalDateDeserializer(DateTimeFormatter dateFormatter) {
+        this.delegate = new LocalDateDeserializer(dateFormatter);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser jsonParser, DeserializationContext ctxt) throws IOException {
+        if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            LocalDate localDate = DateTimeTextParser.parseLocalDate(
+                    jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+            if (localDate != null) {
+                return localDate;
+            }
+        }
+        return delegate.deserialize(jsonParser, ctxt);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        // jackson 的 createContextual 总是返回新的实例, 需要自己判断属性或者全局配置中有没有格式相关的配置
+        JsonFormat.Value format = property != null
+                ? property.findPropertyFormat(ctxt.getConfig(), handledType())
+                : ctxt.getDefaultPropertyFormat(handledType());
+        if (format == null || !(format.hasPattern() || format.hasShape() || format.hasLocale()
+                || format.hasTimeZone() || format.getLenient() != null)) {
+            return this;
+        }
+        return delegate.createContextual(ctxt, property);
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return LocalDate.class;
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.lcn29.web.kit.json.fastjson;
+
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.json.JacksonObjectMapperBuilderCustomizer;
+import io.github.lcn29.web.kit.response.Response;
+import io.github.lcn29.web.kit.response.StreamingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * <pre>
+ * 基于 fastjson2 的 json 输出转换器, 需要注册为 HttpMessageConverter 的 Bean, 或者通过 JsonEngine.FASTJSON2 创建
+ *
+ * 输出和 JacksonObjectMapperBuilderCustomizer 配置的 Jackson 使用相同的规则:
+ * 1. LocalDateTime/LocalDate 按照 WebConstants 中的格式输出
+ * 2. long/Long/long[]/AtomicLong/BigInteger 输出为字符串, null 值的属性同样输出
+ * 3. Response 按照 statusCode, message, content 的顺序输出
+ * 4. customizer 中添加的自定义序列化器, 以及其他的时间类型 (Date, Instant 等), 通过 Jackson 的 ObjectMapper 处理对应的类型
+ * 5. StreamingResponse 和 MappingJacksonValue 直接交由 Jackson 输出
+ * 6. byte[] 输出为 base64 字符串, Map 中非字符串的 key 输出为字符串, NaN 和 Infinity 输出为带引号的字符串
+ *
+ * fastjson2 不识别 Jackson 的注解 (@JsonProperty, @JsonIgnore, @JsonFormat 等), 只输出和 Jackson 一致的类型 (见 JacksonCompatibility):
+ * 1. 响应的类型 (包括泛型参数) 带有 Jackson 的注解或者 mixin 时, 不支持, 交由后续的 Jackson 转换器处理
+ * 2. 嵌套的普通对象按照 Jackson 实际输出的属性名, 顺序和 getter/字段创建 fastjson2 的序列化器,
+ *    无法保持一致的对象 (带有注解, 自定义的序列化器, null 值不输出等) 交由 Jackson 输出
+ * fastjson2 中原始类型 long 的属性无法按值处理, customizer 开启 onlyUnsafeLongAsString 时全部交由 Jackson 输出
+ *
+ * 请求体的解析使用 Jackson 的 ObjectMapper: fastjson2 接受单引号, 末尾的逗号, 单个值转为集合, true 转为数字等 Jackson 拒绝的输入,
+ * 并且没有关闭的配置
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 21:50
+ */
+public class Fastjson2HttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final static Logger logger = LoggerFactory.getLogger(Fastjson2HttpMessageConverter.class);
+
+    /**
+     * 输出的配置, null 值的属性同样输出, 和 Jackson 默认的 JsonInclude.Include.ALWAYS 一致,
+     * Map 的 key 和 Jackson 一样总是输出为字符串
+     */
+    private final static JSONWriter.Feature[] WRITER_FEATURES = {
+            JSONWriter.Feature.WriteNulls, JSONWriter.Feature.WriteByteArrayAsBase64, JSONWriter.Feature.WriteNonStringKeyAsString};
+
+    /**
+     * 在 WRITER_FEATURES 的基础上, long 直接在输出缓冲区中写为带引号的数字, 包括原始类型的属性和数组
+     */
+    private final static JSONWriter.Feature[] LONG_AS_STRING_WRITER_FEATURES = {
+            JSONWriter.Feature.WriteNulls, JSONWriter.Feature.WriteByteArrayAsBase64, JSONWriter.Feature.WriteNonStringKeyAsString,
+            JSONWriter.Feature.WriteLongAsString};
+
+    private final ObjectMapper objectMapper;
+
+    private final JacksonCompatibility compatibility;
+
+    private final ObjectWriterProvider writerProvider = new ObjectWriterProvider();
+
+    private final JSONWriter.Feature[] writerFeatures;
+
+    /**
+     * 是否全部交由 Jackson 输出, customizer 开启 onlyUnsafeLongAsString 时 fastjson2 无法保持一致
+     */
+    private final boolean jacksonOnly;
+
+    /**
+     * @param customizer   自定义的序列化和反序列化配置
+     * @param objectMapper 通过 customizer 配置的 ObjectMapper, 用于自定义的序列化器, 流式输出和请求体的解析
+     */
+    public Fastjson2HttpMessageConverter(JacksonObjectMapperBuilderCustomizer customizer, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.compatibility = new JacksonCompatibility(objectMapper);
+        this.jacksonOnly = customizer.isOnlyUnsafeLongAsString();
+        if (jacksonOnly) {
+            logger.warn("Fastjson2HttpMessageConverter can not write only unsafe long as string, all responses are written by Jackson");
+        }
+
+        Map<Class<?>, JsonSerializer<?>> serializers = customizer.getCustomJsonSerializers();
+
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(WebConstants.DATE_TIME_FORMAT);
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(WebConstants.DATE_FORMAT);
+
+        writerProvider.register(Response.class, new Fastjson2Writers.ResponseWriter());
+        if (!serializers.containsKey(LocalDateTime.class)) {
+            writerProvider.register(LocalDateTime.class, new Fastjson2Writers.LocalDateTimeWriter(dateTimeFormatter));
+        }
+        if (!serializers.containsKey(LocalDate.class)) {
+            writerProvider.register(LocalDate.class, new Fastjson2Writers.LocalDateWriter(dateFormatter));
+        }
+        // 自定义了 Long 的序列化器时, 和 Jackson 一样保持 long 的默认输出
+        writerFeatures = serializers.containsKey(Long.class) ? WRITER_FEATURES : LONG_AS_STRING_WRITER_FEATURES;
+        if (!serializers.containsKey(BigInteger.class)) {
+            writerProvider.register(BigInteger.class, new Fastjson2Writers.BigIntegerWriter());
+        }
+        if (!serializers.containsKey(Double.class)) {
+            writerProvider.register(Double.class, new Fastjson2Writers.DoubleWriter());
+        }
+        if (!serializers.containsKey(Float.class)) {
+            writerProvider.register(Float.class, new Fastjson2Writers.FloatWriter());
+        }
+        Fastjson2Writers.JacksonBridgeWriter bridgeWriter = new Fastjson2Writers.JacksonBridgeWriter(objectMapper);
+        serializers.keySet().forEach(type -> writerProvider.register(type, bridgeWriter));
+        // Date 等时间类型的输出依赖 ObjectMapper 的配置 (WRITE_DATES_AS_TIMESTAMPS, 时区等), 和 Jackson 不一致的对象, 同样交由 Jackson 处理
+        writerProvider.register(new Fastjson2Modules.JacksonCompatibleWriterModule(compatibility, objectMapper, bridgeWriter, serializers.keySet()));
+    }
+
+    /**
+     * 带有 Jackson 的注解或者 mixin 的类型不支持输出, 交由后续的 Jackson 转换器处理
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return !compatibility.isJacksonConfigured(clazz);
+    }
+
+    /**
+     * 解析由 Jackson 处理, 所有的类型都支持
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return canRead(mediaType);
+    }
+
+    /**
+     * type 为接口声明的返回类型, clazz 为实际的返回值类型, 两者都需要判断
+     */
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(clazz, mediaType) && (type == null || !compatibility.isJacksonConfigured(type));
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+        return readType(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+        return readType(clazz, inputMessage);
+    }
+
+    /**
+     * 通过 Jackson 解析, 异常的处理和 MappingJackson2HttpMessageConverter 一致
+     */
+    private Object readType(Type type, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return objectMapper.readValue(inputMessage.getBody(), objectMapper.constructType(type));
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+
+        // 流式输出和带有 JsonView/FilterProvider 的结果交由 Jackson 处理
+        if (jacksonOnly || object instanceof StreamingResponse || object instanceof MappingJacksonValue) {
+            writeWithJackson(object, outputMessage);
+            return;
+        }
+
+        try (JSONWriter jsonWriter = JSONWriter.ofUTF8(new JSONWriter.Context(writerProvider, writerFeatures))) {
+            if (object == null) {
+                jsonWriter.writeNull();
+            } else {
+                jsonWriter.writeAny(object);
+            }
+            outputMessage.getHeaders().setContentLength(jsonWriter.size());
+            jsonWriter.flushTo(outputMessage.getBody());
+        } catch (JSONException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 通过 Jackson 输出
+     *
+     * @param object        输出的对象
+     * @param outputMessage 输出
+     * @throws IOException 输出异常
+     */
+    private void writeWithJackson(Object object, HttpOutputMessage outputMessage) throws IOException {
+        Object value = object;
+        ObjectWriter objectWriter = objectMapper.writer();
+        if (object instanceof MappingJacksonValue) {
+            MappingJacksonValue container = (MappingJacksonValue) object;
+            value = container.getValue();
+            if (container.getSerializationView() != null) {
+                objectWriter = objectMapper.writerWithView(container.getSerializationView());
+            }
+            if (container.getFilters() != null) {
+                objectWriter = objectWriter.with(container.getFilters());
+            }
+        }
+        objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputMessage.getBody(), value);
+    }
+}
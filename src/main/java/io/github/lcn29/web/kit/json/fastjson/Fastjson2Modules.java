@@ -0,0 +1,187 @@
+package io.github.lcn29.web.kit.json.fastjson;
+
+import com.alibaba.fastjson2.codec.BeanInfo;
+import com.alibaba.fastjson2.codec.FieldInfo;
+import com.alibaba.fastjson2.modules.ObjectWriterAnnotationProcessor;
+import com.alibaba.fastjson2.modules.ObjectWriterModule;
+import com.alibaba.fastjson2.writer.FieldWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * fastjson2 的模块, 保证 fastjson2 创建的序列化器和 Jackson 的输出一致
+ *
+ * 普通的 bean 按照 Jackson 实际处理的属性 (属性名, 输出顺序, 使用的 getter/字段) 创建,
+ * 创建后的属性和 Jackson 不一致, 或者类型有 Jackson 的注解/mixin 时, 交由 Jackson 处理
+ * 时间类型 (LocalDateTime/LocalDate 除外) 和带有 Jackson 配置的枚举同样交由 Jackson 处理
+ * fastjson2 对时间, BigInteger, 浮点数, 枚举等类型的属性使用内置的处理, 这些属性以及自定义了序列化器的属性改为使用 provider 中的处理
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 12:30
+ */
+final class Fastjson2Modules {
+
+    private Fastjson2Modules() {
+    }
+
+    /**
+     * 序列化的模块
+     */
+    @SuppressWarnings("rawtypes")
+    static class JacksonCompatibleWriterModule implements ObjectWriterModule, ObjectWriterAnnotationProcessor {
+
+        private final JacksonCompatibility compatibility;
+
+        private final ObjectWriter<?> bridgeWriter;
+
+        /**
+         * 自定义了序列化器的类型
+         */
+        private final Set<Class<?>> customTypes;
+
+        /**
+         * 枚举是否按照 toString/序号输出
+         */
+        private final boolean customEnumFormat;
+
+        /**
+         * Jackson 输出的属性, 创建 fastjson2 的序列化器时使用
+         */
+        private final Map<Class<?>, JacksonCompatibility.BeanProperties> beanProperties = new ConcurrentHashMap<>();
+
+        /**
+         * 有无法通过 writeUsing 输出的属性的类型, 交由 Jackson 处理
+         */
+        private final Set<Class<?>> unsupportedTypes = ConcurrentHashMap.newKeySet();
+
+        private ObjectWriterProvider provider;
+
+        JacksonCompatibleWriterModule(JacksonCompatibility compatibility, ObjectMapper objectMapper, ObjectWriter<?> bridgeWriter,
+                                      Set<Class<?>> customTypes) {
+            this.compatibility = compatibility;
+            this.bridgeWriter = bridgeWriter;
+            this.customTypes = customTypes;
+            this.customEnumFormat = objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                    || objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        }
+
+        @Override
+        public void init(ObjectWriterProvider provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public ObjectWriterProvider getProvider() {
+            return provider;
+        }
+
+        @Override
+        public ObjectWriterAnnotationProcessor getAnnotationProcessor() {
+            return this;
+        }
+
+        @Override
+        public ObjectWriter<?> getObjectWriter(Type objectType, Class objectClass) {
+            if (objectClass == null) {
+                return null;
+            }
+            if (JacksonCompatibility.isDateTime(objectClass)) {
+                return bridgeWriter;
+            }
+            if (Enum.class.isAssignableFrom(objectClass)) {
+                return customEnumFormat || compatibility.isJacksonConfigured(objectClass) ? bridgeWriter : null;
+            }
+            if (!JacksonCompatibility.isBean(objectClass) || provider == null) {
+                return null;
+            }
+            if (compatibility.isJacksonConfigured(objectClass)) {
+                return bridgeWriter;
+            }
+            JacksonCompatibility.BeanProperties properties = compatibility.findSerializedProperties(objectClass);
+            if (properties == null) {
+                return bridgeWriter;
+            }
+            beanProperties.put(objectClass, properties);
+            ObjectWriter<?> objectWriter = provider.getCreator().createObjectWriter(objectClass, 0, provider);
+            return !unsupportedTypes.contains(objectClass) && sameProperties(objectWriter.getFieldWriters(), properties.names())
+                    ? objectWriter : bridgeWriter;
+        }
+
+        @Override
+        public void getFieldInfo(BeanInfo beanInfo, FieldInfo fieldInfo, Class objectClass, Field field) {
+            applyProperty(fieldInfo, objectClass, field);
+        }
+
+        @Override
+        public void getFieldInfo(BeanInfo beanInfo, FieldInfo fieldInfo, Class objectClass, Method method) {
+            applyProperty(fieldInfo, objectClass, method);
+        }
+
+        /**
+         * 使用 Jackson 的属性名和顺序, Jackson 没有使用的 getter/字段不输出
+         */
+        private void applyProperty(FieldInfo fieldInfo, Class<?> objectClass, Member member) {
+            JacksonCompatibility.BeanProperties properties = beanProperties.get(objectClass);
+            if (properties == null) {
+                return;
+            }
+            Integer index = properties.indexOf(member);
+            if (index == null) {
+                fieldInfo.ignore = true;
+                return;
+            }
+            fieldInfo.fieldName = properties.names().get(index);
+            fieldInfo.ordinal = index;
+            Class<?> propertyType = member instanceof Field ? ((Field) member).getType() : ((Method) member).getReturnType();
+            if (!usesProvider(propertyType, customTypes)) {
+                return;
+            }
+            // writeUsing 的属性按照对象读取, 原始类型的字段 (getter 会装箱) 无法读取
+            if (member instanceof Field && propertyType.isPrimitive()) {
+                unsupportedTypes.add(objectClass);
+                return;
+            }
+            fieldInfo.writeUsing = Fastjson2Writers.ProviderWriter.class;
+        }
+
+        private static boolean sameProperties(List<FieldWriter> fieldWriters, List<String> names) {
+            if (fieldWriters.size() != names.size()) {
+                return false;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                if (!names.get(i).equals(fieldWriters.get(i).fieldName)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 判断属性是否需要使用 provider 中的序列化器
+     * fastjson2 对这些类型的属性使用内置的处理, 不会使用 provider 中注册的序列化器和模块
+     *
+     * @param propertyType 属性的类型
+     * @param customTypes  自定义了序列化器的类型
+     * @return true: 需要
+     */
+    private static boolean usesProvider(Class<?> propertyType, Set<Class<?>> customTypes) {
+        return JacksonCompatibility.isDateTime(propertyType) || propertyType == BigInteger.class
+                || propertyType == double.class || propertyType == Double.class || propertyType == float.class || propertyType == Float.class
+                || propertyType.isEnum() || customTypes.contains(propertyType);
+    }
+}
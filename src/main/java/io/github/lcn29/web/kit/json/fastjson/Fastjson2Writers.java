@@ -0,0 +1,222 @@
+package io.github.lcn29.web.kit.json.fastjson;
+
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.response.Response;
+
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <pre>
+ * fastjson2 的序列化器, 输出和 JacksonObjectMapperBuilderCustomizer 配置的 Jackson 一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 21:30
+ */
+final class Fastjson2Writers {
+
+    private final static String STATUS_CODE_FIELD = "statusCode";
+
+    private final static String MESSAGE_FIELD = "message";
+
+    private final static String CONTENT_FIELD = "content";
+
+    private Fastjson2Writers() {
+    }
+
+    /**
+     * Response 按照 statusCode, message, content 的顺序输出, 和 Jackson 的属性顺序一致
+     * (fastjson2 默认按照属性名排序)
+     */
+    static class ResponseWriter implements ObjectWriter<Response<?>> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            Response<?> response = (Response<?>) object;
+            jsonWriter.startObject();
+            jsonWriter.writeName(STATUS_CODE_FIELD);
+            jsonWriter.writeColon();
+            jsonWriter.writeInt32(response.getStatusCode());
+            jsonWriter.writeName(MESSAGE_FIELD);
+            jsonWriter.writeColon();
+            jsonWriter.writeString(response.getMessage());
+            jsonWriter.writeName(CONTENT_FIELD);
+            jsonWriter.writeColon();
+            Object content = response.getContent();
+            if (content == null) {
+                jsonWriter.writeNull();
+            } else {
+                jsonWriter.writeAny(content);
+            }
+            jsonWriter.endObject();
+        }
+    }
+
+    /**
+     * LocalDateTime 按照 WebConstants.DATE_TIME_FORMAT 输出
+     */
+    static class LocalDateTimeWriter implements ObjectWriter<LocalDateTime> {
+
+        private final DateTimeFormatter dateTimeFormatter;
+
+        LocalDateTimeWriter(DateTimeFormatter dateTimeFormatter) {
+            this.dateTimeFormatter = dateTimeFormatter;
+        }
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            LocalDateTime value = (LocalDateTime) object;
+            if (isFourDigitYear(value.getYear())) {
+                jsonWriter.writeDateTime19(value.getYear(), value.getMonthValue(), value.getDayOfMonth(),
+                        value.getHour(), value.getMinute(), value.getSecond());
+            } else {
+                jsonWriter.writeString(dateTimeFormatter.format(value));
+            }
+        }
+    }
+
+    /**
+     * LocalDate 按照 WebConstants.DATE_FORMAT 输出
+     */
+    static class LocalDateWriter implements ObjectWriter<LocalDate> {
+
+        private final DateTimeFormatter dateFormatter;
+
+        LocalDateWriter(DateTimeFormatter dateFormatter) {
+            this.dateFormatter = dateFormatter;
+        }
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            LocalDate value = (LocalDate) object;
+            if (isFourDigitYear(value.getYear())) {
+                jsonWriter.writeDateYYYMMDD10(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+            } else {
+                jsonWriter.writeString(dateFormatter.format(value));
+            }
+        }
+    }
+
+    /**
+     * BigInteger 输出为字符串, 直接写出带引号的数字, 不依赖 WriteLongAsString (自定义了 Long 的序列化器时不开启)
+     */
+    static class BigIntegerWriter implements ObjectWriter<BigInteger> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            jsonWriter.writeString(object.toString());
+        }
+    }
+
+    /**
+     * Double 和 Jackson 一样按照 Double.toString 输出, NaN 和 Infinity 输出为带引号的字符串 (fastjson2 默认输出 null)
+     */
+    static class DoubleWriter implements ObjectWriter<Double> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            double value = (Double) object;
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                jsonWriter.writeString(Double.toString(value));
+            } else {
+                jsonWriter.writeRaw(Double.toString(value));
+            }
+        }
+    }
+
+    /**
+     * Float 和 Jackson 一样按照 Float.toString 输出, NaN 和 Infinity 输出为带引号的字符串
+     */
+    static class FloatWriter implements ObjectWriter<Float> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            float value = (Float) object;
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                jsonWriter.writeString(Float.toString(value));
+            } else {
+                jsonWriter.writeRaw(Float.toString(value));
+            }
+        }
+    }
+
+    /**
+     * 通过 Jackson 的 ObjectMapper 输出, 用于 JacksonObjectMapperBuilderCustomizer 中添加的自定义序列化器
+     */
+    static class JacksonBridgeWriter implements ObjectWriter<Object> {
+
+        private final ObjectMapper objectMapper;
+
+        JacksonBridgeWriter(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            try {
+                jsonWriter.writeRaw(objectMapper.writeValueAsString(object));
+            } catch (JsonProcessingException e) {
+                throw new JSONException("jackson serialize error, type " + object.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 按照属性值的实际类型从 JSONWriter 的 provider 中获取序列化器输出, 用于 Jackson 兼容模块中属性的 writeUsing
+     * fastjson2 对 Date, BigInteger, 枚举等类型的属性使用内置的输出, 不会使用 provider 中注册的序列化器
+     */
+    static class ProviderWriter implements ObjectWriter<Object> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            jsonWriter.getObjectWriter(object.getClass()).write(jsonWriter, object, fieldName, fieldType, features);
+        }
+    }
+
+    /**
+     * 年份为 4 位数时可以直接输出, 否则交由 DateTimeFormatter 处理 (如 +10000)
+     */
+    private static boolean isFourDigitYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+}
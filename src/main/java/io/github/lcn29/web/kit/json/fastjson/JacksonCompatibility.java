@@ -0,0 +1,285 @@
+package io.github.lcn29.web.kit.json.fastjson;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 判断类型在 fastjson2 和 Jackson 中的处理是否一致
+ *
+ * 1. 类型, 父类, 接口以及其中的字段, 方法, 构造函数上有 Jackson 的注解 (包括通过 @JacksonAnnotationsInside 组合的注解),
+ *    或者在 ObjectMapper 中配置了 mixin 的类型, 认为不一致
+ * 2. 普通的 bean 只有 Jackson 使用默认的 BeanSerializer 时, 才能获取到 Jackson 实际输出的属性,
+ *    用于按照相同的属性名, 顺序和 getter/字段创建 fastjson2 的序列化器
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 12:10
+ */
+final class JacksonCompatibility {
+
+    /**
+     * JDK 中的类型, 没有 Jackson 的注解
+     */
+    private final static String JDK_PACKAGE_PREFIX = "java.";
+
+    /**
+     * 时间类型的包名
+     */
+    private final static String TIME_PACKAGE_PREFIX = "java.time.";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 类型是否有 Jackson 的注解或者 mixin, key: 类型, value: true 有
+     */
+    private final Map<Class<?>, Boolean> configuredTypes = new ConcurrentHashMap<>();
+
+    JacksonCompatibility(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 判断类型或者泛型参数中是否有 Jackson 的注解或者 mixin
+     *
+     * @param type 类型
+     * @return true: 有, fastjson2 的处理和 Jackson 不一致
+     */
+    boolean isJacksonConfigured(Type type) {
+        if (type instanceof Class) {
+            return isJacksonConfigured((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (isJacksonConfigured(parameterizedType.getRawType())) {
+                return true;
+            }
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                if (isJacksonConfigured(argument)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (type instanceof GenericArrayType) {
+            return isJacksonConfigured(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof WildcardType) {
+            for (Type upperBound : ((WildcardType) type).getUpperBounds()) {
+                if (isJacksonConfigured(upperBound)) {
+                    return true;
+                }
+            }
+        }
+        // 类型变量在运行时才能确定, 由 fastjson2 的模块按照实际的类型判断
+        return false;
+    }
+
+    /**
+     * 判断类型是否有 Jackson 的注解或者 mixin
+     *
+     * @param clazz 类型
+     * @return true: 有
+     */
+    boolean isJacksonConfigured(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz.isPrimitive() || clazz.getName().startsWith(JDK_PACKAGE_PREFIX)) {
+            return false;
+        }
+        Boolean configured = configuredTypes.get(clazz);
+        if (configured == null) {
+            configured = hasJacksonConfig(clazz);
+            configuredTypes.put(clazz, configured);
+        }
+        return configured;
+    }
+
+    /**
+     * 判断是否为需要按照 Jackson 的属性处理的普通 bean
+     * 数组, 集合, Map, 枚举, 数值, 字符串, 时间以及 JDK 中的类型由 fastjson2 和 Jackson 各自的内置规则处理
+     *
+     * @param clazz 类型
+     * @return true: 普通的 bean
+     */
+    static boolean isBean(Class<?> clazz) {
+        return !clazz.isArray() && !clazz.isPrimitive() && !clazz.isInterface()
+                && !clazz.getName().startsWith(JDK_PACKAGE_PREFIX)
+                && !Enum.class.isAssignableFrom(clazz)
+                && !Iterable.class.isAssignableFrom(clazz)
+                && !Map.class.isAssignableFrom(clazz)
+                && !CharSequence.class.isAssignableFrom(clazz)
+                && !Number.class.isAssignableFrom(clazz)
+                && !isDateTime(clazz);
+    }
+
+    /**
+     * 判断是否为时间类型, fastjson2 和 Jackson 的默认格式不同 (时区, 毫秒, 时间戳等)
+     *
+     * @param clazz 类型
+     * @return true: 时间类型
+     */
+    static boolean isDateTime(Class<?> clazz) {
+        return clazz.getName().startsWith(TIME_PACKAGE_PREFIX)
+                || Date.class.isAssignableFrom(clazz)
+                || Calendar.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * 获取 Jackson 输出的属性
+     *
+     * @param clazz 类型
+     * @return 属性, Jackson 没有使用默认的 BeanSerializer 或者属性有自定义的处理 (如 null 值不输出) 时返回 null
+     */
+    BeanProperties findSerializedProperties(Class<?> clazz) {
+
+        JsonSerializer<Object> serializer;
+        try {
+            serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(clazz);
+        } catch (JsonMappingException e) {
+            return null;
+        }
+        if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId()) {
+            return null;
+        }
+
+        BeanProperties properties = new BeanProperties();
+        Iterator<PropertyWriter> iterator = serializer.properties();
+        while (iterator.hasNext()) {
+            PropertyWriter property = iterator.next();
+            if (!(property instanceof BeanPropertyWriter) || property.getMember() == null) {
+                return null;
+            }
+            if (((BeanPropertyWriter) property).willSuppressNulls()) {
+                return null;
+            }
+            properties.add(property.getName(), property.getMember().getMember());
+        }
+        return properties;
+    }
+
+    private boolean hasJacksonConfig(Class<?> clazz) {
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (objectMapper.findMixInClassFor(type) != null || hasJacksonAnnotation(type)) {
+                return true;
+            }
+            for (Field field : type.getDeclaredFields()) {
+                if (hasJacksonAnnotation(field)) {
+                    return true;
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (hasJacksonAnnotation(method) || hasJacksonAnnotation(method.getParameterAnnotations())) {
+                    return true;
+                }
+            }
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (hasJacksonAnnotation(constructor) || hasJacksonAnnotation(constructor.getParameterAnnotations())) {
+                    return true;
+                }
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                if (isJacksonConfigured(anInterface)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJacksonAnnotation(AnnotatedElement element) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (isJacksonAnnotation(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJacksonAnnotation(Annotation[][] parameterAnnotations) {
+        for (Annotation[] annotations : parameterAnnotations) {
+            for (Annotation annotation : annotations) {
+                if (isJacksonAnnotation(annotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Jackson 的注解都带有 @JacksonAnnotation, 组合注解带有 @JacksonAnnotationsInside
+     */
+    private static boolean isJacksonAnnotation(Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        return annotationType.isAnnotationPresent(JacksonAnnotation.class)
+                || annotationType.isAnnotationPresent(JacksonAnnotationsInside.class);
+    }
+
+    /**
+     * Jackson 实际处理的属性, 按照 Jackson 输出的顺序
+     */
+    static class BeanProperties {
+
+        /**
+         * 属性名
+         */
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * key: 属性的 getter 或者字段, value: 属性在 names 中的位置
+         */
+        private final Map<Member, Integer> indexes = new HashMap<>();
+
+        private void add(String name, Member member) {
+            indexes.put(member, names.size());
+            names.add(name);
+        }
+
+        /**
+         * 获取属性名
+         *
+         * @return 属性名, 按照 Jackson 输出的顺序
+         */
+        List<String> names() {
+            return Collections.unmodifiableList(names);
+        }
+
+        /**
+         * 获取 getter 或者字段在 Jackson 中的属性位置
+         *
+         * @param member getter 或者字段
+         * @return 位置, Jackson 没有使用时返回 null
+         */
+        Integer indexOf(Member member) {
+            return indexes.get(member);
+        }
+    }
+}
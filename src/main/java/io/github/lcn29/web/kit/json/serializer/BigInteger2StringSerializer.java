@@ -0,0 +1,46 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * <pre>
+ * 序列化器: 将 BigInteger 序列化为字符串, 规则和 Long2StringSerializer 一致
+ * 在 long 范围内的值按照 long 输出, 不创建中间的字符串
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:10
+ */
+public class BigInteger2StringSerializer extends StdScalarSerializer<BigInteger> {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * long 的位数, bitLength 小于这个值时可以转为 long
+     */
+    private final static int LONG_BIT_LENGTH = 64;
+
+    private final boolean onlyUnsafe;
+
+    /**
+     * @param onlyUnsafe true: 只有超出安全整数范围的值输出为字符串
+     */
+    public BigInteger2StringSerializer(boolean onlyUnsafe) {
+        super(BigInteger.class);
+        this.onlyUnsafe = onlyUnsafe;
+    }
+
+    @Override
+    public void serialize(BigInteger value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value.bitLength() < LONG_BIT_LENGTH) {
+            LongTextWriter.write(value.longValue(), onlyUnsafe, gen);
+            return;
+        }
+        gen.writeString(value.toString());
+    }
+}
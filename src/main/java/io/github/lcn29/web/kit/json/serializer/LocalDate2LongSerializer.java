@@ -3,10 +3,10 @@ package io.github.lcn29.web.kit.json.serializer;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import io.github.lcn29.web.kit.json.time.ZoneEpochConverter;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.ZoneId;
 
 /**
  * <pre>
@@ -32,7 +32,7 @@ public class LocalDate2LongSerializer extends JsonSerializer<LocalDate> {
      * @param localDate localDate  时间
      * @return 转换后的 long 类型时间戳
      */
-    private Long localDate2Long(LocalDate localDate) {
-        return localDate.atStartOfDay().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private long localDate2Long(LocalDate localDate) {
+        return ZoneEpochConverter.systemDefault().toEpochMilli(localDate);
     }
 }
@@ -3,10 +3,10 @@ package io.github.lcn29.web.kit.json.serializer;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import io.github.lcn29.web.kit.json.time.ZoneEpochConverter;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /**
  * <pre>
@@ -31,7 +31,7 @@ public class LocalDateTime2LongSerializer extends JsonSerializer<LocalDateTime>
      * @param localDateTime localDateTime 时间
      * @return 转换后的 long 类型时间戳
      */
-    private Long localDateTime2Long(LocalDateTime localDateTime) {
-        return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private long localDateTime2Long(LocalDateTime localDateTime) {
+        return ZoneEpochConverter.systemDefault().toEpochMilli(localDateTime);
     }
 }
@@ -0,0 +1,69 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import io.github.lcn29.web.kit.json.time.DateTimeTextFormatter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <pre>
+ * 序列化器: 将 LocalDateTime 序列化为 yyyy-MM-dd HH:mm:ss 格式的字符串
+ * 直接写入线程内复用的字符数组, 再通过 JsonGenerator.writeString(char[], int, int) 输出, 不创建中间的字符串
+ * 年份超出 1 ~ 9999 的值, 以及通过 @JsonFormat 指定了格式的属性, 交由 jackson 的 LocalDateTimeSerializer 处理
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 15:30
+ */
+public class LocalDateTime2StringSerializer extends StdScalarSerializer<LocalDateTime> implements ContextualSerializer {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * 格式化使用的字符数组, JsonGenerator.writeString 会立即复制内容, 可以在线程内复用
+     */
+    private final static ThreadLocal<char[]> CHAR_BUFFER =
+            ThreadLocal.withInitial(() -> new char[DateTimeTextFormatter.DATE_TIME_LENGTH]);
+
+    /**
+     * 兜底的序列化器
+     */
+    private final LocalDateTimeSerializer delegate;
+
+    public LocalDateTime2StringSerializer(DateTimeFormatter dateTimeFormatter) {
+        super(LocalDateTime.class);
+        this.delegate = new LocalDateTimeSerializer(dateTimeFormatter);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = CHAR_BUFFER.get();
+        int length = DateTimeTextFormatter.formatLocalDateTime(value, buffer, 0);
+        if (length < 0) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        // jackson 的 createContextual 总是返回新的实例, 需要自己判断属性或者全局配置中有没有格式相关的配置
+        JsonFormat.Value format = findFormatOverrides(prov, property, handledType());
+        if (format == null || !(format.hasPattern() || format.hasShape() || format.hasLocale()
+                || format.hasTimeZone() || format.getLenient() != null)) {
+            return this;
+        }
+        return delegate.createContextual(prov, property);
+    }
+}
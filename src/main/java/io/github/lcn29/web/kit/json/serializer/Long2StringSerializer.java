@@ -0,0 +1,38 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+
+/**
+ * <pre>
+ * 序列化器: 将 long/Long/AtomicLong 序列化为字符串, 避免前端 JavaScript 丢失精度
+ * 数字直接写入线程内复用的字符数组, 不创建中间的字符串
+ * onlyUnsafe 为 true 时, 只有超出 JavaScript 安全整数范围的值输出为字符串
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:10
+ */
+public class Long2StringSerializer extends StdScalarSerializer<Number> {
+
+    private final static long serialVersionUID = 1L;
+
+    private final boolean onlyUnsafe;
+
+    /**
+     * @param handledType 处理的类型, long.class, Long.class 或者 AtomicLong.class
+     * @param onlyUnsafe  true: 只有超出安全整数范围的值输出为字符串
+     */
+    public Long2StringSerializer(Class<? extends Number> handledType, boolean onlyUnsafe) {
+        super(handledType, false);
+        this.onlyUnsafe = onlyUnsafe;
+    }
+
+    @Override
+    public void serialize(Number value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        LongTextWriter.write(value.longValue(), onlyUnsafe, gen);
+    }
+}
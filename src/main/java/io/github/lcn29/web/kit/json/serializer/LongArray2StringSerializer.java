@@ -0,0 +1,44 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * <pre>
+ * 序列化器: 将 long[] 的元素序列化为字符串, 规则和 Long2StringSerializer 一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:10
+ */
+public class LongArray2StringSerializer extends StdSerializer<long[]> {
+
+    private final static long serialVersionUID = 1L;
+
+    private final boolean onlyUnsafe;
+
+    /**
+     * @param onlyUnsafe true: 只有超出安全整数范围的值输出为字符串
+     */
+    public LongArray2StringSerializer(boolean onlyUnsafe) {
+        super(long[].class);
+        this.onlyUnsafe = onlyUnsafe;
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, long[] value) {
+        return value.length == 0;
+    }
+
+    @Override
+    public void serialize(long[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(value, value.length);
+        for (long item : value) {
+            LongTextWriter.write(item, onlyUnsafe, gen);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * <pre>
+ * 序列化器: 将 Collection&lt;Long&gt; 的元素序列化为字符串, 规则和 Long2StringSerializer 一致
+ * 直接遍历输出, 不需要为每个元素查找序列化器
+ *
+ * 只能按照泛型匹配, 通过 module() 注册, 元素指定了序列化器 (@JsonSerialize(contentUsing)) 或者多态类型时不生效
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:10
+ */
+public class LongCollection2StringSerializer extends StdSerializer<Collection<Long>> {
+
+    private final static long serialVersionUID = 1L;
+
+    private final boolean onlyUnsafe;
+
+    /**
+     * @param onlyUnsafe true: 只有超出安全整数范围的值输出为字符串
+     */
+    @SuppressWarnings("unchecked")
+    public LongCollection2StringSerializer(boolean onlyUnsafe) {
+        super((Class<Collection<Long>>) (Class<?>) Collection.class);
+        this.onlyUnsafe = onlyUnsafe;
+    }
+
+    /**
+     * 获取注册当前序列化器的模块
+     *
+     * @param onlyUnsafe true: 只有超出安全整数范围的值输出为字符串
+     * @return 模块
+     */
+    public static SimpleModule module(boolean onlyUnsafe) {
+        LongCollection2StringSerializer serializer = new LongCollection2StringSerializer(onlyUnsafe);
+        return new SimpleModule(LongCollection2StringSerializer.class.getName()) {
+
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.addSerializers(new Serializers.Base() {
+
+                    @Override
+                    public JsonSerializer<?> findCollectionSerializer(SerializationConfig config, CollectionType type,
+                                                                      BeanDescription beanDesc, TypeSerializer elementTypeSerializer,
+                                                                      JsonSerializer<Object> elementValueSerializer) {
+                        if (elementTypeSerializer != null || elementValueSerializer != null
+                                || type.getContentType().getRawClass() != Long.class) {
+                            return null;
+                        }
+                        return serializer;
+                    }
+                });
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Collection<Long> value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(Collection<Long> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(value, value.size());
+        for (Long item : value) {
+            if (item == null) {
+                gen.writeNull();
+            } else {
+                LongTextWriter.write(item, onlyUnsafe, gen);
+            }
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * <pre>
+ * long 的字符串输出
+ *
+ * 数字直接写入线程内复用的字符数组, 再通过 JsonGenerator.writeString(char[], int, int) 输出, 不创建中间的字符串
+ * onlyUnsafe 为 true 时, 只有超出 JavaScript 安全整数范围 (±(2^53 - 1)) 的值输出为字符串, 其他的值仍然输出为数字
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 23:10
+ */
+final class LongTextWriter {
+
+    /**
+     * JavaScript 的 Number.MAX_SAFE_INTEGER
+     */
+    private final static long MAX_SAFE_INTEGER = 9007199254740991L;
+
+    /**
+     * long 最长的字符数, Long.MIN_VALUE 为 20 个字符
+     */
+    private final static int MAX_LENGTH = 20;
+
+    /**
+     * JsonGenerator.writeString 会立即复制内容, 可以在线程内复用
+     */
+    private final static ThreadLocal<char[]> CHAR_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private LongTextWriter() {
+    }
+
+    /**
+     * 输出 long
+     *
+     * @param value      值
+     * @param onlyUnsafe true: 只有超出安全整数范围的值输出为字符串
+     * @param gen        JsonGenerator
+     * @throws IOException 输出异常
+     */
+    static void write(long value, boolean onlyUnsafe, JsonGenerator gen) throws IOException {
+        if (onlyUnsafe && isSafeInteger(value)) {
+            gen.writeNumber(value);
+            return;
+        }
+        char[] buffer = CHAR_BUFFER.get();
+        int offset = format(value, buffer);
+        gen.writeString(buffer, offset, MAX_LENGTH - offset);
+    }
+
+    /**
+     * 判断是否在 JavaScript 的安全整数范围内
+     *
+     * @param value 值
+     * @return true: 在范围内
+     */
+    static boolean isSafeInteger(long value) {
+        return value <= MAX_SAFE_INTEGER && value >= -MAX_SAFE_INTEGER;
+    }
+
+    /**
+     * 从字符数组的末尾开始写入数字
+     * 统一按照负数计算, 避免 Long.MIN_VALUE 取反溢出
+     *
+     * @param value  值
+     * @param buffer 长度为 MAX_LENGTH 的字符数组
+     * @return 开始的位置
+     */
+    private static int format(long value, char[] buffer) {
+        boolean negative = value < 0;
+        long remain = negative ? value : -value;
+        int position = MAX_LENGTH;
+        do {
+            long quotient = remain / 10;
+            buffer[--position] = (char) ('0' + (quotient * 10 - remain));
+            remain = quotient;
+        } while (remain != 0);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.lcn29.web.kit.json.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * <pre>
+ * 时间格式化器
+ *
+ * 将 LocalDateTime/LocalDate 按照 WebConstants.DATE_TIME_FORMAT/DATE_FORMAT 的格式直接写入字符数组, 不创建中间对象
+ * 只处理公元 1 ~ 9999 年, 超出范围时返回 -1, 由调用方回退到 DateTimeFormatter, 保证输出一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 15:12
+ */
+public final class DateTimeTextFormatter {
+
+    /**
+     * yyyy-MM-dd 的长度
+     */
+    public final static int DATE_LENGTH = 10;
+
+    /**
+     * yyyy-MM-dd HH:mm:ss 的长度
+     */
+    public final static int DATE_TIME_LENGTH = 19;
+
+    private final static int MIN_YEAR = 1;
+
+    private final static int MAX_YEAR = 9999;
+
+    private DateTimeTextFormatter() {
+    }
+
+    /**
+     * 按照 yyyy-MM-dd HH:mm:ss 格式写入字符数组
+     *
+     * @param localDateTime 需要格式化的时间
+     * @param buffer        字符数组, 从 offset 开始至少有 DATE_TIME_LENGTH 的空间
+     * @param offset        开始位置
+     * @return 写入的长度, 年份超出范围时返回 -1
+     */
+    public static int formatLocalDateTime(LocalDateTime localDateTime, char[] buffer, int offset) {
+        if (formatLocalDate(localDateTime.toLocalDate(), buffer, offset) < 0) {
+            return -1;
+        }
+        buffer[offset + 10] = ' ';
+        writeTwoDigits(localDateTime.getHour(), buffer, offset + 11);
+        buffer[offset + 13] = ':';
+        writeTwoDigits(localDateTime.getMinute(), buffer, offset + 14);
+        buffer[offset + 16] = ':';
+        writeTwoDigits(localDateTime.getSecond(), buffer, offset + 17);
+        return DATE_TIME_LENGTH;
+    }
+
+    /**
+     * 按照 yyyy-MM-dd 格式写入字符数组
+     *
+     * @param localDate 需要格式化的日期
+     * @param buffer    字符数组, 从 offset 开始至少有 DATE_LENGTH 的空间
+     * @param offset    开始位置
+     * @return 写入的长度, 年份超出范围时返回 -1
+     */
+    public static int formatLocalDate(LocalDate localDate, char[] buffer, int offset) {
+        int year = localDate.getYear();
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return -1;
+        }
+        writeTwoDigits(year / 100, buffer, offset);
+        writeTwoDigits(year % 100, buffer, offset + 2);
+        buffer[offset + 4] = '-';
+        writeTwoDigits(localDate.getMonthValue(), buffer, offset + 5);
+        buffer[offset + 7] = '-';
+        writeTwoDigits(localDate.getDayOfMonth(), buffer, offset + 8);
+        return DATE_LENGTH;
+    }
+
+    /**
+     * 写入两位数字, 不足两位补 0
+     *
+     * @param value  0 ~ 99 的数字
+     * @param buffer 字符数组
+     * @param offset 开始位置
+     */
+    private static void writeTwoDigits(int value, char[] buffer, int offset) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
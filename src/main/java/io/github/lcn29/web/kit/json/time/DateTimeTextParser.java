@@ -0,0 +1,329 @@
+package io.github.lcn29.web.kit.json.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * <pre>
+ * 时间字符串解析器
+ *
+ * 只处理固定格式的字符串, 逐个字符扫描一次, 不创建中间对象:
+ * 1. WebConstants.DATE_TIME_FORMAT: yyyy-MM-dd HH:mm:ss
+ * 2. WebConstants.DATE_FORMAT: yyyy-MM-dd
+ * 3. ISO-8601 本地时间: yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]
+ * 4. 毫秒时间戳: 全部为数字
+ *
+ * 格式不匹配或者数值超出常规范围 (如 24 点, 年份超过 4 位) 时返回 null, 由调用方回退到 DateTimeFormatter 解析,
+ * 保证解析结果和异常信息与 DateTimeFormatter 完全一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 13:20
+ */
+public final class DateTimeTextParser {
+
+    /**
+     * yyyy-MM-dd 的长度
+     */
+    private final static int DATE_LENGTH = 10;
+
+    /**
+     * yyyy-MM-dd HH:mm:ss 的长度
+     */
+    private final static int DATE_TIME_LENGTH = 19;
+
+    /**
+     * yyyy-MM-ddTHH:mm 的长度
+     */
+    private final static int ISO_DATE_TIME_MINUTE_LENGTH = 16;
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss.SSSSSSSSS 的长度
+     */
+    private final static int ISO_DATE_TIME_MAX_LENGTH = 29;
+
+    /**
+     * long 类型最多可以安全解析的位数
+     */
+    private final static int MAX_EPOCH_MILLIS_DIGITS = 18;
+
+    /**
+     * 字符串转字符数组的缓冲区, 只用于长度合法的字符串
+     */
+    private final static ThreadLocal<char[]> CHAR_BUFFER = ThreadLocal.withInitial(() -> new char[ISO_DATE_TIME_MAX_LENGTH]);
+
+    private DateTimeTextParser() {
+    }
+
+    /**
+     * 解析 yyyy-MM-dd HH:mm:ss 格式的字符串
+     *
+     * @param text 需要解析的字符串
+     * @return localDateTime, 格式不匹配时返回 null
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text) {
+        if (text == null || text.length() != DATE_TIME_LENGTH) {
+            return null;
+        }
+        return parseLocalDateTime(toChars(text), 0, DATE_TIME_LENGTH);
+    }
+
+    /**
+     * 解析 yyyy-MM-dd HH:mm:ss 格式的字符数组
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @return localDateTime, 格式不匹配时返回 null
+     */
+    public static LocalDateTime parseLocalDateTime(char[] chars, int offset, int length) {
+        if (chars == null || length != DATE_TIME_LENGTH || chars[offset + DATE_LENGTH] != ' ') {
+            return null;
+        }
+        return parseDateTime(chars, offset, length, true);
+    }
+
+    /**
+     * 解析 ISO-8601 格式 (yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]) 的字符串
+     *
+     * @param text 需要解析的字符串
+     * @return localDateTime, 格式不匹配时返回 null
+     */
+    public static LocalDateTime parseIsoLocalDateTime(CharSequence text) {
+        if (text == null || text.length() < ISO_DATE_TIME_MINUTE_LENGTH || text.length() > ISO_DATE_TIME_MAX_LENGTH) {
+            return null;
+        }
+        return parseIsoLocalDateTime(toChars(text), 0, text.length());
+    }
+
+    /**
+     * 解析 ISO-8601 格式 (yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]) 的字符数组
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @return localDateTime, 格式不匹配时返回 null
+     */
+    public static LocalDateTime parseIsoLocalDateTime(char[] chars, int offset, int length) {
+        if (chars == null || length < ISO_DATE_TIME_MINUTE_LENGTH || length > ISO_DATE_TIME_MAX_LENGTH
+                || chars[offset + DATE_LENGTH] != 'T') {
+            return null;
+        }
+        return parseDateTime(chars, offset, length, false);
+    }
+
+    /**
+     * 解析 yyyy-MM-dd 格式的字符串
+     *
+     * @param text 需要解析的字符串
+     * @return localDate, 格式不匹配时返回 null
+     */
+    public static LocalDate parseLocalDate(CharSequence text) {
+        if (text == null || text.length() != DATE_LENGTH) {
+            return null;
+        }
+        return parseLocalDate(toChars(text), 0, DATE_LENGTH);
+    }
+
+    /**
+     * 解析 yyyy-MM-dd 格式的字符数组
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @return localDate, 格式不匹配时返回 null
+     */
+    public static LocalDate parseLocalDate(char[] chars, int offset, int length) {
+        if (chars == null || length != DATE_LENGTH) {
+            return null;
+        }
+        long date = parseDate(chars, offset, true);
+        return date < 0 ? null : LocalDate.of((int) (date >>> 16), (int) (date >>> 8) & 0xFF, (int) date & 0xFF);
+    }
+
+    /**
+     * 判断字符串是否为可以直接解析的毫秒时间戳, 即 1 ~ 18 位的 ASCII 数字
+     *
+     * @param text 需要判断的字符串
+     * @return true: 是, false: 不是
+     */
+    public static boolean isEpochMillis(CharSequence text) {
+        if (text == null || text.length() == 0 || text.length() > MAX_EPOCH_MILLIS_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析毫秒时间戳, 调用前需要通过 isEpochMillis 确认格式
+     *
+     * @param text 需要解析的字符串
+     * @return 毫秒时间戳
+     */
+    public static long parseEpochMillis(CharSequence text) {
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 解析日期时间
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度, 日期和时间之间的分隔符已经由调用方校验
+     * @param smart  true: yyyy-MM-dd HH:mm:ss, 日期超出当月天数时取当月最后一天 (和 DateTimeFormatter.ofPattern 一致)
+     *               false: ISO-8601, 日期必须合法
+     * @return localDateTime, 格式不匹配时返回 null
+     */
+    private static LocalDateTime parseDateTime(char[] chars, int offset, int length, boolean smart) {
+
+        long date = parseDate(chars, offset, smart);
+        if (date < 0) {
+            return null;
+        }
+
+        // HH:mm
+        int index = offset + DATE_LENGTH + 1;
+        int hour = twoDigits(chars, index);
+        int minute = twoDigits(chars, index + 3);
+        if (hour < 0 || hour > 23 || chars[index + 2] != ':' || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int second = 0;
+        int nano = 0;
+        int end = offset + length;
+        index += 5;
+        if (index < end) {
+            // :ss
+            if (length < DATE_TIME_LENGTH || chars[index] != ':') {
+                return null;
+            }
+            second = twoDigits(chars, index + 1);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            index += 3;
+        }
+        if (index < end) {
+            // .SSSSSSSSS, 只有 ISO-8601 格式有
+            if (smart || chars[index] != '.' || index + 1 == end) {
+                return null;
+            }
+            int scale = 100_000_000;
+            for (index++; index < end; index++) {
+                char c = chars[index];
+                if (!isDigit(c)) {
+                    return null;
+                }
+                nano += (c - '0') * scale;
+                scale /= 10;
+            }
+        }
+
+        return LocalDateTime.of((int) (date >>> 16), (int) (date >>> 8) & 0xFF, (int) date & 0xFF,
+                hour, minute, second, nano);
+    }
+
+    /**
+     * 解析 yyyy-MM-dd
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param smart  日期超出当月天数时是否取当月最后一天
+     * @return 年 << 16 | 月 << 8 | 日, 格式不匹配时返回 -1
+     */
+    private static long parseDate(char[] chars, int offset, boolean smart) {
+
+        int yearHigh = twoDigits(chars, offset);
+        int yearLow = twoDigits(chars, offset + 2);
+        int month = twoDigits(chars, offset + 5);
+        int day = twoDigits(chars, offset + 8);
+        if (yearHigh < 0 || yearLow < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return -1;
+        }
+
+        int year = yearHigh * 100 + yearLow;
+        // yyyy 为公元年份, 0 年交由 DateTimeFormatter 处理
+        if (year == 0) {
+            return -1;
+        }
+
+        int monthLength = monthLength(year, month);
+        if (day > monthLength) {
+            if (!smart) {
+                return -1;
+            }
+            day = monthLength;
+        }
+        return ((long) year << 16) | (month << 8) | day;
+    }
+
+    /**
+     * 解析两位数字
+     *
+     * @param chars 字符数组
+     * @param index 开始位置
+     * @return 两位数字的值, 不是数字时返回 -1
+     */
+    private static int twoDigits(char[] chars, int index) {
+        char high = chars[index];
+        char low = chars[index + 1];
+        if (!isDigit(high) || !isDigit(low)) {
+            return -1;
+        }
+        return (high - '0') * 10 + (low - '0');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 获取月份的天数
+     *
+     * @param year  年
+     * @param month 月
+     * @return 天数
+     */
+    private static int monthLength(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 将长度已经校验过的字符串复制到线程内复用的字符数组
+     *
+     * @param text 字符串
+     * @return 字符数组, 内容从下标 0 开始
+     */
+    private static char[] toChars(CharSequence text) {
+        char[] buffer = CHAR_BUFFER.get();
+        if (text instanceof String) {
+            ((String) text).getChars(0, text.length(), buffer, 0);
+        } else {
+            for (int i = 0; i < text.length(); i++) {
+                buffer[i] = text.charAt(i);
+            }
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,285 @@
+package io.github.lcn29.web.kit.json.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * <pre>
+ * 时间戳 (毫秒) 和 LocalDateTime/LocalDate 的转换器
+ *
+ * 缓存时区当前所在的偏移窗口 (两次时区偏移变化之间的时间段), 窗口内的转换只需要做整数运算,
+ * 不需要每次都通过 ZoneRules 查找偏移量, 也不会创建 Instant/ZonedDateTime 等中间对象
+ *
+ * 夏令时切换导致的本地时间重叠 (同一个本地时间对应两个时刻) 和跳跃 (本地时间不存在) 不在窗口的本地时间范围内,
+ * 这部分时间交由 JDK 处理, 结果和 localDateTime.atZone(zoneId) 一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 11:05
+ */
+public final class ZoneEpochConverter {
+
+    private final static int SECONDS_PER_DAY = 86400;
+
+    private final static int MILLIS_PER_SECOND = 1000;
+
+    private final static int NANOS_PER_MILLI = 1000_000;
+
+    /**
+     * 系统默认时区的转换器, 类加载时确定时区, 运行期间修改默认时区不会生效
+     */
+    private final static ZoneEpochConverter SYSTEM_DEFAULT = new ZoneEpochConverter(ZoneId.systemDefault());
+
+    private final ZoneId zoneId;
+
+    private final ZoneRules zoneRules;
+
+    /**
+     * 最近一次使用的偏移窗口
+     */
+    private volatile OffsetWindow currentWindow;
+
+    /**
+     * 上一个偏移窗口, 数据跨越一次夏令时切换时, 两个窗口交替使用不需要重新计算
+     */
+    private volatile OffsetWindow previousWindow;
+
+    private ZoneEpochConverter(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.zoneRules = zoneId.getRules();
+        this.currentWindow = windowOfInstant(System.currentTimeMillis() / MILLIS_PER_SECOND);
+    }
+
+    /**
+     * 获取系统默认时区的转换器
+     *
+     * @return 转换器
+     */
+    public static ZoneEpochConverter systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    /**
+     * 获取指定时区的转换器, 转换器内部有缓存, 需要调用方自行复用
+     *
+     * @param zoneId 时区
+     * @return 转换器
+     */
+    public static ZoneEpochConverter of(ZoneId zoneId) {
+        return SYSTEM_DEFAULT.zoneId.equals(zoneId) ? SYSTEM_DEFAULT : new ZoneEpochConverter(zoneId);
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * 时间戳转 localDateTime
+     *
+     * @param epochMilli 毫秒时间戳
+     * @return localDateTime
+     */
+    public LocalDateTime toLocalDateTime(long epochMilli) {
+        long epochSecond = Math.floorDiv(epochMilli, MILLIS_PER_SECOND);
+        int nanoOfSecond = (int) (epochMilli - epochSecond * MILLIS_PER_SECOND) * NANOS_PER_MILLI;
+        return LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, findInstantWindow(epochSecond).offset);
+    }
+
+    /**
+     * 时间戳转 localDate
+     *
+     * @param epochMilli 毫秒时间戳
+     * @return localDate
+     */
+    public LocalDate toLocalDate(long epochMilli) {
+        long epochSecond = Math.floorDiv(epochMilli, MILLIS_PER_SECOND);
+        long localSecond = epochSecond + findInstantWindow(epochSecond).offsetSeconds;
+        return LocalDate.ofEpochDay(Math.floorDiv(localSecond, SECONDS_PER_DAY));
+    }
+
+    /**
+     * localDateTime 转时间戳
+     *
+     * @param localDateTime localDateTime
+     * @return 毫秒时间戳
+     */
+    public long toEpochMilli(LocalDateTime localDateTime) {
+        long localSecond = localDateTime.toLocalDate().toEpochDay() * SECONDS_PER_DAY
+                + localDateTime.toLocalTime().toSecondOfDay();
+        OffsetWindow window = findLocalWindow(localSecond, localDateTime);
+        if (window == null) {
+            // 夏令时切换的重叠或跳跃时间, 交由 JDK 处理
+            return localDateTime.atZone(zoneId).toInstant().toEpochMilli();
+        }
+        return (localSecond - window.offsetSeconds) * MILLIS_PER_SECOND + localDateTime.getNano() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * localDate 转时间戳, 取当天的开始时间
+     *
+     * @param localDate localDate
+     * @return 毫秒时间戳
+     */
+    public long toEpochMilli(LocalDate localDate) {
+        long localSecond = localDate.toEpochDay() * SECONDS_PER_DAY;
+        OffsetWindow window = findLocalWindow(localSecond, null);
+        if (window == null) {
+            return localDate.atStartOfDay().atZone(zoneId).toInstant().toEpochMilli();
+        }
+        return (localSecond - window.offsetSeconds) * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * 查找时刻所在的偏移窗口
+     *
+     * @param epochSecond 秒级时间戳
+     * @return 偏移窗口
+     */
+    private OffsetWindow findInstantWindow(long epochSecond) {
+        OffsetWindow window = currentWindow;
+        if (window.containsInstant(epochSecond)) {
+            return window;
+        }
+        OffsetWindow previous = previousWindow;
+        if (previous != null && previous.containsInstant(epochSecond)) {
+            return previous;
+        }
+        return publish(windowOfInstant(epochSecond));
+    }
+
+    /**
+     * 查找本地时间所在的偏移窗口
+     *
+     * @param localSecond   本地时间的秒数
+     * @param localDateTime 本地时间, 为空时表示 localSecond 对应的当天开始时间
+     * @return 偏移窗口, 本地时间处于夏令时切换的重叠或跳跃时间时返回 null
+     */
+    private OffsetWindow findLocalWindow(long localSecond, LocalDateTime localDateTime) {
+        OffsetWindow window = currentWindow;
+        if (window.containsLocal(localSecond)) {
+            return window;
+        }
+        OffsetWindow previous = previousWindow;
+        if (previous != null && previous.containsLocal(localSecond)) {
+            return previous;
+        }
+
+        // 两个窗口都不命中, 通过 ZoneRules 确定偏移量后加载新的窗口
+        LocalDateTime local = localDateTime != null ? localDateTime
+                : LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        List<ZoneOffset> validOffsets = zoneRules.getValidOffsets(local);
+        if (validOffsets.size() != 1) {
+            return null;
+        }
+        window = windowOfInstant(localSecond - validOffsets.get(0).getTotalSeconds());
+        if (!window.containsLocal(localSecond)) {
+            return null;
+        }
+        return publish(window);
+    }
+
+    /**
+     * 发布新的偏移窗口
+     * 两个字段的更新不是原子的, 但是每个窗口本身是不可变的, 并发下最多导致一次多余的重新计算
+     *
+     * @param window 新的偏移窗口
+     * @return 新的偏移窗口
+     */
+    private OffsetWindow publish(OffsetWindow window) {
+        previousWindow = currentWindow;
+        currentWindow = window;
+        return window;
+    }
+
+    /**
+     * 计算时刻所在的偏移窗口
+     *
+     * @param epochSecond 秒级时间戳
+     * @return 偏移窗口
+     */
+    private OffsetWindow windowOfInstant(long epochSecond) {
+
+        if (zoneRules.isFixedOffset()) {
+            return new OffsetWindow(zoneRules.getOffset(Instant.EPOCH), null, null);
+        }
+
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffset offset = zoneRules.getOffset(instant);
+        // previousTransition 返回严格早于入参的切换点, 这里 +1 秒, 让恰好在切换点上的时刻也能找到这个切换点
+        ZoneOffsetTransition previous = epochSecond < Long.MAX_VALUE
+                ? zoneRules.previousTransition(Instant.ofEpochSecond(epochSecond + 1)) : null;
+        ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+        return new OffsetWindow(offset, previous, next);
+    }
+
+    /**
+     * 偏移窗口, 不可变
+     */
+    private static final class OffsetWindow {
+
+        /**
+         * 窗口内的偏移量
+         */
+        private final ZoneOffset offset;
+
+        private final int offsetSeconds;
+
+        /**
+         * 窗口的开始时刻 (包含), 秒级时间戳
+         */
+        private final long startEpochSecond;
+
+        /**
+         * 窗口的结束时刻 (不包含), 秒级时间戳
+         */
+        private final long endEpochSecond;
+
+        /**
+         * 窗口内无歧义的本地时间的开始 (包含)
+         */
+        private final long startLocalSecond;
+
+        /**
+         * 窗口内无歧义的本地时间的结束 (不包含)
+         */
+        private final long endLocalSecond;
+
+        private OffsetWindow(ZoneOffset offset, ZoneOffsetTransition previous, ZoneOffsetTransition next) {
+            this.offset = offset;
+            this.offsetSeconds = offset.getTotalSeconds();
+
+            if (previous == null) {
+                this.startEpochSecond = Long.MIN_VALUE;
+                this.startLocalSecond = Long.MIN_VALUE;
+            } else {
+                this.startEpochSecond = previous.toEpochSecond();
+                // 切换后偏移变小 (重叠), 切换点后的一段本地时间在上一个窗口中也存在
+                // 切换后偏移变大 (跳跃), 本地时间从 切换点 + 切换后的偏移 开始
+                this.startLocalSecond = startEpochSecond
+                        + Math.max(previous.getOffsetBefore().getTotalSeconds(), offsetSeconds);
+            }
+
+            if (next == null) {
+                this.endEpochSecond = Long.MAX_VALUE;
+                this.endLocalSecond = Long.MAX_VALUE;
+            } else {
+                this.endEpochSecond = next.toEpochSecond();
+                this.endLocalSecond = endEpochSecond + Math.min(offsetSeconds, next.getOffsetAfter().getTotalSeconds());
+            }
+        }
+
+        private boolean containsInstant(long epochSecond) {
+            return epochSecond >= startEpochSecond && epochSecond < endEpochSecond;
+        }
+
+        private boolean containsLocal(long localSecond) {
+            return localSecond >= startLocalSecond && localSecond < endLocalSecond;
+        }
+    }
+}
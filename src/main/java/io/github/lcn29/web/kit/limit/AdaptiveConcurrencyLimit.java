@@ -0,0 +1,266 @@
+package io.github.lcn29.web.kit.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 自适应的并发限制, 基于 RTT 的梯度算法
+ *
+ * 1. 每个时间窗口 (默认 100ms, 至少 minWindowSamples 个样本) 计算一次平均 RTT 作为 shortRtt
+ * 2. longRtt 代表没有排队时的基准延迟: shortRtt 更低时直接下降到 shortRtt, 更高时按照 longWindow 个窗口的指数移动平均缓慢上升,
+ *    延迟整体升高并持续较长时间 (默认约 1 分钟) 后才会跟上, 排队导致的延迟升高会先降低限制
+ * 3. gradient = tolerance * longRtt / shortRtt, 限制在 0.5 ~ 1 之间, 延迟升高 (开始排队) 时限制下降
+ * 4. newLimit = limit * gradient + sqrt(limit), 平方根部分允许限制在延迟稳定时继续增长
+ * 5. 窗口内的最大并发小于限制的一半时, 不调整限制, 避免低负载时无限增长
+ *
+ * 所有的状态都是原子变量, 获取许可通过 CAS, 窗口结束时通过 CAS 选出一个线程更新限制, 没有锁
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final static long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * gradient 的下限, 单个窗口内限制最多下降一半
+     */
+    private final static double MIN_GRADIENT = 0.5D;
+
+    /**
+     * 名称, 如 global 或者 GET /user/{id}
+     */
+    private final String name;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 1000;
+
+    /**
+     * 可以接受的延迟升高比例, shortRtt 在 longRtt 的 tolerance 倍以内时, 限制不下降
+     */
+    private double tolerance = 1.5D;
+
+    /**
+     * 新的限制的权重, 越小变化越平滑
+     */
+    private double smoothing = 0.2D;
+
+    /**
+     * longRtt 上升时移动平均的窗口数
+     */
+    private int longWindow = 600;
+
+    private long windowNanos = 100 * NANOS_PER_MILLI;
+
+    private int minWindowSamples = 10;
+
+    /**
+     * 当前的限制
+     */
+    private volatile int limit;
+
+    /**
+     * 估算的限制, 只由更新的线程写入
+     */
+    private volatile double estimatedLimit;
+
+    private volatile double shortRttNanos;
+
+    private volatile double longRttNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong windowStartNanoTime = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong windowRttSum = new AtomicLong();
+
+    private final AtomicInteger windowSamples = new AtomicInteger();
+
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(String name) {
+        this(name, 20);
+    }
+
+    /**
+     * @param name         名称
+     * @param initialLimit 初始的限制
+     */
+    public AdaptiveConcurrencyLimit(String name, int initialLimit) {
+        if (initialLimit <= 0) {
+            throw new IllegalArgumentException("initialLimit must be positive, but was " + initialLimit);
+        }
+        this.name = name;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * 设置限制的范围
+     *
+     * @param minLimit 最小的限制
+     * @param maxLimit 最大的限制
+     * @return 当前的并发限制
+     */
+    public AdaptiveConcurrencyLimit limitRange(int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("invalid limit range [" + minLimit + ", " + maxLimit + "]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    /**
+     * 设置可以接受的延迟升高比例
+     *
+     * @param tolerance 大于等于 1, 默认 1.5
+     * @return 当前的并发限制
+     */
+    public AdaptiveConcurrencyLimit tolerance(double tolerance) {
+        if (tolerance < 1D) {
+            throw new IllegalArgumentException("tolerance must be at least 1, but was " + tolerance);
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * 设置新的限制的权重
+     *
+     * @param smoothing 0 ~ 1, 默认 0.2
+     * @return 当前的并发限制
+     */
+    public AdaptiveConcurrencyLimit smoothing(double smoothing) {
+        if (smoothing <= 0D || smoothing > 1D) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1], but was " + smoothing);
+        }
+        this.smoothing = smoothing;
+        return this;
+    }
+
+    /**
+     * 设置计算 shortRtt 的时间窗口
+     *
+     * @param windowMillis     窗口的时长, 单位毫秒
+     * @param minWindowSamples 窗口内最少的样本数
+     * @return 当前的并发限制
+     */
+    public AdaptiveConcurrencyLimit window(long windowMillis, int minWindowSamples) {
+        this.windowNanos = windowMillis * NANOS_PER_MILLI;
+        this.minWindowSamples = minWindowSamples;
+        return this;
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @return true: 获取成功, 结束时需要调用 release 或者 cancel; false: 超出限制
+     */
+    public boolean tryAcquire() {
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可并记录 RTT
+     *
+     * @param rttNanos 请求的耗时, 单位纳秒
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        sample(rttNanos, current);
+    }
+
+    /**
+     * 释放许可, 不记录 RTT, 用于获取许可后没有真正处理的请求
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    private void sample(long rttNanos, int currentInFlight) {
+        windowRttSum.addAndGet(rttNanos);
+        int samples = windowSamples.incrementAndGet();
+        if (windowMaxInFlight.get() < currentInFlight) {
+            windowMaxInFlight.accumulateAndGet(currentInFlight, Math::max);
+        }
+
+        long now = System.nanoTime();
+        long windowStart = windowStartNanoTime.get();
+        if (samples < minWindowSamples || now - windowStart < windowNanos
+                || !windowStartNanoTime.compareAndSet(windowStart, now)) {
+            return;
+        }
+        // 只有一个线程能够结束当前的窗口, 窗口内的样本由这个线程取出
+        int windowSampleCount = windowSamples.getAndSet(0);
+        long windowRtt = windowRttSum.getAndSet(0);
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+        if (windowSampleCount > 0) {
+            update((double) windowRtt / windowSampleCount, maxInFlight);
+        }
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        double longRtt = longRttNanos;
+        if (longRtt == 0D || shortRtt < longRtt) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / longWindow;
+        }
+        this.longRttNanos = longRtt;
+        this.shortRttNanos = shortRtt;
+
+        double current = estimatedLimit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1D, tolerance * longRtt / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        this.estimatedLimit = newLimit;
+        this.limit = (int) newLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 获取快照
+     *
+     * @return 快照
+     */
+    public ConcurrencyLimitSnapshot snapshot() {
+        return new ConcurrencyLimitSnapshot(name, limit, inFlight.get(), rejected.sum(),
+                (long) (shortRttNanos / 1000), (long) (longRttNanos / 1000));
+    }
+}
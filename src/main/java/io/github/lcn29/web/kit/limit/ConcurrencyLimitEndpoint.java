@@ -0,0 +1,39 @@
+package io.github.lcn29.web.kit.limit;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * 并发限制的查询接口
+ * 默认路径为 /kit/metrics/concurrency-limit, 可以通过 lcn.web.kit.concurrency-limit.path 修改
+ * 全局限制在最前, 之后是每个接口的限制, 包含当前的 limit, 处理中的请求数, 拒绝次数和长短期的 RTT
+ * 可以观察梯度算法把 limit 调整到了多少, 手动注册的方式见 README
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+@ResponseBody
+@RequestMapping
+public class ConcurrencyLimitEndpoint {
+
+    private final ConcurrencyLimitRegistry concurrencyLimitRegistry;
+
+    public ConcurrencyLimitEndpoint(ConcurrencyLimitRegistry concurrencyLimitRegistry) {
+        this.concurrencyLimitRegistry = concurrencyLimitRegistry;
+    }
+
+    /**
+     * 获取所有的并发限制, 全局的在最前
+     *
+     * @return 快照列表
+     */
+    @GetMapping("${lcn.web.kit.concurrency-limit.path:/kit/metrics/concurrency-limit}")
+    public List<ConcurrencyLimitSnapshot> concurrencyLimit() {
+        return concurrencyLimitRegistry.snapshots();
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.lcn29.web.kit.limit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <pre>
+ * 并发限制的注册表, 包含一个全局的限制和按照接口的限制
+ * 接口的 key 为处理请求的方法 (或路由的路径表达式), 数量和接口数量一致
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+public class ConcurrencyLimitRegistry {
+
+    /**
+     * 全局限制的名称
+     */
+    public final static String GLOBAL = "global";
+
+    private final AdaptiveConcurrencyLimit globalLimit;
+
+    /**
+     * 创建接口的限制, 参数为名称, 为空时不按照接口限制
+     */
+    private final Function<String, AdaptiveConcurrencyLimit> routeLimitFactory;
+
+    private final Map<Object, AdaptiveConcurrencyLimit> routeLimits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitRegistry() {
+        this(new AdaptiveConcurrencyLimit(GLOBAL), null);
+    }
+
+    /**
+     * @param globalLimit       全局的限制
+     * @param routeLimitFactory 创建接口的限制, 参数为名称, 如 name -> new AdaptiveConcurrencyLimit(name, 10), 为空时不按照接口限制
+     */
+    public ConcurrencyLimitRegistry(AdaptiveConcurrencyLimit globalLimit, Function<String, AdaptiveConcurrencyLimit> routeLimitFactory) {
+        this.globalLimit = globalLimit;
+        this.routeLimitFactory = routeLimitFactory;
+    }
+
+    public AdaptiveConcurrencyLimit getGlobalLimit() {
+        return globalLimit;
+    }
+
+    /**
+     * 是否按照接口限制
+     *
+     * @return true: 按照接口限制
+     */
+    public boolean isRouteLimitEnabled() {
+        return routeLimitFactory != null;
+    }
+
+    /**
+     * 获取已经注册的接口的限制
+     *
+     * @param key 接口的 key
+     * @return 接口的限制, 不存在时返回 null
+     */
+    public AdaptiveConcurrencyLimit getRouteLimit(Object key) {
+        return routeLimits.get(key);
+    }
+
+    /**
+     * 注册接口的限制, 已经存在时返回已有的
+     *
+     * @param key  接口的 key
+     * @param name 接口的名称
+     * @return 接口的限制, 不按照接口限制时返回 null
+     */
+    public AdaptiveConcurrencyLimit registerRouteLimit(Object key, String name) {
+        if (routeLimitFactory == null) {
+            return null;
+        }
+        AdaptiveConcurrencyLimit routeLimit = routeLimits.get(key);
+        if (routeLimit != null) {
+            return routeLimit;
+        }
+        AdaptiveConcurrencyLimit created = routeLimitFactory.apply(name);
+        routeLimit = routeLimits.putIfAbsent(key, created);
+        return routeLimit != null ? routeLimit : created;
+    }
+
+    /**
+     * 获取所有限制的快照, 全局的在最前, 接口的按照拒绝数从高到低排序
+     *
+     * @return 快照列表
+     */
+    public List<ConcurrencyLimitSnapshot> snapshots() {
+        List<ConcurrencyLimitSnapshot> snapshots = new ArrayList<>(routeLimits.size() + 1);
+        for (AdaptiveConcurrencyLimit routeLimit : routeLimits.values()) {
+            snapshots.add(routeLimit.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(ConcurrencyLimitSnapshot::getRejected).reversed());
+        snapshots.add(0, globalLimit.snapshot());
+        return snapshots;
+    }
+}
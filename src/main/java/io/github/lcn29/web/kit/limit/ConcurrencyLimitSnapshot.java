@@ -0,0 +1,75 @@
+package io.github.lcn29.web.kit.limit;
+
+/**
+ * <pre>
+ * 并发限制的快照, 时间单位均为微秒
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+public class ConcurrencyLimitSnapshot {
+
+    /**
+     * 名称, 如 global 或者 GET /user/{id}
+     */
+    private final String name;
+
+    /**
+     * 当前的限制
+     */
+    private final int limit;
+
+    /**
+     * 处理中的请求数
+     */
+    private final int inFlight;
+
+    /**
+     * 累计拒绝的请求数
+     */
+    private final long rejected;
+
+    /**
+     * 最近一个窗口的平均耗时
+     */
+    private final long shortRttMicros;
+
+    /**
+     * 基准耗时
+     */
+    private final long longRttMicros;
+
+    public ConcurrencyLimitSnapshot(String name, int limit, int inFlight, long rejected, long shortRttMicros, long longRttMicros) {
+        this.name = name;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.rejected = rejected;
+        this.shortRttMicros = shortRttMicros;
+        this.longRttMicros = longRttMicros;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getShortRttMicros() {
+        return shortRttMicros;
+    }
+
+    public long getLongRttMicros() {
+        return longRttMicros;
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.lcn29.web.kit.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 基于 GCRA (Generic Cell Rate Algorithm) 的内存限流器, 按照 key 限制每秒的请求数, 允许一定的突发
+ *
+ * 每个 key 的状态只有一个 long: 高 16 位为 key 的哈希标签, 低 48 位为理论到达时间 (TAT, 相对创建时间的微秒数, 约 8.9 年)
+ * 所有的状态存放在一个固定大小的 AtomicLongArray 中, 通过 CAS 更新, 没有锁, 检查时不分配对象:
+ * 1. key 的 64 位哈希决定起始的槽位和标签, 在相邻的 PROBES 个槽位中查找相同标签的槽位
+ * 2. TAT 已经过去的槽位和新的 key 等价, 可以直接被其他的 key 使用, 不需要额外的清理线程
+ * 3. 相邻的槽位都被其他活跃的 key 占用时, 替换其中 TAT 最早的, 被替换的 key 重新开始计算 (放宽而不是误拒)
+ * 4. 不同的 key 在相邻槽位中标签相同时会共享限额, 概率约为 PROBES / 65536
+ *
+ * 内存固定为 capacity * 8 字节, 不随 key 的数量增长
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:20
+ */
+public class GcraRateLimiter {
+
+    /**
+     * 每个 key 查找的槽位数, 8 个 long 正好一个缓存行
+     */
+    private final static int PROBES = 8;
+
+    private final static int TAG_SHIFT = 48;
+
+    private final static long TAT_MASK = (1L << TAG_SHIFT) - 1;
+
+    private final static long MICROS_PER_SECOND = 1_000_000L;
+
+    /**
+     * 默认的槽位数, 占用 8MB
+     */
+    private final static int DEFAULT_CAPACITY = 1 << 20;
+
+    private final AtomicLongArray slots;
+
+    private final int mask;
+
+    /**
+     * 两个请求之间的间隔, 单位微秒
+     */
+    private final long emissionInterval;
+
+    /**
+     * 允许的突发, 单位微秒, TAT 最多超前当前时间这么多
+     */
+    private final long burstOffset;
+
+    private final long baseNanoTime = System.nanoTime();
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param permitsPerSecond 每个 key 每秒的请求数
+     * @param burst            允许的突发请求数, 至少为 1
+     */
+    public GcraRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param permitsPerSecond 每个 key 每秒的请求数
+     * @param burst            允许的突发请求数, 至少为 1
+     * @param capacity         槽位数, 向上取整为 2 的幂, 需要大于活跃的 key 的数量
+     */
+    public GcraRateLimiter(double permitsPerSecond, int burst, int capacity) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive, but was " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1, but was " + burst);
+        }
+        if (capacity < PROBES) {
+            throw new IllegalArgumentException("capacity must be at least " + PROBES + ", but was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionInterval = Math.max(1L, (long) (MICROS_PER_SECOND / permitsPerSecond));
+        this.burstOffset = emissionInterval * burst;
+    }
+
+    /**
+     * 尝试获取一个许可
+     *
+     * @param key key, 如客户端地址
+     * @return 0: 获取成功; 大于 0: 需要等待的时间, 单位微秒
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(hash(key));
+    }
+
+    /**
+     * 尝试获取一个许可
+     *
+     * @param keyHash key 的 64 位哈希
+     * @return 0: 获取成功; 大于 0: 需要等待的时间, 单位微秒
+     */
+    public long tryAcquire(long keyHash) {
+        long tag = keyHash >>> TAG_SHIFT;
+        int start = (int) keyHash & mask & ~(PROBES - 1);
+        for (; ; ) {
+            long now = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - baseNanoTime);
+
+            // 查找相同标签的槽位, 同时记录可以使用的槽位 (空的, 过期的, 或者 TAT 最早的)
+            int index = -1;
+            long current = 0;
+            int candidateIndex = -1;
+            long candidate = 0;
+            long candidateTat = Long.MAX_VALUE;
+            for (int i = 0; i < PROBES; i++) {
+                long value = slots.get(start + i);
+                if (value != 0 && value >>> TAG_SHIFT == tag) {
+                    index = start + i;
+                    current = value;
+                    break;
+                }
+                long tat = value & TAT_MASK;
+                if (tat < candidateTat) {
+                    candidateIndex = start + i;
+                    candidate = value;
+                    candidateTat = tat;
+                }
+            }
+            long tat;
+            if (index >= 0) {
+                tat = Math.max(current & TAT_MASK, now);
+            } else {
+                index = candidateIndex;
+                current = candidate;
+                tat = now;
+            }
+
+            long newTat = tat + emissionInterval;
+            long wait = newTat - now - burstOffset;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (slots.compareAndSet(index, current, (tag << TAG_SHIFT) | (newTat & TAT_MASK))) {
+                allowed.increment();
+                return 0L;
+            }
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 字符串的 64 位哈希, FNV-1a 加上 splitmix64 的混合, 不分配对象
+     *
+     * @param key key
+     * @return 哈希
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.lcn29.web.kit.limit;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * <pre>
+ * 限流的 key 的获取
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:20
+ */
+@FunctionalInterface
+public interface RateLimitKeyResolver {
+
+    /**
+     * 按照客户端地址, 和 RequestLogInterceptor 输出的一致
+     */
+    RateLimitKeyResolver REMOTE_HOST = HttpServletRequest::getRemoteHost;
+
+    /**
+     * 按照路由的路径表达式, 没有路由时不限流
+     */
+    RateLimitKeyResolver ROUTE = request -> {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return route instanceof String ? (String) route : null;
+    };
+
+    /**
+     * 获取 key
+     *
+     * @param request 请求
+     * @return key, 为空时不限流
+     */
+    String resolve(HttpServletRequest request);
+
+    /**
+     * 按照请求头, 如 API key
+     *
+     * @param headerName 请求头的名称
+     * @return 请求头不存在时不限流
+     */
+    static RateLimitKeyResolver header(String headerName) {
+        return request -> {
+            String value = request.getHeader(headerName);
+            return StringUtils.hasLength(value) ? value : null;
+        };
+    }
+}
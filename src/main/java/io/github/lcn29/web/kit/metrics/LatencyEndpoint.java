@@ -0,0 +1,39 @@
+package io.github.lcn29.web.kit.metrics;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * 延迟直方图的查询接口
+ * 默认路径为 /kit/metrics/latency, 可以通过 lcn.web.kit.latency.path 修改
+ * 返回每个路由的请求数, 平均, p50/p90/p99/p999 和最大耗时 (微秒), 按照 p99 从高到低排序
+ * 需要手动注册为 bean, 见 README 的查询接口
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 16:31
+ */
+@ResponseBody
+@RequestMapping
+public class LatencyEndpoint {
+
+    private final LatencyRecorder latencyRecorder;
+
+    public LatencyEndpoint(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * 获取所有接口的延迟统计, 按照 p99 从高到低排序
+     *
+     * @return 快照列表
+     */
+    @GetMapping("${lcn.web.kit.latency.path:/kit/metrics/latency}")
+    public List<LatencySnapshot> latency() {
+        return latencyRecorder.snapshots();
+    }
+}
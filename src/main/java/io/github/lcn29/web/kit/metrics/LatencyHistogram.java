@@ -0,0 +1,178 @@
+package io.github.lcn29.web.kit.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <pre>
+ * 无锁的对数线性延迟直方图 (类似 HdrHistogram)
+ *
+ * 单位为微秒, 每个 2 的幂区间再均分为 8 个桶, 相对误差不超过 12.5%, 最大记录值约 19 小时, 超出的按最大值记录
+ * 按照线程分段 (striped) 存储, 不同线程大概率写入不同的数组, 记录时只有原子自增, 高并发下没有锁和明显的竞争
+ * 读取时汇总所有分段, 得到的是累计值, 需要区间统计的调用方可以对两次快照做差
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 16:05
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个 2 的幂区间划分的桶数为 2 ^ SUB_BUCKET_BITS
+     */
+    private final static int SUB_BUCKET_BITS = 3;
+
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 最大记录值的最高位
+     */
+    private final static int MAX_EXPONENT = 35;
+
+    /**
+     * 最大的记录值, 单位微秒
+     */
+    private final static long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * 桶的数量
+     */
+    private final static int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    /**
+     * 分段数组中存放总耗时的下标
+     */
+    private final static int SUM_INDEX = BUCKET_COUNT;
+
+    /**
+     * 分段数组中存放最大值的下标
+     */
+    private final static int MAX_INDEX = BUCKET_COUNT + 1;
+
+    /**
+     * 分段数量的上限
+     */
+    private final static int MAX_STRIPES = 16;
+
+    /**
+     * 直方图的名称, 如 GET /user/{id}
+     */
+    private final String name;
+
+    private final AtomicLongArray[] stripes;
+
+    private final int stripeMask;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+        int stripeCount = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES) * 2 - 1);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT + 2);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param durationNanos 耗时, 单位纳秒
+     */
+    public void recordNanos(long durationNanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(durationNanos), 0), MAX_VALUE);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        stripe.incrementAndGet(bucketIndex(micros));
+        stripe.addAndGet(SUM_INDEX, micros);
+        long max = stripe.get(MAX_INDEX);
+        while (micros > max && !stripe.compareAndSet(MAX_INDEX, max, micros)) {
+            max = stripe.get(MAX_INDEX);
+        }
+    }
+
+    /**
+     * 获取当前的快照
+     *
+     * @return 快照
+     */
+    public LatencySnapshot snapshot() {
+
+        long[] buckets = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucket = stripe.get(i);
+                buckets[i] += bucket;
+                count += bucket;
+            }
+            sum += stripe.get(SUM_INDEX);
+            max = Math.max(max, stripe.get(MAX_INDEX));
+        }
+
+        if (count == 0) {
+            return new LatencySnapshot(name, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySnapshot(name, count, sum / count,
+                percentile(buckets, count, max, 0.5D),
+                percentile(buckets, count, max, 0.9D),
+                percentile(buckets, count, max, 0.99D),
+                percentile(buckets, count, max, 0.999D),
+                max);
+    }
+
+    /**
+     * 计算百分位数, 取所在桶的上限, 不超过最大值
+     *
+     * @param buckets    各个桶的数量
+     * @param count      总数
+     * @param max        最大值
+     * @param percentile 百分位, 0 ~ 1
+     * @return 百分位数, 单位微秒
+     */
+    private static long percentile(long[] buckets, long count, long max, double percentile) {
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 计算值所在的桶
+     *
+     * @param value 值, 0 ~ MAX_VALUE
+     * @return 桶的下标
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * 计算桶的上限 (包含)
+     *
+     * @param index 桶的下标
+     * @return 上限
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.lcn29.web.kit.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 延迟直方图的注册表
+ * key 为请求方式和路由的路径表达式, 数量和接口数量一致, 不会随请求路径的参数增长
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 16:20
+ */
+public class LatencyRecorder {
+
+    private final Map<Object, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 获取已经注册的直方图
+     *
+     * @param key 直方图的 key
+     * @return 直方图, 不存在时返回 null
+     */
+    public LatencyHistogram get(Object key) {
+        return histograms.get(key);
+    }
+
+    /**
+     * 注册直方图, 已经存在时返回已有的
+     *
+     * @param key  直方图的 key
+     * @param name 直方图的名称
+     * @return 直方图
+     */
+    public LatencyHistogram register(Object key, String name) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram != null) {
+            return histogram;
+        }
+        LatencyHistogram created = new LatencyHistogram(name);
+        histogram = histograms.putIfAbsent(key, created);
+        return histogram != null ? histogram : created;
+    }
+
+    /**
+     * 获取所有直方图的快照, 按照 p99 从高到低排序
+     *
+     * @return 快照列表
+     */
+    public List<LatencySnapshot> snapshots() {
+        List<LatencySnapshot> snapshots = new ArrayList<>(histograms.size());
+        for (LatencyHistogram histogram : histograms.values()) {
+            snapshots.add(histogram.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(LatencySnapshot::getP99Micros).reversed());
+        return snapshots;
+    }
+}
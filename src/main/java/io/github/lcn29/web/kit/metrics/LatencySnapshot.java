@@ -0,0 +1,84 @@
+package io.github.lcn29.web.kit.metrics;
+
+/**
+ * <pre>
+ * 延迟直方图的快照, 时间单位均为微秒
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 16:12
+ */
+public class LatencySnapshot {
+
+    /**
+     * 名称, 如 GET /user/{id}
+     */
+    private final String name;
+
+    /**
+     * 请求总数
+     */
+    private final long count;
+
+    /**
+     * 平均耗时
+     */
+    private final long meanMicros;
+
+    private final long p50Micros;
+
+    private final long p90Micros;
+
+    private final long p99Micros;
+
+    private final long p999Micros;
+
+    /**
+     * 最大耗时
+     */
+    private final long maxMicros;
+
+    public LatencySnapshot(String name, long count, long meanMicros, long p50Micros, long p90Micros,
+                           long p99Micros, long p999Micros, long maxMicros) {
+        this.name = name;
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP90Micros() {
+        return p90Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getP999Micros() {
+        return p999Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+}
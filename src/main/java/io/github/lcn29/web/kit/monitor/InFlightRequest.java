@@ -0,0 +1,95 @@
+package io.github.lcn29.web.kit.monitor;
+
+/**
+ * <pre>
+ * 处理中的请求, 由 InFlightRequestInterceptor 在请求开始时创建并注册到 InFlightRequestRegistry
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class InFlightRequest {
+
+    private final String traceId;
+
+    private final String method;
+
+    private final String uri;
+
+    /**
+     * 处理请求的线程, 用于栈采样
+     */
+    private final Thread thread;
+
+    /**
+     * 开始时间, 毫秒时间戳
+     */
+    private final long startTime;
+
+    private final long startNanoTime;
+
+    /**
+     * 请求是否已经结束, 由请求线程设置, 采样线程读取
+     */
+    private volatile boolean completed;
+
+    /**
+     * 在注册表中的位置, 只由请求线程读写
+     */
+    int slot = -1;
+
+    /**
+     * 是否已经被慢请求检测处理过, 只由检测线程读写
+     */
+    boolean watched;
+
+    public InFlightRequest(String traceId, String method, String uri, Thread thread) {
+        this.traceId = traceId;
+        this.method = method;
+        this.uri = uri;
+        this.thread = thread;
+        this.startTime = System.currentTimeMillis();
+        this.startNanoTime = System.nanoTime();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getStartNanoTime() {
+        return startNanoTime;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 获取已经处理的时长
+     *
+     * @return 时长, 单位毫秒
+     */
+    public long getAgeMillis() {
+        return (System.nanoTime() - startNanoTime) / 1_000_000L;
+    }
+
+    void complete() {
+        this.completed = true;
+    }
+}
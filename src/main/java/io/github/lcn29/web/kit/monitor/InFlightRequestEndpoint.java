@@ -0,0 +1,39 @@
+package io.github.lcn29.web.kit.monitor;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * 处理中的请求的查询接口
+ * 默认路径为 /kit/monitor/in-flight, 可以通过 lcn.web.kit.in-flight.path 修改
+ * 每个请求一行: traceId, 请求方式, uri, 处理线程, 开始时间和已经处理的毫秒数
+ * 用来定位卡住的请求, 注册方式和其他查询接口相同 (README)
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+@ResponseBody
+@RequestMapping
+public class InFlightRequestEndpoint {
+
+    private final InFlightRequestRegistry inFlightRequestRegistry;
+
+    public InFlightRequestEndpoint(InFlightRequestRegistry inFlightRequestRegistry) {
+        this.inFlightRequestRegistry = inFlightRequestRegistry;
+    }
+
+    /**
+     * 获取处理中的请求, 按照处理时长从高到低排序
+     *
+     * @return 快照列表
+     */
+    @GetMapping("${lcn.web.kit.in-flight.path:/kit/monitor/in-flight}")
+    public List<InFlightRequestSnapshot> inFlight() {
+        return inFlightRequestRegistry.snapshots();
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.lcn29.web.kit.monitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <pre>
+ * 处理中的请求的注册表, 无锁
+ *
+ * 固定大小的槽位数组, 注册时从线程 id 对应的槽位开始, 通过 CAS 占用第一个空的槽位, 结束时 CAS 清空
+ * 请求线程池中的线程 id 基本固定, 通常第一次就能占用成功, 不需要额外的同步和分配
+ * 槽位全部被占用时不再记录, 只增加丢弃的计数
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class InFlightRequestRegistry {
+
+    /**
+     * 默认的槽位数, 大于常见的请求线程池大小
+     */
+    private final static int DEFAULT_CAPACITY = 1024;
+
+    private final AtomicReferenceArray<InFlightRequest> slots;
+
+    private final int mask;
+
+    /**
+     * 因为槽位不足没有记录的请求数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    public InFlightRequestRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 槽位数, 向上取整为 2 的幂
+     */
+    public InFlightRequestRegistry(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, but was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 注册请求
+     *
+     * @param request 请求
+     * @return true: 注册成功, false: 槽位不足
+     */
+    public boolean register(InFlightRequest request) {
+        int start = (int) request.getThread().getId() & mask;
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, request)) {
+                request.slot = index;
+                return true;
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * 移除请求
+     *
+     * @param request 请求
+     */
+    public void unregister(InFlightRequest request) {
+        request.complete();
+        if (request.slot >= 0) {
+            slots.compareAndSet(request.slot, request, null);
+        }
+    }
+
+    /**
+     * 遍历处理中的请求, 遍历期间的注册和移除不保证可见
+     *
+     * @param consumer 处理
+     */
+    public void forEach(Consumer<InFlightRequest> consumer) {
+        for (int i = 0; i <= mask; i++) {
+            InFlightRequest request = slots.get(i);
+            if (request != null) {
+                consumer.accept(request);
+            }
+        }
+    }
+
+    /**
+     * 获取处理中的请求的快照, 按照处理时长从高到低排序
+     *
+     * @return 快照列表
+     */
+    public List<InFlightRequestSnapshot> snapshots() {
+        List<InFlightRequestSnapshot> snapshots = new ArrayList<>();
+        forEach(request -> snapshots.add(new InFlightRequestSnapshot(request.getTraceId(), request.getMethod(),
+                request.getUri(), request.getThread().getName(), request.getStartTime(), request.getAgeMillis())));
+        snapshots.sort(Comparator.comparingLong(InFlightRequestSnapshot::getAgeMillis).reversed());
+        return snapshots;
+    }
+
+    /**
+     * 获取因为槽位不足没有记录的请求数
+     *
+     * @return 请求数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.lcn29.web.kit.monitor;
+
+/**
+ * <pre>
+ * 处理中的请求的快照
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class InFlightRequestSnapshot {
+
+    private final String traceId;
+
+    private final String method;
+
+    private final String uri;
+
+    private final String threadName;
+
+    /**
+     * 开始时间, 毫秒时间戳
+     */
+    private final long startTime;
+
+    /**
+     * 已经处理的时长, 单位毫秒
+     */
+    private final long ageMillis;
+
+    public InFlightRequestSnapshot(String traceId, String method, String uri, String threadName, long startTime, long ageMillis) {
+        this.traceId = traceId;
+        this.method = method;
+        this.uri = uri;
+        this.threadName = threadName;
+        this.startTime = startTime;
+        this.ageMillis = ageMillis;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getAgeMillis() {
+        return ageMillis;
+    }
+}
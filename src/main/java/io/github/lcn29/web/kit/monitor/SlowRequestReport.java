@@ -0,0 +1,109 @@
+package io.github.lcn29.web.kit.monitor;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * 慢请求的栈采样结果, 相同的栈合并计数, 按照次数从高到低排序
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class SlowRequestReport {
+
+    private final String traceId;
+
+    private final String method;
+
+    private final String uri;
+
+    private final String threadName;
+
+    /**
+     * 生成报告时已经处理的时长, 单位毫秒
+     */
+    private final long ageMillis;
+
+    /**
+     * 采样完成前请求是否已经结束
+     */
+    private final boolean completed;
+
+    /**
+     * 采样次数
+     */
+    private final int sampleCount;
+
+    private final List<StackSample> stacks;
+
+    public SlowRequestReport(String traceId, String method, String uri, String threadName, long ageMillis,
+                             boolean completed, int sampleCount, List<StackSample> stacks) {
+        this.traceId = traceId;
+        this.method = method;
+        this.uri = uri;
+        this.threadName = threadName;
+        this.ageMillis = ageMillis;
+        this.completed = completed;
+        this.sampleCount = sampleCount;
+        this.stacks = stacks;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getAgeMillis() {
+        return ageMillis;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public List<StackSample> getStacks() {
+        return stacks;
+    }
+
+    /**
+     * 合并后的栈
+     */
+    public static class StackSample {
+
+        /**
+         * 出现的次数
+         */
+        private final int count;
+
+        private final List<String> frames;
+
+        public StackSample(int count, List<String> frames) {
+            this.count = count;
+            this.frames = frames;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getFrames() {
+            return frames;
+        }
+    }
+}
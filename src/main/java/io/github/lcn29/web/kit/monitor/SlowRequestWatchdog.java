@@ -0,0 +1,293 @@
+package io.github.lcn29.web.kit.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <pre>
+ * 慢请求检测
+ *
+ * 单独的守护线程定时扫描 InFlightRequestRegistry, 处理时长超过阈值的请求, 每隔 sampleIntervalMillis 采样一次处理线程的栈
+ * 采样 sampleCount 次 (或者请求提前结束) 后, 相同的栈合并计数, 和 traceId 一起输出到日志, 或者交给 reportListener 处理
+ * 同一个请求只报告一次, 同时采样的请求最多 maxSampling 个, 避免大量请求变慢时采样本身带来额外的压力
+ *
+ * 所有的采样状态只由检测线程访问, 请求线程只有注册和移除的开销
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:10
+ */
+public class SlowRequestWatchdog implements SmartLifecycle {
+
+    private final static Logger logger = LoggerFactory.getLogger(SlowRequestWatchdog.class);
+
+    private final static String THREAD_NAME = "slow-request-watchdog";
+
+    private final static long NANOS_PER_MILLI = 1_000_000L;
+
+    private final InFlightRequestRegistry registry;
+
+    /**
+     * 采样中的请求, 只由检测线程访问
+     */
+    private final Map<InFlightRequest, Sampling> samplings = new IdentityHashMap<>();
+
+    /**
+     * 慢请求的阈值, 单位毫秒
+     */
+    private long thresholdMillis = 3000L;
+
+    /**
+     * 扫描的间隔, 单位毫秒
+     */
+    private long checkIntervalMillis = 100L;
+
+    /**
+     * 采样的间隔, 单位毫秒
+     */
+    private long sampleIntervalMillis = 200L;
+
+    /**
+     * 每个请求的采样次数
+     */
+    private int sampleCount = 5;
+
+    /**
+     * 保留的栈深度
+     */
+    private int maxDepth = 32;
+
+    /**
+     * 同时采样的最大请求数
+     */
+    private int maxSampling = 16;
+
+    /**
+     * 报告的处理, 为空时输出到日志
+     */
+    private Consumer<SlowRequestReport> reportListener;
+
+    private volatile ScheduledExecutorService executor;
+
+    public SlowRequestWatchdog(InFlightRequestRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 设置慢请求的阈值
+     *
+     * @param thresholdMillis 阈值, 单位毫秒
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog thresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+        return this;
+    }
+
+    /**
+     * 设置扫描的间隔
+     *
+     * @param checkIntervalMillis 间隔, 单位毫秒, 需要在 start 之前设置
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog checkIntervalMillis(long checkIntervalMillis) {
+        this.checkIntervalMillis = checkIntervalMillis;
+        return this;
+    }
+
+    /**
+     * 设置同一个请求两次采样的间隔
+     *
+     * @param sampleIntervalMillis 间隔, 单位毫秒
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog sampleIntervalMillis(long sampleIntervalMillis) {
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        return this;
+    }
+
+    /**
+     * 设置每个请求的采样次数
+     *
+     * @param sampleCount 采样次数
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog sampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+        return this;
+    }
+
+    /**
+     * 设置保留的栈深度, 从栈顶开始
+     *
+     * @param maxDepth 栈深度
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * 设置同时采样的最大请求数
+     *
+     * @param maxSampling 最大请求数
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog maxSampling(int maxSampling) {
+        this.maxSampling = maxSampling;
+        return this;
+    }
+
+    /**
+     * 设置报告的处理, 如导出到监控系统, 设置后不再输出日志
+     *
+     * @param reportListener 报告的处理, 在检测线程中执行
+     * @return 当前的检测
+     */
+    public SlowRequestWatchdog reportListener(Consumer<SlowRequestReport> reportListener) {
+        this.reportListener = reportListener;
+        return this;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * 扫描一次, 异常时只输出日志, 避免定时任务被取消
+     */
+    private void check() {
+        try {
+            long now = System.nanoTime();
+            long thresholdNanos = thresholdMillis * NANOS_PER_MILLI;
+            registry.forEach(request -> {
+                if (!request.watched && samplings.size() < maxSampling && !request.isCompleted()
+                        && now - request.getStartNanoTime() >= thresholdNanos) {
+                    request.watched = true;
+                    samplings.put(request, new Sampling());
+                }
+            });
+            sample(now);
+        } catch (Throwable e) {
+            logger.warn("Slow request watchdog check error", e);
+        }
+    }
+
+    private void sample(long now) {
+        long sampleIntervalNanos = sampleIntervalMillis * NANOS_PER_MILLI;
+        Iterator<Map.Entry<InFlightRequest, Sampling>> iterator = samplings.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<InFlightRequest, Sampling> entry = iterator.next();
+            InFlightRequest request = entry.getKey();
+            Sampling sampling = entry.getValue();
+
+            if (!request.isCompleted() && now - sampling.lastSampleNanoTime >= sampleIntervalNanos) {
+                StackTraceElement[] stackTrace = request.getThread().getStackTrace();
+                // 采样期间请求结束时, 线程可能已经在处理其他的请求, 丢弃这次采样
+                if (!request.isCompleted()) {
+                    sampling.add(stackTrace, maxDepth);
+                    sampling.lastSampleNanoTime = now;
+                }
+            }
+            if (request.isCompleted() || sampling.count >= sampleCount) {
+                iterator.remove();
+                if (sampling.count > 0) {
+                    report(sampling.toReport(request));
+                }
+            }
+        }
+    }
+
+    private void report(SlowRequestReport report) {
+        if (reportListener != null) {
+            reportListener.accept(report);
+            return;
+        }
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (SlowRequestReport.StackSample stack : report.getStacks()) {
+            builder.append("\n[").append(stack.getCount()).append('/').append(report.getSampleCount()).append(']');
+            for (String frame : stack.getFrames()) {
+                builder.append("\n\tat ").append(frame);
+            }
+        }
+        logger.warn("Slow request traceId:{}, {} {}, thread:{}, age:{}ms, completed:{}, samples:{}{}", report.getTraceId(),
+                report.getMethod(), report.getUri(), report.getThreadName(), report.getAgeMillis(), report.isCompleted(),
+                report.getSampleCount(), builder);
+    }
+
+    /**
+     * 单个请求的采样状态
+     */
+    private static class Sampling {
+
+        /**
+         * 相同的栈合并计数, key: 截取后的栈
+         */
+        private final Map<List<StackTraceElement>, int[]> stacks = new LinkedHashMap<>();
+
+        private int count;
+
+        private long lastSampleNanoTime = Long.MIN_VALUE / 2;
+
+        private void add(StackTraceElement[] stackTrace, int maxDepth) {
+            List<StackTraceElement> key = Arrays.asList(
+                    stackTrace.length > maxDepth ? Arrays.copyOf(stackTrace, maxDepth) : stackTrace);
+            stacks.computeIfAbsent(key, k -> new int[1])[0]++;
+            count++;
+        }
+
+        private SlowRequestReport toReport(InFlightRequest request) {
+            List<SlowRequestReport.StackSample> samples = new ArrayList<>(stacks.size());
+            for (Map.Entry<List<StackTraceElement>, int[]> entry : stacks.entrySet()) {
+                List<String> frames = new ArrayList<>(entry.getKey().size());
+                for (StackTraceElement element : entry.getKey()) {
+                    frames.add(element.toString());
+                }
+                samples.add(new SlowRequestReport.StackSample(entry.getValue()[0], frames));
+            }
+            samples.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+            return new SlowRequestReport(request.getTraceId(), request.getMethod(), request.getUri(),
+                    request.getThread().getName(), request.getAgeMillis(), request.isCompleted(), count, samples);
+        }
+    }
+}
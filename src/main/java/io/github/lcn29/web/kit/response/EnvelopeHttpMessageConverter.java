@@ -0,0 +1,552 @@
+package io.github.lcn29.web.kit.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import io.github.lcn29.web.kit.code.StatusCodeInterface;
+import io.github.lcn29.web.kit.code.StatusCodeRegistry;
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 直接输出 Response 包装的 json 转换器, 需要注册为 HttpMessageConverter 的 Bean
+ *
+ * 1. 选中这个转换器时, ResponseResultHandler 不再创建 Response, 直接把返回结果交给转换器
+ * 2. 状态码和描述信息对应的 json 前后缀 ({"statusCode":200,"message":"success","content": 和 }) 预先序列化为字节,
+ *    输出时只需要序列化 content, 没有 content 时直接输出缓存的完整字节
+ * 3. 输出先写入线程复用的缓冲区, 不超过 64KB 时设置 Content-Length 后一次写出, 超过时转为直接写到输出流
+ *
+ * 前后缀通过 ObjectMapper 序列化 Response 得到, 输出和原来的方式完全一致
+ * 以下情况 ObjectMapper 的输出无法拆分为前后缀, 会使用原来的方式输出:
+ * 1. 开启了 INDENT_OUTPUT, WRAP_ROOT_VALUE, 默认类型 (activateDefaultTyping)
+ * 2. 属性的包含规则不是 ALWAYS 或 NON_NULL
+ * 3. 响应的编码不是 UTF-8, 或者设置了 jsonPrefix
+ * 4. 状态码没有注册到 StatusCodeRegistry (WebStatusCode 默认注册), 或者描述信息和注册的不一致
+ *
+ * ResponseResultHandler 标记了需要 ETag 的请求 (@ResponseEtag), 写入缓冲区的同时增量计算 MD5,
+ * 输出前设置 ETag, 和 If-None-Match 匹配时只返回 304 Not Modified, 不写出缓冲区
+ * ETag 为弱校验 (W/"..."), 响应经过压缩等转换后仍然有效
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 19:20
+ */
+public class EnvelopeHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * 请求属性中需要转换器包装返回结果的标识, 由 ResponseResultHandler 设置
+     */
+    public final static String ENVELOPE_ATTRIBUTE = EnvelopeHttpMessageConverter.class.getName() + ".ENVELOPE";
+
+    /**
+     * 请求属性中需要计算 ETag 的标识, 由 ResponseResultHandler 设置
+     */
+    public final static String ETAG_ATTRIBUTE = EnvelopeHttpMessageConverter.class.getName() + ".ETAG";
+
+    /**
+     * 缓冲区的初始大小
+     */
+    private final static int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * 缓冲区的最大大小, 超过后直接写到输出流, 不再设置 Content-Length
+     */
+    private final static int MAX_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 计算前后缀时 content 的占位内容
+     */
+    private final static String CONTENT_MARKER = "\u0000lcn-web-kit-envelope-content\u0000";
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 线程复用的缓冲区
+     */
+    private final static ThreadLocal<EnvelopeOutputStream> BUFFER_CACHE = ThreadLocal.withInitial(EnvelopeOutputStream::new);
+
+    /**
+     * 状态码对应的前后缀, key: StatusCodeRegistry 中注册的状态码
+     */
+    private final Map<StatusCodeInterface, Envelope> envelopes = new ConcurrentHashMap<>();
+
+    /**
+     * 前后缀对应的 StatusCodeRegistry 的版本
+     */
+    private volatile int registryVersion = -1;
+
+    /**
+     * 成功的前后缀, 为空表示还没有初始化
+     */
+    private volatile Envelope successEnvelope;
+
+    /**
+     * ObjectMapper 的配置是否支持拆分前后缀
+     */
+    private volatile boolean envelopeSupported;
+
+    /**
+     * 是否设置了 jsonPrefix
+     */
+    private boolean jsonPrefix = false;
+
+    public EnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    /**
+     * 注册需要预先序列化前后缀的状态码, 等同于 StatusCodeRegistry.register
+     *
+     * @param statusCodes 状态码
+     * @return 当前的转换器
+     */
+    public EnvelopeHttpMessageConverter registerStatusCodes(StatusCodeInterface... statusCodes) {
+        StatusCodeRegistry.register(statusCodes);
+        return this;
+    }
+
+    @Override
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        super.setObjectMapper(objectMapper);
+        synchronized (this) {
+            this.envelopes.clear();
+            this.successEnvelope = null;
+        }
+    }
+
+    @Override
+    public void setJsonPrefix(String jsonPrefix) {
+        super.setJsonPrefix(jsonPrefix);
+        this.jsonPrefix = jsonPrefix != null;
+    }
+
+    @Override
+    public void setPrefixJson(boolean prefixJson) {
+        super.setPrefixJson(prefixJson);
+        this.jsonPrefix = prefixJson;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+
+        boolean wrap = consumeEnvelopeAttribute();
+        ServletWebRequest etagRequest = consumeEtagAttribute();
+
+        // 返回结果已经是 Response 时, 即使有残留的标识也不再包装
+        Envelope envelope;
+        Object content;
+        if (object != null && object.getClass() == Response.class) {
+            Response<?> response = (Response<?>) object;
+            envelope = findEnvelope(response.getStatusCode(), response.getMessage());
+            content = response.getContent();
+        } else if (wrap && !(object instanceof Response<?>)) {
+            envelope = findEnvelope(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage());
+            content = object;
+        } else {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (envelope == null || !envelopeSupported || jsonPrefix || content instanceof MappingJacksonValue
+                || getJsonEncoding(contentType) != JsonEncoding.UTF8) {
+            super.writeInternal(wrap ? ResponseBuilder.success(object) : object, type, outputMessage);
+            return;
+        }
+        writeEnvelope(envelope, content, outputMessage, etagRequest);
+    }
+
+    /**
+     * 输出 Response 包装后的 json
+     *
+     * @param envelope      前后缀
+     * @param content       响应内容
+     * @param outputMessage 输出
+     * @param etagRequest   需要计算 ETag 时的请求, 不需要时为空
+     * @throws IOException 输出异常
+     */
+    private void writeEnvelope(Envelope envelope, @Nullable Object content, HttpOutputMessage outputMessage,
+                               @Nullable ServletWebRequest etagRequest) throws IOException {
+
+        EnvelopeOutputStream buffer = BUFFER_CACHE.get();
+        if (buffer.inUse) {
+            buffer = new EnvelopeOutputStream();
+        }
+        buffer.open(outputMessage, etagRequest != null);
+        try {
+            if (content == null) {
+                buffer.write(envelope.empty);
+            } else {
+                buffer.write(envelope.prefix);
+                ObjectMapper objectMapper = getObjectMapper();
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+                    objectMapper.writeValue(generator, content);
+                } catch (InvalidDefinitionException ex) {
+                    throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+                } catch (JsonProcessingException ex) {
+                    throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+                }
+                buffer.write(envelope.suffix);
+            }
+            // 超过缓冲区后响应头已经提交, 不能再设置 ETag
+            if (etagRequest != null && !buffer.isSpilled() && etagRequest.checkNotModified(buffer.etag())) {
+                return;
+            }
+            buffer.finish();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * 获取并移除请求属性中的包装标识
+     *
+     * @return true: 需要包装返回结果
+     */
+    private static boolean consumeEnvelopeAttribute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || attributes.getAttribute(ENVELOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            return false;
+        }
+        attributes.removeAttribute(ENVELOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return true;
+    }
+
+    /**
+     * 获取并移除请求属性中的 ETag 标识
+     *
+     * @return 需要计算 ETag 时返回当前请求, 否则为空, 响应中已经有 ETag (接口提供了版本号) 时也为空
+     */
+    @Nullable
+    private static ServletWebRequest consumeEtagAttribute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || attributes.getAttribute(ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            return null;
+        }
+        attributes.removeAttribute(ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response == null || response.containsHeader(HttpHeaders.ETAG)) {
+            return null;
+        }
+        return new ServletWebRequest(((ServletRequestAttributes) attributes).getRequest(), response);
+    }
+
+    /**
+     * 获取状态码对应的前后缀
+     *
+     * @param code    状态码
+     * @param message 描述信息
+     * @return 前后缀, 没有注册或者描述信息不一致时返回空
+     */
+    @Nullable
+    private Envelope findEnvelope(int code, String message) {
+        Envelope success = successEnvelope;
+        if (success == null || registryVersion != StatusCodeRegistry.version()) {
+            success = initEnvelopes();
+        }
+        Envelope envelope;
+        if (code == success.code) {
+            envelope = success;
+        } else {
+            StatusCodeInterface statusCode = StatusCodeRegistry.find(code);
+            envelope = statusCode == null ? null : envelopes.get(statusCode);
+        }
+        return envelope != null && envelope.message.equals(message) ? envelope : null;
+    }
+
+    /**
+     * 预先序列化所有注册的状态码的前后缀
+     *
+     * @return 成功的前后缀
+     */
+    private synchronized Envelope initEnvelopes() {
+        int version = StatusCodeRegistry.version();
+        if (successEnvelope != null && registryVersion == version) {
+            return successEnvelope;
+        }
+        ObjectMapper objectMapper = getObjectMapper();
+        envelopeSupported = isEnvelopeSupported(objectMapper);
+        for (StatusCodeInterface statusCode : StatusCodeRegistry.statusCodes()) {
+            if (envelopes.containsKey(statusCode) && successEnvelope != null) {
+                continue;
+            }
+            Envelope envelope = Envelope.of(objectMapper, statusCode.getCode(), statusCode.getMessage());
+            if (envelope != null) {
+                envelopes.put(statusCode, envelope);
+            }
+        }
+        Envelope success = envelopes.get(WebStatusCode.SUCCESS);
+        if (success == null || !success.message.equals(WebStatusCode.SUCCESS.getMessage())) {
+            // 成功的前后缀无法拆分时, 使用一个不会匹配的占位, 全部走原来的方式
+            success = new Envelope(WebStatusCode.SUCCESS.getCode(), CONTENT_MARKER, null, null, null);
+            envelopeSupported = false;
+        }
+        successEnvelope = success;
+        registryVersion = version;
+        return success;
+    }
+
+    /**
+     * 判断 ObjectMapper 的配置是否支持拆分前后缀
+     *
+     * @param objectMapper ObjectMapper
+     * @return true: 支持
+     */
+    private static boolean isEnvelopeSupported(ObjectMapper objectMapper) {
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        if (config.isEnabled(SerializationFeature.INDENT_OUTPUT) || config.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)) {
+            return false;
+        }
+        JsonInclude.Include inclusion = config.getDefaultPropertyInclusion(Response.class).getValueInclusion();
+        if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.NON_NULL
+                && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+            return false;
+        }
+        return config.getDefaultTyper(objectMapper.constructType(Object.class)) == null;
+    }
+
+    /**
+     * 状态码对应的 json 前后缀
+     */
+    private static class Envelope {
+
+        private final int code;
+
+        private final String message;
+
+        /**
+         * content 之前的字节
+         */
+        private final byte[] prefix;
+
+        /**
+         * content 之后的字节
+         */
+        private final byte[] suffix;
+
+        /**
+         * 没有 content 时完整的字节
+         */
+        private final byte[] empty;
+
+        private Envelope(int code, String message, byte[] prefix, byte[] suffix, byte[] empty) {
+            this.code = code;
+            this.message = message;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.empty = empty;
+        }
+
+        /**
+         * 序列化状态码对应的前后缀
+         *
+         * @param objectMapper ObjectMapper
+         * @param code         状态码
+         * @param message      描述信息
+         * @return 前后缀, 无法拆分时返回空
+         */
+        @Nullable
+        private static Envelope of(ObjectMapper objectMapper, int code, String message) {
+            try {
+                byte[] full = objectMapper.writeValueAsBytes(new Response<>(code, message, CONTENT_MARKER));
+                byte[] marker = objectMapper.writeValueAsBytes(CONTENT_MARKER);
+                int index = indexOf(full, marker);
+                if (index < 0) {
+                    return null;
+                }
+                byte[] prefix = Arrays.copyOfRange(full, 0, index);
+                byte[] suffix = Arrays.copyOfRange(full, index + marker.length, full.length);
+                byte[] empty = objectMapper.writeValueAsBytes(new Response<Void>(code, message));
+                return new Envelope(code, message, prefix, suffix, empty);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+
+        private static int indexOf(byte[] source, byte[] target) {
+            outer:
+            for (int i = 0; i <= source.length - target.length; i++) {
+                for (int j = 0; j < target.length; j++) {
+                    if (source[i + j] != target[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 先写入缓冲区, 超过最大大小后转为直接写到输出流的 OutputStream
+     */
+    private static class EnvelopeOutputStream extends OutputStream {
+
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+        private int count;
+
+        private HttpOutputMessage outputMessage;
+
+        /**
+         * 超过最大大小后的输出流
+         */
+        private OutputStream target;
+
+        private boolean inUse;
+
+        /**
+         * 增量计算的 MD5, 第一次需要 ETag 时创建
+         */
+        private MessageDigest digest;
+
+        private boolean digesting;
+
+        private void open(HttpOutputMessage outputMessage, boolean digesting) {
+            this.outputMessage = outputMessage;
+            this.inUse = true;
+            this.digesting = digesting;
+            if (digesting && digest == null) {
+                try {
+                    digest = MessageDigest.getInstance("MD5");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("MD5 is not supported", e);
+                }
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (digesting) {
+                digest.update((byte) b);
+            }
+            if (target == null && !ensureCapacity(count + 1)) {
+                spill();
+            }
+            if (target != null) {
+                target.write(b);
+                return;
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (digesting) {
+                digest.update(b, off, len);
+            }
+            if (target == null && !ensureCapacity(count + len)) {
+                spill();
+            }
+            if (target != null) {
+                target.write(b, off, len);
+                return;
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        /**
+         * 结束输出, 没有超过最大大小时设置 Content-Length 并一次写出
+         *
+         * @throws IOException 输出异常
+         */
+        private void finish() throws IOException {
+            if (target == null) {
+                outputMessage.getHeaders().setContentLength(count);
+                outputMessage.getBody().write(buffer, 0, count);
+            }
+        }
+
+        private boolean isSpilled() {
+            return target != null;
+        }
+
+        /**
+         * 获取已经写入内容的 ETag
+         *
+         * @return W/"md5"
+         */
+        private String etag() {
+            byte[] hash = digest.digest();
+            char[] chars = new char[hash.length * 2 + 4];
+            chars[0] = 'W';
+            chars[1] = '/';
+            chars[2] = '"';
+            for (int i = 0; i < hash.length; i++) {
+                chars[3 + i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+                chars[4 + i * 2] = HEX_DIGITS[hash[i] & 0xF];
+            }
+            chars[chars.length - 1] = '"';
+            return new String(chars);
+        }
+
+        private void release() {
+            count = 0;
+            target = null;
+            outputMessage = null;
+            inUse = false;
+            if (digesting) {
+                digest.reset();
+                digesting = false;
+            }
+        }
+
+        private boolean ensureCapacity(int minCapacity) {
+            if (minCapacity <= buffer.length) {
+                return true;
+            }
+            if (minCapacity > MAX_BUFFER_SIZE) {
+                return false;
+            }
+            buffer = Arrays.copyOf(buffer, Math.min(Math.max(buffer.length << 1, minCapacity), MAX_BUFFER_SIZE));
+            return true;
+        }
+
+        private void spill() throws IOException {
+            target = outputMessage.getBody();
+            target.write(buffer, 0, count);
+            count = 0;
+        }
+
+        @Override
+        public void flush() {
+            // 由转换器在输出结束后统一刷新
+        }
+
+        @Override
+        public void close() {
+            // 输出流由转换器管理, JsonGenerator 关闭时不关闭
+        }
+    }
+}
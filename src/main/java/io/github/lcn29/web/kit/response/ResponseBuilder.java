@@ -2,6 +2,10 @@ package io.github.lcn29.web.kit.response;
 
 import io.github.lcn29.web.kit.code.WebStatusCode;
 import io.github.lcn29.web.kit.code.StatusCodeInterface;
+import io.github.lcn29.web.kit.code.StatusCodeRegistry;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * <pre>
@@ -13,13 +17,18 @@ import io.github.lcn29.web.kit.code.StatusCodeInterface;
  */
 public class ResponseBuilder {
 
+    /**
+     * 不带响应内容的成功 Response, 没有可以修改的属性, 所有请求共用
+     */
+    private final static Response<Void> EMPTY_SUCCESS = new Response<>(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage());
+
     /**
      * 构建不带响应内容的成功 Response
      *
      * @return Response
      */
     public static Response<Void> success() {
-        return success(null);
+        return EMPTY_SUCCESS;
     }
 
     /**
@@ -33,6 +42,36 @@ public class ResponseBuilder {
         return buildResponse(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), content);
     }
 
+    /**
+     * 构建流式输出的成功 Response, 输出完成后关闭 Stream
+     *
+     * @param stream 返回内容
+     * @return StreamingResponse
+     */
+    public static StreamingResponse stream(Stream<?> stream) {
+        return new StreamingResponse(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), stream);
+    }
+
+    /**
+     * 构建流式输出的成功 Response
+     *
+     * @param iterator 返回内容
+     * @return StreamingResponse
+     */
+    public static StreamingResponse stream(Iterator<?> iterator) {
+        return new StreamingResponse(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), iterator);
+    }
+
+    /**
+     * 构建流式输出的成功 Response, 输出完成后关闭游标
+     *
+     * @param cursor 返回内容的游标
+     * @return StreamingResponse
+     */
+    public static StreamingResponse stream(ResponseCursor<?> cursor) {
+        return new StreamingResponse(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), cursor);
+    }
+
     /**
      * 构建不带响应内容的失败 Response
      *
@@ -81,6 +120,7 @@ public class ResponseBuilder {
 
     /**
      * 构建 Response
+     * 不带响应内容并且状态码已经注册时, 直接返回 StatusCodeRegistry 中缓存的 Response
      *
      * @param code    状态码
      * @param message 状态信息
@@ -89,7 +129,12 @@ public class ResponseBuilder {
      * @return Response
      */
     private static <T> Response<T> buildResponse(int code, String message, T content) {
-        return content == null ? new Response<T>(code, message) : new Response<T>(code, message, content);
+        if (content != null) {
+            return new Response<T>(code, message, content);
+        }
+        @SuppressWarnings("unchecked")
+        Response<T> cached = (Response<T>) (Response<?>) StatusCodeRegistry.findResponse(code, message);
+        return cached != null ? cached : new Response<T>(code, message);
     }
 
 }
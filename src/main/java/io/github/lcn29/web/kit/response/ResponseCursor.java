@@ -0,0 +1,37 @@
+package io.github.lcn29.web.kit.response;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * <pre>
+ * 流式响应的数据游标, 如数据库的分页游标
+ * 每次调用 next 返回一个元素, 返回 null 表示数据已经读取完成
+ * 响应写完 (包括中途异常) 后会调用 close 释放资源
+ * close 声明 throws Exception 是为了兼容数据库游标等数据源, 实现不应该抛出 InterruptedException
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:40
+ */
+@FunctionalInterface
+@SuppressWarnings("try")
+public interface ResponseCursor<T> extends AutoCloseable {
+
+    /**
+     * 获取下一个元素
+     *
+     * @return 下一个元素, 为空表示没有更多的数据
+     * @throws Exception 读取数据的异常
+     */
+    @Nullable
+    T next() throws Exception;
+
+    /**
+     * 释放资源
+     *
+     * @throws Exception 释放资源的异常
+     */
+    @Override
+    default void close() throws Exception {
+    }
+}
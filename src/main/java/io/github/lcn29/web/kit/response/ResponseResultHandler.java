@@ -1,18 +1,58 @@
 package io.github.lcn29.web.kit.response;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import io.github.lcn29.web.kit.response.annotation.RawResponse;
+import io.github.lcn29.web.kit.response.annotation.ResponseEtag;
+import io.github.lcn29.web.kit.response.annotation.WrapResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * <pre>
  * 响应结果转 Response 处理器
+ * 返回结果为 Stream / Iterator / ResponseCursor 时, 转为 StreamingResponse 逐个元素输出,
+ * 同时注册请求结束的回调, 响应没有序列化 (如输出前的异常) 时也会关闭数据源
+ * 选中的转换器为 EnvelopeHttpMessageConverter 时, 不创建 Response, 由转换器直接输出包装后的 json
+ *
+ * 每个接口方法是否包装在第一次调用时按照 方法 + 所在的类 计算并缓存 (父类的方法在不同的子类上注解可能不同), 以下情况不包装:
+ * 1. 方法或类上有 @RawResponse (方法上的 @WrapResponse 优先)
+ * 2. actuator 的接口
+ * 3. 返回类型为 Resource, byte[], StreamingResponseBody (包括 ResponseEntity 中的 body)
+ * 4. 选中的 Content-Type 不是 JSON (String 返回结果的 text/plain 除外)
+ *
+ * 返回结果为 String 时, 包装后的 Response 通过 ObjectMapper 序列化为字符串, 由 StringHttpMessageConverter 输出,
+ * 不再需要移除 StringHttpMessageConverter
+ *
+ * 方法或类上有 @ResponseEtag 的 GET 请求, 标记由 EnvelopeHttpMessageConverter 在输出时计算 ETag
  * </pre>
  *
  * @author lcn29
@@ -23,27 +63,287 @@ public class ResponseResultHandler implements ResponseBodyAdvice<Object> {
 
     private final static Logger logger = LoggerFactory.getLogger(ResponseResultHandler.class);
 
+    /**
+     * actuator 接口的包名前缀
+     */
+    private final static String ACTUATOR_PACKAGE_PREFIX = "org.springframework.boot.actuate.";
+
+    private final static String GET = "GET";
+
+    private final static String HEAD = "HEAD";
+
+    /**
+     * 请求结束时关闭 StreamingResponse 数据源的回调名称
+     */
+    private final static String STREAMING_CLOSE_CALLBACK = ResponseResultHandler.class.getName() + ".streamingClose";
+
     static {
         logger.info("ResponseResultHandler Init ...");
     }
 
+    /**
+     * 接口方法的包装策略缓存, key 为方法和所在的类, 数量和接口数量一致
+     */
+    private final Map<MethodClassKey, ResponsePolicy> policyCache = new ConcurrentHashMap<>();
+
+    /**
+     * String 返回结果序列化使用的 ObjectMapper
+     */
+    private final ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    private volatile ObjectMapper objectMapper;
+
+    public ResponseResultHandler() {
+        this.objectMapperProvider = null;
+    }
+
+    @Autowired
+    public ResponseResultHandler(ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.objectMapperProvider = objectMapperProvider;
+    }
+
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        // 是否包装在 beforeBodyWrite 中通过一次缓存查询判断
         return true;
     }
 
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
 
-        // springboot 内部会添加一个 StringHttpMessageConverter 的转换器
-        // 如果返回结果为 string, StringHttpMessageConverter 会对 string 进行处理
-        // 会导致 ResponseResultAdvice 异常, 移除这个转换器
-        // 使用时, 需要将 StringHttpMessageConverter 从 HttpMessageConverter 中移除
+        ResponsePolicy policy = resolvePolicy(returnType);
+        if (policy.raw) {
+            return body;
+        }
+        // 接口直接返回 Response 时同样需要计算 ETag
+        if (policy.etag && EnvelopeHttpMessageConverter.class.isAssignableFrom(selectedConverterType)
+                && MediaType.APPLICATION_JSON.equalsTypeAndSubtype(selectedContentType)) {
+            markEtag(request);
+        }
+        if (body instanceof Response<?>) {
+            return body;
+        }
+
+        // String 返回结果由 StringHttpMessageConverter 输出, 需要先序列化为 json 字符串
+        if (StringHttpMessageConverter.class.isAssignableFrom(selectedConverterType)) {
+            if (!MediaType.APPLICATION_JSON.equalsTypeAndSubtype(selectedContentType)
+                    && !MediaType.TEXT_PLAIN.equalsTypeAndSubtype(selectedContentType)) {
+                return body;
+            }
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return writeValueAsString(policy.wrap(body));
+        }
 
-        // Content-Type 不是 JSON 格式 或者返回结果已经是 Response, 直接返回结果
-        if (!MediaType.APPLICATION_JSON.equals(selectedContentType) || body instanceof Response<?>) {
+        // Content-Type 不是 JSON 格式, 直接返回结果
+        if (!MediaType.APPLICATION_JSON.equalsTypeAndSubtype(selectedContentType)) {
+            return body;
+        }
+        if (body == null) {
+            return policy.wrap(null);
+        }
+        if (body instanceof Stream<?>) {
+            return closeOnCompletion(new StreamingResponse(policy.code, policy.message, (Stream<?>) body));
+        }
+        if (body instanceof Iterator<?>) {
+            return closeOnCompletion(new StreamingResponse(policy.code, policy.message, (Iterator<?>) body));
+        }
+        if (body instanceof ResponseCursor<?>) {
+            return closeOnCompletion(new StreamingResponse(policy.code, policy.message, (ResponseCursor<?>) body));
+        }
+        if (policy.success && EnvelopeHttpMessageConverter.class.isAssignableFrom(selectedConverterType)
+                && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest().setAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
             return body;
         }
-        return ResponseBuilder.success(body);
+        return policy.wrap(body);
+    }
+
+    /**
+     * 注册请求结束的回调关闭数据源, 已经序列化时回调不做任何操作
+     *
+     * @param streamingResponse 流式响应体
+     * @return 流式响应体
+     */
+    private static StreamingResponse closeOnCompletion(StreamingResponse streamingResponse) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.registerDestructionCallback(STREAMING_CLOSE_CALLBACK, streamingResponse::close, RequestAttributes.SCOPE_REQUEST);
+        }
+        return streamingResponse;
+    }
+
+    /**
+     * GET 和 HEAD 请求标记需要计算 ETag
+     *
+     * @param request 请求
+     */
+    private static void markEtag(ServerHttpRequest request) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String method = servletRequest.getMethod();
+        if (GET.equals(method) || HEAD.equals(method)) {
+            servletRequest.setAttribute(EnvelopeHttpMessageConverter.ETAG_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 获取接口方法的包装策略
+     *
+     * @param returnType 返回类型
+     * @return 包装策略
+     */
+    private ResponsePolicy resolvePolicy(MethodParameter returnType) {
+        Method method = returnType.getMethod();
+        if (method == null) {
+            return ResponsePolicy.SUCCESS;
+        }
+        Class<?> controllerClass = returnType.getContainingClass();
+        MethodClassKey key = new MethodClassKey(method, controllerClass);
+        ResponsePolicy policy = policyCache.get(key);
+        if (policy == null) {
+            policy = buildPolicy(method, controllerClass);
+            policyCache.put(key, policy);
+        }
+        return policy;
+    }
+
+    /**
+     * 计算接口方法的包装策略
+     *
+     * @param method          接口方法
+     * @param controllerClass 接口所在的类
+     * @return 包装策略
+     */
+    private static ResponsePolicy buildPolicy(Method method, Class<?> controllerClass) {
+        ResponsePolicy policy = buildWrapPolicy(method, controllerClass);
+        if (!policy.raw && (AnnotatedElementUtils.hasAnnotation(method, ResponseEtag.class)
+                || AnnotatedElementUtils.hasAnnotation(controllerClass, ResponseEtag.class))) {
+            return policy.withEtag();
+        }
+        return policy;
+    }
+
+    /**
+     * 计算接口方法是否包装以及包装的状态码
+     *
+     * @param method          接口方法
+     * @param controllerClass 接口所在的类
+     * @return 包装策略
+     */
+    private static ResponsePolicy buildWrapPolicy(Method method, Class<?> controllerClass) {
+
+        WrapResponse wrapResponse = AnnotatedElementUtils.findMergedAnnotation(method, WrapResponse.class);
+        if (wrapResponse != null) {
+            return ResponsePolicy.of(wrapResponse);
+        }
+        if (AnnotatedElementUtils.hasAnnotation(method, RawResponse.class)) {
+            return ResponsePolicy.RAW;
+        }
+
+        wrapResponse = AnnotatedElementUtils.findMergedAnnotation(controllerClass, WrapResponse.class);
+        if (wrapResponse != null) {
+            return ResponsePolicy.of(wrapResponse);
+        }
+        if (AnnotatedElementUtils.hasAnnotation(controllerClass, RawResponse.class)
+                || method.getDeclaringClass().getName().startsWith(ACTUATOR_PACKAGE_PREFIX)) {
+            return ResponsePolicy.RAW;
+        }
+
+        ResolvableType type = ResolvableType.forMethodReturnType(method);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric(0);
+        }
+        Class<?> bodyClass = type.toClass();
+        if (Resource.class.isAssignableFrom(bodyClass) || byte[].class == bodyClass
+                || StreamingResponseBody.class.isAssignableFrom(bodyClass)) {
+            return ResponsePolicy.RAW;
+        }
+        return ResponsePolicy.SUCCESS;
+    }
+
+    /**
+     * Response 序列化为 json 字符串
+     *
+     * @param response Response
+     * @return json 字符串
+     */
+    private String writeValueAsString(Response<?> response) {
+        try {
+            return getObjectMapper().writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private ObjectMapper getObjectMapper() {
+        ObjectMapper mapper = objectMapper;
+        if (mapper == null) {
+            mapper = objectMapperProvider != null ? objectMapperProvider.getIfAvailable() : null;
+            if (mapper == null) {
+                mapper = new ObjectMapper();
+            }
+            objectMapper = mapper;
+        }
+        return mapper;
+    }
+
+    /**
+     * 接口方法的包装策略
+     */
+    private static class ResponsePolicy {
+
+        /**
+         * 不包装
+         */
+        private final static ResponsePolicy RAW = new ResponsePolicy(true, WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), false);
+
+        /**
+         * 包装为成功的 Response
+         */
+        private final static ResponsePolicy SUCCESS = new ResponsePolicy(false, WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), false);
+
+        private final boolean raw;
+
+        private final int code;
+
+        private final String message;
+
+        /**
+         * 是否包装为成功的 Response
+         */
+        private final boolean success;
+
+        /**
+         * 是否计算 ETag
+         */
+        private final boolean etag;
+
+        private ResponsePolicy(boolean raw, int code, String message, boolean etag) {
+            this.raw = raw;
+            this.code = code;
+            this.message = message;
+            this.success = !raw && code == WebStatusCode.SUCCESS.getCode() && WebStatusCode.SUCCESS.getMessage().equals(message);
+            this.etag = etag;
+        }
+
+        private static ResponsePolicy of(WrapResponse wrapResponse) {
+            if (wrapResponse.code() == SUCCESS.code && SUCCESS.message.equals(wrapResponse.message())) {
+                return SUCCESS;
+            }
+            return new ResponsePolicy(false, wrapResponse.code(), wrapResponse.message(), false);
+        }
+
+        private ResponsePolicy withEtag() {
+            return new ResponsePolicy(raw, code, message, true);
+        }
+
+        private Response<?> wrap(Object body) {
+            if (success) {
+                return body == null ? ResponseBuilder.success() : ResponseBuilder.success(body);
+            }
+            return ResponseBuilder.fail(code, message, body);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package io.github.lcn29.web.kit.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.code.StatusCodeInterface;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 在 Controller 之外 (如拦截器中拒绝请求时) 直接输出 Response
+ * 不经过 HttpMessageConverter 和 ResponseResultHandler, 不带内容的失败 Response 按照状态码缓存序列化后的字节
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 00:40
+ */
+public class ResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 不带内容的失败 Response 序列化后的字节, 数量和状态码的数量一致
+     */
+    private final Map<StatusCodeInterface, byte[]> failBodies = new ConcurrentHashMap<>();
+
+    public ResponseWriter() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * @param objectMapper 和 HttpMessageConverter 使用的一致, 保证输出的格式相同
+     */
+    public ResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 输出不带内容的失败 Response
+     *
+     * @param response            响应
+     * @param httpStatus          http 状态码
+     * @param statusCodeInterface 状态码
+     * @throws IOException 输出异常
+     */
+    public void writeFail(HttpServletResponse response, int httpStatus, StatusCodeInterface statusCodeInterface) throws IOException {
+        byte[] body = failBodies.get(statusCodeInterface);
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(ResponseBuilder.fail(statusCodeInterface));
+            failBodies.putIfAbsent(statusCodeInterface, body);
+        }
+        write(response, httpStatus, body);
+    }
+
+    /**
+     * 输出 Response
+     *
+     * @param response   响应
+     * @param httpStatus http 状态码
+     * @param body       响应体
+     * @throws IOException 输出异常
+     */
+    public void write(HttpServletResponse response, int httpStatus, Response<?> body) throws IOException {
+        write(response, httpStatus, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void write(HttpServletResponse response, int httpStatus, byte[] body) throws IOException {
+        response.setStatus(httpStatus);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
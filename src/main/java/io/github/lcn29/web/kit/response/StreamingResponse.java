@@ -0,0 +1,275 @@
+package io.github.lcn29.web.kit.response;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.github.lcn29.web.kit.code.StatusCodeInterface;
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * <pre>
+ * 流式的请求响应体
+ *
+ * 响应内容为 Stream / Iterator / ResponseCursor, 序列化时逐个元素写到输出流, 不需要在内存中持有全部的数据
+ * 输出的格式和 Response 一致: {"statusCode":200,"message":"success","content":[...]}
+ * 每输出 flushInterval 个元素, 刷新一次输出流
+ *
+ * 开始输出后响应状态码已经无法修改, 中途出现异常时, 会先结束元素中未结束的对象和数组以及 content 数组, 再追加 error 字段:
+ * {"statusCode":200,"message":"success","content":[...],"error":{"statusCode":50000,"message":"..."}}
+ * 调用方读取到 error 字段时, 需要认为 content 是不完整的
+ *
+ * 数据源在序列化结束时关闭, 没有序列化 (如写出前的异常) 时, 需要调用 close 关闭
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:45
+ */
+public class StreamingResponse extends Response<Void> implements JsonSerializable {
+
+    private final static long serialVersionUID = 1L;
+
+    private final static Logger logger = LoggerFactory.getLogger(StreamingResponse.class);
+
+    /**
+     * 默认的刷新间隔, 单位: 元素个数
+     */
+    public final static int DEFAULT_FLUSH_INTERVAL = 256;
+
+    /**
+     * 中途异常时追加的字段名
+     */
+    public final static String ERROR_FIELD = "error";
+
+    private final static String STATUS_CODE_FIELD = "statusCode";
+
+    private final static String MESSAGE_FIELD = "message";
+
+    private final static String CONTENT_FIELD = "content";
+
+    /**
+     * 数据读取完成的标识
+     */
+    private final static Object END = new Object();
+
+    /**
+     * Stream / Iterator 中的 null 元素, 用于和游标结束的 null 区分
+     */
+    private final static Object NULL_ELEMENT = new Object();
+
+    /**
+     * 响应内容的数据源
+     */
+    private final transient ResponseCursor<?> cursor;
+
+    /**
+     * 刷新间隔
+     */
+    private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    /**
+     * 数据源是否已经关闭
+     */
+    private transient volatile boolean closed;
+
+    /**
+     * 中途异常时 error 字段中的状态码
+     */
+    private transient StatusCodeInterface errorStatusCode = WebStatusCode.INTERNAL_SERVER_ERROR;
+
+    public StreamingResponse(int statusCode, String message, ResponseCursor<?> cursor) {
+        super(statusCode, message);
+        this.cursor = cursor;
+    }
+
+    public StreamingResponse(int statusCode, String message, Stream<?> stream) {
+        this(statusCode, message, new IteratorCursor(stream.iterator(), stream));
+    }
+
+    public StreamingResponse(int statusCode, String message, Iterator<?> iterator) {
+        this(statusCode, message, new IteratorCursor(iterator, null));
+    }
+
+    /**
+     * 设置刷新间隔
+     *
+     * @param flushInterval 每输出多少个元素刷新一次输出流, 小于等于 0 时只在结束时刷新
+     * @return 当前的响应体
+     */
+    public StreamingResponse flushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * 设置中途异常时 error 字段中的状态码
+     *
+     * @param errorStatusCode 状态码
+     * @return 当前的响应体
+     */
+    public StreamingResponse errorStatusCode(StatusCodeInterface errorStatusCode) {
+        this.errorStatusCode = errorStatusCode;
+        return this;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+
+        gen.writeStartObject();
+        gen.writeNumberField(STATUS_CODE_FIELD, getStatusCode());
+        gen.writeStringField(MESSAGE_FIELD, getMessage());
+        gen.writeFieldName(CONTENT_FIELD);
+        gen.writeStartArray();
+        JsonStreamContext content = gen.getOutputContext();
+
+        long count = 0;
+        try {
+            Object element;
+            while ((element = nextElement()) != END) {
+                serializers.defaultSerializeValue(element, gen);
+                if (flushInterval > 0 && ++count % flushInterval == 0) {
+                    gen.flush();
+                }
+            }
+            gen.writeEndArray();
+        } catch (JsonMappingException | StreamingException e) {
+            // 连接断开等输出流的 IO 异常直接抛出, 数据源和序列化的异常以 error 字段告知调用方
+            logger.warn("StreamingResponse interrupted after {} elements:{}", count, e.getMessage(), e);
+            closeTo(gen, content);
+            gen.writeEndArray();
+            writeError(gen);
+        } finally {
+            close();
+        }
+        gen.writeEndObject();
+        gen.flush();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    /**
+     * 元素序列化到一半失败时, 结束元素中未结束的对象和数组, 回到 content 数组
+     *
+     * @param gen     JsonGenerator
+     * @param content content 数组的上下文
+     * @throws IOException 输出异常
+     */
+    private static void closeTo(JsonGenerator gen, JsonStreamContext content) throws IOException {
+        JsonStreamContext context;
+        while ((context = gen.getOutputContext()) != content && context != null) {
+            if (context.inArray()) {
+                gen.writeEndArray();
+                continue;
+            }
+            try {
+                // 字段名已经写出但值没有写出时补 null, 没有待写的值时 writeNull 在输出前就会抛出异常
+                gen.writeNull();
+            } catch (JsonGenerationException ignore) {
+                // 没有待写的值, 直接结束对象
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 写入 error 字段
+     *
+     * @param gen JsonGenerator
+     * @throws IOException 输出异常
+     */
+    private void writeError(JsonGenerator gen) throws IOException {
+        gen.writeFieldName(ERROR_FIELD);
+        gen.writeStartObject();
+        gen.writeNumberField(STATUS_CODE_FIELD, errorStatusCode.getCode());
+        gen.writeStringField(MESSAGE_FIELD, errorStatusCode.getMessage());
+        gen.writeEndObject();
+    }
+
+    /**
+     * 获取下一个元素
+     *
+     * @return 下一个元素, 没有更多的数据时返回 END
+     */
+    private Object nextElement() {
+        try {
+            Object element = cursor.next();
+            return element == null ? END : unwrapNull(element);
+        } catch (Exception e) {
+            throw new StreamingException(e);
+        }
+    }
+
+    /**
+     * 关闭数据源, 多次调用只会关闭一次
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            cursor.close();
+        } catch (Exception e) {
+            logger.warn("StreamingResponse close cursor error:{}", e.getMessage(), e);
+        }
+    }
+
+    private static Object unwrapNull(Object element) {
+        return element == NULL_ELEMENT ? null : element;
+    }
+
+    /**
+     * 数据源读取的异常
+     */
+    private static class StreamingException extends RuntimeException {
+
+        private final static long serialVersionUID = 1L;
+
+        private StreamingException(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    /**
+     * Iterator / Stream 转 ResponseCursor, 结束时关闭 Stream
+     */
+    private static class IteratorCursor implements ResponseCursor<Object> {
+
+        private final Iterator<?> iterator;
+
+        private final Stream<?> stream;
+
+        private IteratorCursor(Iterator<?> iterator, Stream<?> stream) {
+            this.iterator = iterator;
+            this.stream = stream;
+        }
+
+        @Override
+        public Object next() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Object element = iterator.next();
+            return element == null ? NULL_ELEMENT : element;
+        }
+
+        @Override
+        public void close() {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
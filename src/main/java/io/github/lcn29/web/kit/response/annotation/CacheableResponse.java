@@ -0,0 +1,46 @@
+package io.github.lcn29.web.kit.response.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 缓存 GET 接口序列化后的响应体, 相同的请求路径和参数 (以及 varyHeaders 指定的请求头) 在有效期内直接返回缓存的字节, 不执行接口
+ * 可以用在 Controller 类或者方法上, 方法上的优先
+ * 需要同时注册 ResponseCacheInterceptor 和 ResponseCacheFilter
+ *
+ * 只用于幂等的接口. 默认请求带有 Authorization, Proxy-Authorization 或者 Cookie 时不缓存也不读取缓存,
+ * 避免不同用户共用同一个响应:
+ * 1. 和用户相关的接口把凭证请求头加入 varyHeaders, 每个凭证各自缓存, 如 varyHeaders = "Authorization"
+ * 2. 和用户无关, 只是请求恰好带有凭证 (如浏览器的 Cookie) 的接口, 设置 shareAcrossUsers = true
+ *
+ * 命中时重放缓存的 ETag 和 Cache-Control, 请求的 If-None-Match 和 ETag 一致时返回 304;
+ * 响应的 Cache-Control 为 private 或者 no-store 时不缓存
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CacheableResponse {
+
+    /**
+     * 缓存的有效期, 单位秒
+     */
+    long ttlSeconds() default 10L;
+
+    /**
+     * 作为缓存 key 的一部分的请求头
+     */
+    String[] varyHeaders() default {};
+
+    /**
+     * 响应和用户无关, 带有凭证的请求也共用缓存
+     */
+    boolean shareAcrossUsers() default false;
+}
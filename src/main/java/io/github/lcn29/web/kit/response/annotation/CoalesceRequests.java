@@ -0,0 +1,46 @@
+package io.github.lcn29.web.kit.response.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 合并并发的相同 GET 请求 (single-flight): 相同的请求路径, 参数 (按照名称排序) 和 varyHeaders 指定的请求头,
+ * 同一时间只有第一个请求执行接口, 其他请求等待并直接输出第一个请求序列化后的响应体
+ * 可以用在 Controller 类或者方法上, 方法上的优先
+ * 需要同时注册 RequestCoalescingInterceptor 和 RequestCoalescingFilter
+ *
+ * 等待超过 timeoutMillis, 或者第一个请求失败 (异常, 状态码不是 200, 响应体过大) 时, 等待的请求自己执行接口
+ * 只用于幂等的接口. 默认请求带有 Authorization, Proxy-Authorization 或者 Cookie 时不合并, 避免不同用户共用同一个响应:
+ * 1. 和用户相关的接口把凭证请求头加入 varyHeaders, 只合并相同凭证的请求, 如 varyHeaders = "Authorization"
+ * 2. 和用户无关, 只是请求恰好带有凭证 (如浏览器的 Cookie) 的接口, 设置 shareAcrossUsers = true
+ *
+ * 等待的请求同时重放第一个请求的 ETag 和 Cache-Control, 请求的 If-None-Match 和 ETag 一致时返回 304
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:50
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CoalesceRequests {
+
+    /**
+     * 等待第一个请求的最长时间, 单位毫秒
+     */
+    long timeoutMillis() default 3000L;
+
+    /**
+     * 作为合并 key 的一部分的请求头
+     */
+    String[] varyHeaders() default {};
+
+    /**
+     * 响应和用户无关, 带有凭证的请求也合并
+     */
+    boolean shareAcrossUsers() default false;
+}
@@ -0,0 +1,22 @@
+package io.github.lcn29.web.kit.response.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 返回结果不包装为 Response, 直接输出
+ * 可以用在 Controller 类或者方法上, 方法上的 @WrapResponse 优先于类上的 @RawResponse
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 19:50
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RawResponse {
+}
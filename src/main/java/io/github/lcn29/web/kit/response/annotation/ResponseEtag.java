@@ -0,0 +1,27 @@
+package io.github.lcn29.web.kit.response.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 为 GET 接口的响应生成 ETag, 请求头 If-None-Match 匹配时返回 304 Not Modified, 不输出响应体
+ * 可以用在 Controller 类或者方法上
+ *
+ * 1. ETag 为 EnvelopeHttpMessageConverter 输出时增量计算的 MD5, 不需要像 ShallowEtagHeaderFilter 一样再缓存一份响应体
+ * 2. 只支持 EnvelopeHttpMessageConverter 输出, 并且不超过 64KB (转换器缓冲区的大小) 的响应, 超过时响应头已经提交, 不设置 ETag
+ * 3. 接口可以提供自己的版本号, 调用 WebRequest.checkNotModified(version) 并在返回 true 时返回 null,
+ *    这时不会执行序列化, 响应中已经有 ETag 时也不再计算
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 02:30
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ResponseEtag {
+}
@@ -0,0 +1,32 @@
+package io.github.lcn29.web.kit.response.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 返回结果包装为 Response, 并指定 Response 的状态码和描述信息
+ * 可以用在 Controller 类或者方法上, 方法上的注解优先于类上的注解
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 19:52
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface WrapResponse {
+
+    /**
+     * Response 的状态码, 默认和 WebStatusCode.SUCCESS 一致
+     */
+    int code() default 200;
+
+    /**
+     * Response 的描述信息, 默认和 WebStatusCode.SUCCESS 一致
+     */
+    String message() default "success";
+}
@@ -0,0 +1,212 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * <pre>
+ * 输出的同时复制响应体的包装, ResponseCacheFilter 和 RequestCoalescingFilter 共用
+ * 第一次输出时请求已经经过拦截器, 请求属性中有 enableAttribute 时才复制
+ * 通过 Writer 输出, 或者超过 maxBytes 时停止复制
+ * 同时保存 REPLAY_HEADERS 中的响应头, 给其他请求输出时重放
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+class BodyCopyResponseWrapper extends HttpServletResponseWrapper {
+
+    private final static String SET_COOKIE = "Set-Cookie";
+
+    /**
+     * 给其他请求输出时重放的响应头
+     */
+    private final static String[] REPLAY_HEADERS = {HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL};
+
+    private final static String[] NO_HEADERS = new String[0];
+
+    private final static String NO_STORE = "no-store";
+
+    private final static String PRIVATE = "private";
+
+    private final HttpServletRequest request;
+
+    /**
+     * 需要复制的请求属性的标识
+     */
+    private final String enableAttribute;
+
+    private final int maxBytes;
+
+    /**
+     * null: 还没有输出; true: 复制中; false: 不复制
+     */
+    private Boolean capturing;
+
+    private byte[] body;
+
+    private int size;
+
+    private ServletOutputStream outputStream;
+
+    BodyCopyResponseWrapper(HttpServletResponse response, HttpServletRequest request, String enableAttribute, int maxBytes) {
+        super(response);
+        this.request = request;
+        this.enableAttribute = enableAttribute;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CopyOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        capturing = Boolean.FALSE;
+        return super.getWriter();
+    }
+
+    /**
+     * 判断复制的响应体是否可以给其他请求使用: 完整复制, 状态码为 200, 没有 Set-Cookie, Cache-Control 不是 private 或者 no-store
+     *
+     * @return true: 可以
+     */
+    boolean isCacheable() {
+        if (!Boolean.TRUE.equals(capturing) || getStatus() != HttpServletResponse.SC_OK || containsHeader(SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null) {
+            return true;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String name = directive.trim();
+            if (name.regionMatches(true, 0, NO_STORE, 0, NO_STORE.length())
+                    || name.regionMatches(true, 0, PRIVATE, 0, PRIVATE.length())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取需要重放的响应头
+     *
+     * @return 名称和值交替排列
+     */
+    String[] getReplayHeaders() {
+        String[] headers = NO_HEADERS;
+        for (String name : REPLAY_HEADERS) {
+            String value = getHeader(name);
+            if (value != null) {
+                headers = Arrays.copyOf(headers, headers.length + 2);
+                headers[headers.length - 2] = name;
+                headers[headers.length - 1] = value;
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * 重放响应头, 有 ETag 时检查请求的 If-None-Match
+     *
+     * @param headers  getReplayHeaders 返回的响应头
+     * @param request  请求
+     * @param response 响应, 状态码已经设置为 200
+     * @return true: 已经返回 304, 不需要输出响应体
+     */
+    static boolean replay(String[] headers, HttpServletRequest request, HttpServletResponse response) {
+        String etag = null;
+        for (int i = 0; i < headers.length; i += 2) {
+            response.setHeader(headers[i], headers[i + 1]);
+            if (HttpHeaders.ETAG.equals(headers[i])) {
+                etag = headers[i + 1];
+            }
+        }
+        return etag != null && new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (capturing == null) {
+            capturing = request.getAttribute(enableAttribute) != null;
+            if (capturing) {
+                body = new byte[Math.min(maxBytes, Math.max(len, 1024))];
+            }
+        }
+        if (!capturing) {
+            return;
+        }
+        if (size + len > maxBytes) {
+            capturing = Boolean.FALSE;
+            body = null;
+            return;
+        }
+        if (size + len > body.length) {
+            body = Arrays.copyOf(body, Math.min(maxBytes, Math.max(size + len, body.length << 1)));
+        }
+        System.arraycopy(b, off, body, size, len);
+        size += len;
+    }
+
+    private class CopyOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CopyOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import io.github.lcn29.web.kit.constants.WebConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 相同请求的合并 (single-flight)
+ *
+ * 1. 每个 key 同一时间只有一个执行中的请求 (leader), 由 RequestCoalescingFilter 复制它的响应体
+ * 2. 其他相同 key 的请求在自己的线程上等待, leader 结束后各自输出共享的响应体, 日志中的 traceId 仍然是自己的,
+ *    并通过 LEADER_TRACE_ID_ATTRIBUTE 和 debug 日志关联到 leader 的 traceId
+ * 3. leader 结束后立即移除 key, 之后的请求重新执行, 合并不是缓存, 需要缓存时使用 @CacheableResponse
+ * 4. 等待超时或者 leader 失败时, 等待的请求自己执行接口
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:50
+ */
+public class RequestCoalescer {
+
+    private final static Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    /**
+     * 请求属性中 leader 的标识, 值为 Flight, 由 RequestCoalescingFilter 在请求结束后完成
+     */
+    final static String LEADER_ATTRIBUTE = RequestCoalescer.class.getName() + ".leader";
+
+    /**
+     * 请求属性中 RequestCoalescingFilter 的响应包装, 没有包装时不合并
+     */
+    final static String FILTER_ATTRIBUTE = RequestCoalescer.class.getName() + ".filter";
+
+    /**
+     * 请求属性中合并到的 leader 的 traceId
+     */
+    public final static String LEADER_TRACE_ID_ATTRIBUTE = RequestCoalescer.class.getName() + ".leaderTraceId";
+
+    private final static int DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    /**
+     * 执行中的请求, key: 合并的 key
+     */
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private int maxBytes = DEFAULT_MAX_BYTES;
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * 设置共享的响应体的上限, 超出时等待的请求自己执行接口
+     *
+     * @param maxBytes 字节数
+     * @return 当前的合并
+     */
+    public RequestCoalescer maxBytes(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive, but was " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 合并请求
+     * 没有相同 key 的请求在执行时, 当前请求成为 leader, 返回 false 继续执行;
+     * 否则等待 leader 结束, 成功时重放 leader 的响应头, 输出共享的响应体并返回 true;
+     * 请求的 If-None-Match 和 leader 的 ETag 一致时只返回 304
+     *
+     * @param key           合并的 key
+     * @param timeoutMillis 等待的最长时间, 单位毫秒
+     * @param request       请求
+     * @param response      响应
+     * @return true: 已经输出共享的响应体, 不需要再执行接口
+     * @throws IOException 输出异常
+     */
+    public boolean coalesce(String key, long timeoutMillis, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getAttribute(FILTER_ATTRIBUTE) == null) {
+            return false;
+        }
+        Flight flight = new Flight(key, MDC.get(WebConstants.TRACE_ID));
+        Flight leader = flights.putIfAbsent(key, flight);
+        if (leader == null) {
+            request.setAttribute(LEADER_ATTRIBUTE, flight);
+            return false;
+        }
+
+        Shared shared;
+        try {
+            if (!leader.latch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                logger.debug("Coalesced request timed out after {}ms, leader traceId:{}, key:{}", timeoutMillis, leader.traceId, key);
+                return false;
+            }
+            shared = leader.shared;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (shared == null) {
+            fallbacks.increment();
+            logger.debug("Coalesced request leader failed, leader traceId:{}, key:{}", leader.traceId, key);
+            return false;
+        }
+
+        coalesced.increment();
+        request.setAttribute(LEADER_TRACE_ID_ATTRIBUTE, leader.traceId);
+        logger.debug("Coalesced with leader traceId:{}, key:{}", leader.traceId, key);
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (BodyCopyResponseWrapper.replay(shared.headers, request, response)) {
+            return true;
+        }
+        if (shared.contentType != null) {
+            response.setContentType(shared.contentType);
+        }
+        response.setContentLength(shared.length);
+        response.getOutputStream().write(shared.body, 0, shared.length);
+        return true;
+    }
+
+    /**
+     * leader 结束, 唤醒等待的请求
+     *
+     * @param flight      leader 的标识
+     * @param body        响应体, 失败时为空
+     * @param length      响应体的长度
+     * @param contentType 内容类型
+     * @param headers     重放的响应头, 名称和值交替排列
+     */
+    void complete(Flight flight, byte[] body, int length, String contentType, String[] headers) {
+        flights.remove(flight.key, flight);
+        if (body != null) {
+            flight.shared = new Shared(body, length, contentType, headers);
+        }
+        flight.latch.countDown();
+    }
+
+    /**
+     * 获取执行中的 leader 的数量
+     *
+     * @return 数量
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    /**
+     * 获取使用了共享响应体的请求数
+     *
+     * @return 数量
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 获取等待超时的请求数
+     *
+     * @return 数量
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 获取因为 leader 失败自己执行的请求数
+     *
+     * @return 数量
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * 执行中的 leader
+     */
+    static class Flight {
+
+        private final String key;
+
+        private final String traceId;
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        /**
+         * 共享的响应体, 在 latch 之前写入, 失败时为空
+         */
+        private Shared shared;
+
+        private Flight(String key, String traceId) {
+            this.key = key;
+            this.traceId = traceId;
+        }
+    }
+
+    /**
+     * leader 的响应, 所有等待的请求只读共享
+     */
+    private static class Shared {
+
+        private final byte[] body;
+
+        private final int length;
+
+        private final String contentType;
+
+        /**
+         * 重放的响应头, 名称和值交替排列
+         */
+        private final String[] headers;
+
+        private Shared(byte[] body, int length, String contentType, String[] headers) {
+            this.body = body;
+            this.length = length;
+            this.contentType = contentType;
+            this.headers = headers;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * <pre>
+ * 请求合并的过滤器, 复制 leader 的响应体, 请求结束后 (异步请求在最后一次分发结束后) 交给等待的请求
+ * leader 异常, 状态码不是 200, 通过 Writer 输出或者响应体超过 maxBytes 时, 等待的请求自己执行接口
+ *
+ * 只包装 GET 请求, 需要在 CompressionFilter 之后, 复制的是压缩前的响应体
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 03:50
+ */
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    private final static String GET = "GET";
+
+    private final RequestCoalescer coalescer;
+
+    public RequestCoalescingFilter(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!GET.equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 异步分发时使用初始分发中的包装, ResponseCacheFilter 也使用相同类型的包装, 所以通过请求属性获取
+        Object existing = request.getAttribute(RequestCoalescer.FILTER_ATTRIBUTE);
+        BodyCopyResponseWrapper responseWrapper;
+        if (existing instanceof BodyCopyResponseWrapper) {
+            responseWrapper = (BodyCopyResponseWrapper) existing;
+        } else {
+            responseWrapper = new BodyCopyResponseWrapper(response, request, RequestCoalescer.LEADER_ATTRIBUTE, coalescer.getMaxBytes());
+            request.setAttribute(RequestCoalescer.FILTER_ATTRIBUTE, responseWrapper);
+        }
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            completed = true;
+        } finally {
+            Object flight = request.getAttribute(RequestCoalescer.LEADER_ATTRIBUTE);
+            if (flight instanceof RequestCoalescer.Flight && !request.isAsyncStarted()) {
+                request.removeAttribute(RequestCoalescer.LEADER_ATTRIBUTE);
+                boolean shared = completed && responseWrapper.isCacheable();
+                coalescer.complete((RequestCoalescer.Flight) flight, shared ? responseWrapper.getBody() : null,
+                        responseWrapper.getSize(), responseWrapper.getContentType(), responseWrapper.getReplayHeaders());
+            }
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import io.github.lcn29.web.kit.compress.GzipCompressor;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 堆外的响应缓存, 存放序列化后的完整响应体 (包括 Response 的包装)
+ *
+ * 1. 响应体存放在直接内存的 slab (默认 1MB) 中, 按照 4KB 的块分配, slab 按需创建, 总大小不超过 maxBytes, 不占用老年代
+ * 2. 超出大小时按照 LRU 淘汰, 过期的条目在读取时或者被淘汰时释放
+ * 3. 命中时直接把块中的字节写到响应中, 不经过 Controller 和序列化; 写入期间条目被淘汰时, 块在写入结束后才释放
+ *    同时重放保存的 ETag 和 Cache-Control, 请求的 If-None-Match 一致时返回 304
+ * 4. 设置了 GzipCompressor 时, 放入缓存时同时保存压缩后的响应体, 接受 gzip 的请求直接输出, 每个条目只压缩一次
+ *
+ * 条目的索引在堆上, 通过对象锁保护, 写入响应在锁外进行
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+public class ResponseCache {
+
+    /**
+     * 请求属性中待缓存的 key 的标识, 由 ResponseCacheInterceptor 设置, ResponseCacheFilter 在请求结束后缓存
+     */
+    final static String PENDING_ATTRIBUTE = ResponseCache.class.getName() + ".pending";
+
+    private final static int CHUNK_SIZE = 4 * 1024;
+
+    private final static int CHUNKS_PER_SLAB = 256;
+
+    private final static long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final static int DEFAULT_MAX_ENTRY_BYTES = 256 * 1024;
+
+    /**
+     * 写入响应时使用的临时数组, 只有一个块的大小
+     */
+    private final static ThreadLocal<byte[]> TRANSFER_BUFFER = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    private final long maxBytes;
+
+    private final ByteBuffer[] slabs;
+
+    private int slabCount;
+
+    /**
+     * 空闲的块的编号
+     */
+    private final int[] freeChunks;
+
+    private int freeCount;
+
+    /**
+     * 按照访问顺序排列, 最久没有访问的在最前
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75F, true);
+
+    private int maxEntryBytes = DEFAULT_MAX_ENTRY_BYTES;
+
+    /**
+     * 预先压缩使用的压缩, 为空时不保存压缩后的响应体
+     */
+    private volatile GzipCompressor compressor;
+
+    private long usedBytes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes 占用的直接内存的上限
+     */
+    public ResponseCache(long maxBytes) {
+        long slabSize = (long) CHUNK_SIZE * CHUNKS_PER_SLAB;
+        if (maxBytes < slabSize) {
+            throw new IllegalArgumentException("maxBytes must be at least " + slabSize + ", but was " + maxBytes);
+        }
+        int maxSlabs = (int) Math.min(Integer.MAX_VALUE / CHUNKS_PER_SLAB, maxBytes / slabSize);
+        this.maxBytes = maxSlabs * slabSize;
+        this.slabs = new ByteBuffer[maxSlabs];
+        this.freeChunks = new int[maxSlabs * CHUNKS_PER_SLAB];
+    }
+
+    /**
+     * 标记请求的响应需要缓存
+     *
+     * @param request   请求
+     * @param key       缓存的 key
+     * @param ttlMillis 有效期, 单位毫秒
+     */
+    public static void markPending(HttpServletRequest request, String key, long ttlMillis) {
+        request.setAttribute(PENDING_ATTRIBUTE, new Pending(key, ttlMillis));
+    }
+
+    /**
+     * 设置单个响应体的上限, 超出的不缓存
+     *
+     * @param maxEntryBytes 字节数
+     * @return 当前的缓存
+     */
+    public ResponseCache maxEntryBytes(int maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        return this;
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * 设置预先压缩使用的压缩, 之后放入缓存的条目同时保存 gzip 格式的响应体
+     *
+     * @param compressor 压缩, 可以和 CompressionFilter 共用
+     * @return 当前的缓存
+     */
+    public ResponseCache compressor(GzipCompressor compressor) {
+        this.compressor = compressor;
+        return this;
+    }
+
+    /**
+     * 命中时把缓存的响应头和响应体写到响应中
+     * 请求接受 gzip 并且有压缩后的响应体时输出压缩后的; 请求的 If-None-Match 和缓存的 ETag 一致时只返回 304
+     *
+     * @param key      缓存的 key
+     * @param request  请求
+     * @param response 响应
+     * @return true: 命中并且已经写入
+     * @throws IOException 写入异常
+     */
+    public boolean writeTo(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expireNanoTime - System.nanoTime() <= 0) {
+                remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return false;
+            }
+            entry.pins++;
+        }
+        hits.increment();
+        try {
+            response.setStatus(HttpServletResponse.SC_OK);
+            if (entry.gzipLength > 0) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (BodyCopyResponseWrapper.replay(entry.headers, request, response)) {
+                return true;
+            }
+            if (entry.contentType != null) {
+                response.setContentType(entry.contentType);
+            }
+            int from = 0;
+            int remaining = entry.length;
+            if (entry.gzipLength > 0 && GzipCompressor.acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GzipCompressor.GZIP);
+                from = chunkCount(entry.length);
+                remaining = entry.gzipLength;
+            }
+            response.setContentLength(remaining);
+            ServletOutputStream outputStream = response.getOutputStream();
+            byte[] transfer = TRANSFER_BUFFER.get();
+            for (int i = from; remaining > 0; i++) {
+                int chunk = entry.chunks[i];
+                int length = Math.min(remaining, CHUNK_SIZE);
+                ByteBuffer slab = slabs[chunk / CHUNKS_PER_SLAB].duplicate();
+                slab.position((chunk % CHUNKS_PER_SLAB) * CHUNK_SIZE);
+                slab.get(transfer, 0, length);
+                outputStream.write(transfer, 0, length);
+                remaining -= length;
+            }
+        } finally {
+            synchronized (this) {
+                entry.pins--;
+                if (entry.removed && entry.pins == 0) {
+                    free(entry);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 缓存响应体
+     *
+     * @param key         缓存的 key
+     * @param body        响应体
+     * @param length      响应体的长度
+     * @param contentType 内容类型
+     * @param headers     命中时重放的响应头, 名称和值交替排列
+     * @param ttlMillis   有效期, 单位毫秒
+     * @return true: 缓存成功, false: 超出大小
+     */
+    public boolean put(String key, byte[] body, int length, String contentType, String[] headers, long ttlMillis) {
+        if (length > maxEntryBytes) {
+            return false;
+        }
+        // 压缩在锁外进行, 压缩后没有变小时不保存
+        GzipCompressor gzipCompressor = compressor;
+        byte[] gzip = null;
+        if (gzipCompressor != null && gzipCompressor.shouldCompress(length)) {
+            gzip = gzipCompressor.compress(body, 0, length);
+            if (gzip.length >= length) {
+                gzip = null;
+            }
+        }
+        int gzipLength = gzip == null ? 0 : gzip.length;
+        return put(key, body, length, gzip, gzipLength, contentType, headers, ttlMillis);
+    }
+
+    /**
+     * 分配块并保存原始和压缩后的响应体
+     */
+    private synchronized boolean put(String key, byte[] body, int length, byte[] gzip, int gzipLength, String contentType,
+                                     String[] headers, long ttlMillis) {
+        int bodyChunks = chunkCount(length);
+        int needed = bodyChunks + chunkCount(gzipLength);
+        if (needed > freeChunks.length) {
+            return false;
+        }
+        remove(key);
+        while (freeCount < needed) {
+            if (!addSlab() && !evictEldest()) {
+                return false;
+            }
+        }
+
+        int[] chunks = new int[needed];
+        copyToChunks(body, length, chunks, 0);
+        if (gzip != null) {
+            copyToChunks(gzip, gzipLength, chunks, bodyChunks);
+        }
+        entries.put(key, new Entry(chunks, length, gzipLength, contentType, headers,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+        usedBytes += (long) needed * CHUNK_SIZE;
+        return true;
+    }
+
+    /**
+     * 清空缓存, 已经创建的 slab 保留
+     */
+    public synchronized void invalidateAll() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            markRemoved(entry);
+        }
+    }
+
+    /**
+     * 获取快照
+     *
+     * @return 快照
+     */
+    public synchronized ResponseCacheSnapshot snapshot() {
+        return new ResponseCacheSnapshot(entries.size(), usedBytes, (long) slabCount * CHUNKS_PER_SLAB * CHUNK_SIZE,
+                maxBytes, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * 分配空闲的块并复制内容
+     *
+     * @param source 内容
+     * @param length 内容的长度
+     * @param chunks 条目的块
+     * @param from   从条目的第几个块开始
+     */
+    private void copyToChunks(byte[] source, int length, int[] chunks, int from) {
+        for (int offset = 0, i = from; offset < length; offset += CHUNK_SIZE, i++) {
+            int chunk = freeChunks[--freeCount];
+            ByteBuffer slab = slabs[chunk / CHUNKS_PER_SLAB].duplicate();
+            slab.position((chunk % CHUNKS_PER_SLAB) * CHUNK_SIZE);
+            slab.put(source, offset, Math.min(CHUNK_SIZE, length - offset));
+            chunks[i] = chunk;
+        }
+    }
+
+    private static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * 创建新的 slab
+     *
+     * @return false: 已经达到上限
+     */
+    private boolean addSlab() {
+        if (slabCount == slabs.length) {
+            return false;
+        }
+        slabs[slabCount] = ByteBuffer.allocateDirect(CHUNK_SIZE * CHUNKS_PER_SLAB);
+        int firstChunk = slabCount * CHUNKS_PER_SLAB;
+        for (int i = CHUNKS_PER_SLAB - 1; i >= 0; i--) {
+            freeChunks[freeCount++] = firstChunk + i;
+        }
+        slabCount++;
+        return true;
+    }
+
+    /**
+     * 淘汰最久没有访问的条目
+     *
+     * @return false: 没有可以淘汰的条目
+     */
+    private boolean evictEldest() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        Entry entry = iterator.next().getValue();
+        iterator.remove();
+        markRemoved(entry);
+        evictions.increment();
+        return true;
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            markRemoved(entry);
+        }
+    }
+
+    /**
+     * 标记为移除, 没有正在写入的响应时立即释放块
+     */
+    private void markRemoved(Entry entry) {
+        entry.removed = true;
+        if (entry.pins == 0) {
+            free(entry);
+        }
+    }
+
+    private void free(Entry entry) {
+        for (int chunk : entry.chunks) {
+            freeChunks[freeCount++] = chunk;
+        }
+        usedBytes -= (long) entry.chunks.length * CHUNK_SIZE;
+    }
+
+    /**
+     * 缓存的条目, 状态由 ResponseCache 的对象锁保护
+     */
+    private static class Entry {
+
+        /**
+         * 原始响应体的块, 之后是压缩后的响应体的块
+         */
+        private final int[] chunks;
+
+        private final int length;
+
+        /**
+         * 压缩后的长度, 没有预先压缩时为 0
+         */
+        private final int gzipLength;
+
+        private final String contentType;
+
+        /**
+         * 重放的响应头, 名称和值交替排列
+         */
+        private final String[] headers;
+
+        private final long expireNanoTime;
+
+        /**
+         * 正在写入响应的数量
+         */
+        private int pins;
+
+        private boolean removed;
+
+        private Entry(int[] chunks, int length, int gzipLength, String contentType, String[] headers, long expireNanoTime) {
+            this.chunks = chunks;
+            this.length = length;
+            this.gzipLength = gzipLength;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.expireNanoTime = expireNanoTime;
+        }
+    }
+
+    /**
+     * 待缓存的请求
+     */
+    static class Pending {
+
+        final String key;
+
+        final long ttlMillis;
+
+        private Pending(String key, long ttlMillis) {
+            this.key = key;
+            this.ttlMillis = ttlMillis;
+        }
+    }
+}
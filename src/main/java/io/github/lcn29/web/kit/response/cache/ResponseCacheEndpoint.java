@@ -0,0 +1,37 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * <pre>
+ * 响应缓存的查询接口
+ * 默认路径为 /kit/metrics/response-cache, 可以通过 lcn.web.kit.response-cache.path 修改
+ * 返回条目数, 已用/已分配/最大字节数, 命中, 未命中和淘汰次数, 用来判断 maxBytes 是否合适
+ * 同样需要手动注册, 见 README
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+@ResponseBody
+@RequestMapping
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * 获取响应缓存的统计
+     *
+     * @return 快照
+     */
+    @GetMapping("${lcn.web.kit.response-cache.path:/kit/metrics/response-cache}")
+    public ResponseCacheSnapshot responseCache() {
+        return responseCache.snapshot();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * <pre>
+ * 响应缓存的过滤器, 把 ResponseCacheInterceptor 标记的请求的响应体放入 ResponseCache
+ *
+ * 只包装 GET 请求, 第一次输出时请求已经经过拦截器, 没有被标记的请求不复制响应体
+ * 只缓存通过 OutputStream 输出, 状态码为 200, 没有 Set-Cookie, Cache-Control 不是 private 或者 no-store, 并且不超过 maxEntryBytes 的响应
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final static String GET = "GET";
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!GET.equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BodyCopyResponseWrapper responseWrapper = new BodyCopyResponseWrapper(response, request,
+                ResponseCache.PENDING_ATTRIBUTE, responseCache.getMaxEntryBytes());
+        filterChain.doFilter(request, responseWrapper);
+
+        Object pending = request.getAttribute(ResponseCache.PENDING_ATTRIBUTE);
+        if (!(pending instanceof ResponseCache.Pending) || request.isAsyncStarted() || !responseWrapper.isCacheable()) {
+            return;
+        }
+        ResponseCache.Pending pendingEntry = (ResponseCache.Pending) pending;
+        responseCache.put(pendingEntry.key, responseWrapper.getBody(), responseWrapper.getSize(),
+                responseWrapper.getContentType(), responseWrapper.getReplayHeaders(), pendingEntry.ttlMillis);
+    }
+}
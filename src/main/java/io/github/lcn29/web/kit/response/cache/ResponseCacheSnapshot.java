@@ -0,0 +1,89 @@
+package io.github.lcn29.web.kit.response.cache;
+
+/**
+ * <pre>
+ * 响应缓存的快照
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 01:50
+ */
+public class ResponseCacheSnapshot {
+
+    /**
+     * 条目数
+     */
+    private final int entries;
+
+    /**
+     * 条目占用的字节数, 按照块计算
+     */
+    private final long usedBytes;
+
+    /**
+     * 已经分配的直接内存
+     */
+    private final long allocatedBytes;
+
+    /**
+     * 直接内存的上限
+     */
+    private final long maxBytes;
+
+    private final long hits;
+
+    private final long misses;
+
+    /**
+     * 因为空间不足淘汰的条目数
+     */
+    private final long evictions;
+
+    public ResponseCacheSnapshot(int entries, long usedBytes, long allocatedBytes, long maxBytes, long hits, long misses, long evictions) {
+        this.entries = entries;
+        this.usedBytes = usedBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.maxBytes = maxBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 0 ~ 1
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0D : (double) hits / total;
+    }
+}
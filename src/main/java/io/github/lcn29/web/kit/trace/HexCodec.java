@@ -0,0 +1,51 @@
+package io.github.lcn29.web.kit.trace;
+
+/**
+ * <pre>
+ * 十六进制编码工具
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 17:08
+ */
+final class HexCodec {
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private HexCodec() {
+    }
+
+    /**
+     * 将 long 写为 16 位小写十六进制
+     *
+     * @param value  值
+     * @param chars  字符数组
+     * @param offset 开始位置
+     */
+    static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 判断字符串指定区间是否全部为小写十六进制, 且不全为 0
+     *
+     * @param value 字符串
+     * @param start 开始位置 (包含)
+     * @param end   结束位置 (不包含)
+     * @return true: 是, false: 不是
+     */
+    static boolean isLowerHexNonZero(String value, int start, int end) {
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.lcn29.web.kit.trace;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * 传递 traceId 的 CompletableFuture 工具
+ *
+ * supplyAsync / runAsync 在调用时获取上下文快照
+ * 后续的异步阶段 (thenApplyAsync 等) 通过 TraceContextSnapshot.wrapFunction 等方法包装回调, 或者直接使用 TraceExecutors 包装后的线程池
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:15
+ */
+public final class TraceCompletableFutures {
+
+    private TraceCompletableFutures() {
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(TraceContextSnapshot.wrapSupplier(supplier));
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(TraceContextSnapshot.wrapSupplier(supplier), executor);
+    }
+
+    public static CompletableFuture<Void> runAsync(Runnable runnable) {
+        return CompletableFuture.runAsync(TraceContextSnapshot.wrapRunnable(runnable));
+    }
+
+    public static CompletableFuture<Void> runAsync(Runnable runnable, Executor executor) {
+        return CompletableFuture.runAsync(TraceContextSnapshot.wrapRunnable(runnable), executor);
+    }
+
+    public static <T, R> CompletableFuture<R> thenApplyAsync(CompletableFuture<T> future, Function<T, R> function, Executor executor) {
+        return future.thenApplyAsync(TraceContextSnapshot.wrapFunction(function), executor);
+    }
+
+    public static <T> CompletableFuture<Void> thenAcceptAsync(CompletableFuture<T> future, Consumer<T> consumer, Executor executor) {
+        return future.thenAcceptAsync(TraceContextSnapshot.wrapConsumer(consumer), executor);
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.lcn29.web.kit.trace;
+
+import io.github.lcn29.web.kit.constants.WebConstants;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * 请求上下文 (日志上下文 MDC) 的快照, 用于跨线程传递 traceId
+ *
+ * 默认只传递 traceId, 不复制整个 MDC, 需要传递其他 MDC 内容时通过 setPropagateFullMdc(true) 开启
+ * wrapXxx 方法返回的任务本身就是快照, 每个任务只创建一个对象
+ * wrapXxx 方法按照任务类型分别命名, 避免 lambda 参数匹配多个重载
+ * 任务执行前设置快照中的上下文, 执行后恢复线程原有的上下文, 调用方线程直接执行 (如 CallerRunsPolicy) 时也不会丢失
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:02
+ */
+public class TraceContextSnapshot {
+
+    /**
+     * 是否复制整个 MDC
+     */
+    private static volatile boolean propagateFullMdc = false;
+
+    /**
+     * 快照中的 traceId
+     */
+    private final String traceId;
+
+    /**
+     * 快照中完整的 MDC, 只在 propagateFullMdc 开启时有值
+     */
+    private final Map<String, String> contextMap;
+
+    protected TraceContextSnapshot() {
+        if (propagateFullMdc) {
+            this.contextMap = MDC.getCopyOfContextMap();
+            this.traceId = null;
+        } else {
+            this.contextMap = null;
+            this.traceId = MDC.get(WebConstants.TRACE_ID);
+        }
+    }
+
+    /**
+     * 设置是否复制整个 MDC
+     *
+     * @param propagateFullMdc true: 复制整个 MDC, false: 只传递 traceId
+     */
+    public static void setPropagateFullMdc(boolean propagateFullMdc) {
+        TraceContextSnapshot.propagateFullMdc = propagateFullMdc;
+    }
+
+    /**
+     * 获取当前线程上下文的快照
+     *
+     * @return 快照
+     */
+    public static TraceContextSnapshot capture() {
+        return new TraceContextSnapshot();
+    }
+
+    public static Runnable wrapRunnable(Runnable runnable) {
+        return runnable instanceof TraceContextSnapshot ? runnable : new TracedRunnable(runnable);
+    }
+
+    public static <V> Callable<V> wrapCallable(Callable<V> callable) {
+        return callable instanceof TraceContextSnapshot ? callable : new TracedCallable<>(callable);
+    }
+
+    public static <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        return supplier instanceof TraceContextSnapshot ? supplier : new TracedSupplier<>(supplier);
+    }
+
+    public static <T, R> Function<T, R> wrapFunction(Function<T, R> function) {
+        return function instanceof TraceContextSnapshot ? function : new TracedFunction<>(function);
+    }
+
+    public static <T> Consumer<T> wrapConsumer(Consumer<T> consumer) {
+        return consumer instanceof TraceContextSnapshot ? consumer : new TracedConsumer<>(consumer);
+    }
+
+    public String getTraceId() {
+        return contextMap != null ? contextMap.get(WebConstants.TRACE_ID) : traceId;
+    }
+
+    /**
+     * 在快照的上下文中执行任务
+     *
+     * @param runnable 任务
+     */
+    public void run(Runnable runnable) {
+        Object previous = attach();
+        try {
+            runnable.run();
+        } finally {
+            detach(previous);
+        }
+    }
+
+    /**
+     * 在快照的上下文中执行任务
+     *
+     * @param callable 任务
+     * @return 任务的返回值
+     * @throws Exception 任务的异常
+     */
+    public <V> V call(Callable<V> callable) throws Exception {
+        Object previous = attach();
+        try {
+            return callable.call();
+        } finally {
+            detach(previous);
+        }
+    }
+
+    /**
+     * 设置快照中的上下文
+     *
+     * @return 线程原有的上下文, 只传递 traceId 时为原有的 traceId, 否则为原有的 MDC
+     */
+    private Object attach() {
+        if (contextMap != null) {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(contextMap);
+            return previous;
+        }
+        String previous = MDC.get(WebConstants.TRACE_ID);
+        put(traceId, previous);
+        return previous;
+    }
+
+    /**
+     * 恢复线程原有的上下文
+     * 任务执行过程中可能修改或者移除了 traceId, 所以和执行后实际的值比较, 而不是快照中的值
+     *
+     * @param previous attach 返回的原有上下文
+     */
+    @SuppressWarnings("unchecked")
+    private void detach(Object previous) {
+        if (contextMap != null) {
+            if (previous == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap((Map<String, String>) previous);
+            }
+            return;
+        }
+        put((String) previous, MDC.get(WebConstants.TRACE_ID));
+    }
+
+    /**
+     * 设置 traceId, 和当前值相同时不做任何操作
+     *
+     * @param value   需要设置的值, 为空时移除
+     * @param current 当前的值
+     */
+    private static void put(String value, String current) {
+        if (value == null) {
+            if (current != null) {
+                MDC.remove(WebConstants.TRACE_ID);
+            }
+        } else if (!value.equals(current)) {
+            MDC.put(WebConstants.TRACE_ID, value);
+        }
+    }
+
+    private static final class TracedRunnable extends TraceContextSnapshot implements Runnable {
+
+        private final Runnable delegate;
+
+        private TracedRunnable(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            run(delegate);
+        }
+    }
+
+    private static final class TracedCallable<V> extends TraceContextSnapshot implements Callable<V> {
+
+        private final Callable<V> delegate;
+
+        private TracedCallable(Callable<V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public V call() throws Exception {
+            return call(delegate);
+        }
+    }
+
+    private static final class TracedSupplier<T> extends TraceContextSnapshot implements Supplier<T> {
+
+        private final Supplier<T> delegate;
+
+        private TracedSupplier(Supplier<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T get() {
+            Object previous = super.attach();
+            try {
+                return delegate.get();
+            } finally {
+                super.detach(previous);
+            }
+        }
+    }
+
+    private static final class TracedFunction<T, R> extends TraceContextSnapshot implements Function<T, R> {
+
+        private final Function<T, R> delegate;
+
+        private TracedFunction(Function<T, R> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public R apply(T t) {
+            Object previous = super.attach();
+            try {
+                return delegate.apply(t);
+            } finally {
+                super.detach(previous);
+            }
+        }
+    }
+
+    private static final class TracedConsumer<T> extends TraceContextSnapshot implements Consumer<T> {
+
+        private final Consumer<T> delegate;
+
+        private TracedConsumer(Consumer<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accept(T t) {
+            Object previous = super.attach();
+            try {
+                delegate.accept(t);
+            } finally {
+                super.detach(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.lcn29.web.kit.trace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <pre>
+ * 传递 traceId 的线程池包装
+ * 提交的任务在提交时获取上下文快照, 在执行时设置到执行线程上
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:12
+ */
+public final class TraceExecutors {
+
+    private TraceExecutors() {
+    }
+
+    /**
+     * 包装 Executor
+     *
+     * @param executor 原始的 Executor
+     * @return 传递 traceId 的 Executor
+     */
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ExecutorService) {
+            return wrap((ExecutorService) executor);
+        }
+        if (executor instanceof TraceExecutor) {
+            return executor;
+        }
+        return new TraceExecutor(executor);
+    }
+
+    /**
+     * 包装 ExecutorService
+     *
+     * @param executorService 原始的 ExecutorService
+     * @return 传递 traceId 的 ExecutorService
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        if (executorService instanceof ScheduledExecutorService) {
+            return wrap((ScheduledExecutorService) executorService);
+        }
+        if (executorService instanceof TraceExecutorService) {
+            return executorService;
+        }
+        return new TraceExecutorService(executorService);
+    }
+
+    /**
+     * 包装 ScheduledExecutorService
+     * 快照在调用 schedule 时获取, 周期任务的每次执行都使用同一个快照
+     *
+     * @param scheduledExecutorService 原始的 ScheduledExecutorService
+     * @return 传递 traceId 的 ScheduledExecutorService
+     */
+    public static ScheduledExecutorService wrap(ScheduledExecutorService scheduledExecutorService) {
+        if (scheduledExecutorService instanceof TraceScheduledExecutorService) {
+            return scheduledExecutorService;
+        }
+        return new TraceScheduledExecutorService(scheduledExecutorService);
+    }
+
+    private static <T> List<Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            wrapped.add(TraceContextSnapshot.wrapCallable(task));
+        }
+        return wrapped;
+    }
+
+    private static final class TraceExecutor implements Executor {
+
+        private final Executor delegate;
+
+        private TraceExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(TraceContextSnapshot.wrapRunnable(command));
+        }
+    }
+
+    private static class TraceExecutorService implements ExecutorService {
+
+        private final ExecutorService delegate;
+
+        private TraceExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(TraceContextSnapshot.wrapRunnable(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(TraceContextSnapshot.wrapCallable(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(TraceContextSnapshot.wrapRunnable(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(TraceContextSnapshot.wrapRunnable(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static final class TraceScheduledExecutorService extends TraceExecutorService implements ScheduledExecutorService {
+
+        private final ScheduledExecutorService delegate;
+
+        private TraceScheduledExecutorService(ScheduledExecutorService delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return delegate.schedule(TraceContextSnapshot.wrapRunnable(command), delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return delegate.schedule(TraceContextSnapshot.wrapCallable(callable), delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return delegate.scheduleAtFixedRate(TraceContextSnapshot.wrapRunnable(command), initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return delegate.scheduleWithFixedDelay(TraceContextSnapshot.wrapRunnable(command), initialDelay, delay, unit);
+        }
+    }
+}
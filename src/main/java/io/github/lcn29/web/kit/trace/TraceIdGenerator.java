@@ -0,0 +1,40 @@
+package io.github.lcn29.web.kit.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <pre>
+ * traceId 生成器
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 17:02
+ */
+@FunctionalInterface
+public interface TraceIdGenerator {
+
+    /**
+     * 生成 traceId
+     *
+     * @return traceId
+     */
+    String generate();
+
+    /**
+     * 生成 64 位的 spanId, 16 位小写十六进制字符串
+     * 默认使用 ThreadLocalRandom 生成, 需要和 traceId 使用同一套规则时可以重写
+     *
+     * @return spanId
+     */
+    default String generateSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long value = random.nextLong();
+        // W3C 规定全 0 的 parent-id 无效
+        while (value == 0) {
+            value = random.nextLong();
+        }
+        char[] chars = new char[TraceParent.PARENT_ID_LENGTH];
+        HexCodec.writeHex(value, chars, 0);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.lcn29.web.kit.trace;
+
+/**
+ * <pre>
+ * W3C Trace Context 的 traceparent 请求头
+ * 格式: {version}-{trace-id}-{parent-id}-{trace-flags}, 如 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01
+ * 响应头 traceresponse 的格式相同, parent-id 为当前服务的 span-id
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 17:15
+ */
+public final class TraceParent {
+
+    /**
+     * 请求头的名称
+     */
+    public final static String HEADER = "traceparent";
+
+    /**
+     * 响应头的名称
+     */
+    public final static String RESPONSE_HEADER = "traceresponse";
+
+    /**
+     * trace-id 的长度
+     */
+    public final static int TRACE_ID_LENGTH = 32;
+
+    /**
+     * parent-id 的长度
+     */
+    public final static int PARENT_ID_LENGTH = 16;
+
+    /**
+     * 当前支持的版本
+     */
+    private final static String VERSION = "00";
+
+    /**
+     * 默认的 trace-flags: sampled
+     */
+    public final static String DEFAULT_FLAGS = "01";
+
+    /**
+     * version 为 00 时, traceparent 的长度
+     */
+    private final static int LENGTH = 55;
+
+    private final static int TRACE_ID_OFFSET = 3;
+
+    private final static int PARENT_ID_OFFSET = TRACE_ID_OFFSET + TRACE_ID_LENGTH + 1;
+
+    private final static int FLAGS_OFFSET = PARENT_ID_OFFSET + PARENT_ID_LENGTH + 1;
+
+    private TraceParent() {
+    }
+
+    /**
+     * 从 traceparent 中获取 trace-id
+     *
+     * @param traceParent 请求头的值
+     * @return trace-id, 格式不合法时返回 null
+     */
+    public static String parseTraceId(String traceParent) {
+        if (!isValid(traceParent)) {
+            return null;
+        }
+        return traceParent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_LENGTH);
+    }
+
+    /**
+     * 从 traceparent 中获取 trace-flags
+     *
+     * @param traceParent 请求头的值
+     * @return trace-flags, 格式不合法时返回默认值
+     */
+    public static String parseFlags(String traceParent) {
+        if (!isValid(traceParent)) {
+            return DEFAULT_FLAGS;
+        }
+        return traceParent.substring(FLAGS_OFFSET, FLAGS_OFFSET + 2);
+    }
+
+    /**
+     * 判断 traceId 是否可以作为 W3C trace-id, 即 32 位小写十六进制且不全为 0
+     *
+     * @param traceId traceId
+     * @return true: 可以, false: 不可以
+     */
+    public static boolean isValidTraceId(String traceId) {
+        return traceId != null && traceId.length() == TRACE_ID_LENGTH
+                && HexCodec.isLowerHexNonZero(traceId, 0, TRACE_ID_LENGTH);
+    }
+
+    /**
+     * 构建 traceparent
+     *
+     * @param traceId  trace-id
+     * @param parentId parent-id, 当前服务的 span-id
+     * @param flags    trace-flags
+     * @return traceparent
+     */
+    public static String format(String traceId, String parentId, String flags) {
+        return new StringBuilder(LENGTH)
+                .append(VERSION).append('-')
+                .append(traceId).append('-')
+                .append(parentId).append('-')
+                .append(flags)
+                .toString();
+    }
+
+    /**
+     * 校验 traceparent 的格式
+     * 未知的更高版本按照规范只解析前 55 位
+     *
+     * @param traceParent 请求头的值
+     * @return true: 合法, false: 不合法
+     */
+    private static boolean isValid(String traceParent) {
+        if (traceParent == null || traceParent.length() < LENGTH) {
+            return false;
+        }
+        // version 00 只能是 55 位, ff 为非法版本
+        boolean version00 = traceParent.startsWith(VERSION);
+        if ((version00 && traceParent.length() != LENGTH) || (!version00 && traceParent.length() > LENGTH && traceParent.charAt(LENGTH) != '-')
+                || traceParent.startsWith("ff") || !isHex(traceParent, 0, 2)) {
+            return false;
+        }
+        return traceParent.charAt(2) == '-' && traceParent.charAt(PARENT_ID_OFFSET - 1) == '-' && traceParent.charAt(FLAGS_OFFSET - 1) == '-'
+                && HexCodec.isLowerHexNonZero(traceParent, TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_LENGTH)
+                && HexCodec.isLowerHexNonZero(traceParent, PARENT_ID_OFFSET, PARENT_ID_OFFSET + PARENT_ID_LENGTH)
+                && isHex(traceParent, FLAGS_OFFSET, FLAGS_OFFSET + 2);
+    }
+
+    private static boolean isHex(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
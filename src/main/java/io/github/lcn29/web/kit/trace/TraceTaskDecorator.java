@@ -0,0 +1,19 @@
+package io.github.lcn29.web.kit.trace;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * <pre>
+ * 传递 traceId 的任务装饰器, 用于 ThreadPoolTaskExecutor.setTaskDecorator
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-17 18:10
+ */
+public class TraceTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TraceContextSnapshot.wrapRunnable(runnable);
+    }
+}
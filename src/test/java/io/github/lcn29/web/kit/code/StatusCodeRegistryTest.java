@@ -0,0 +1,106 @@
+package io.github.lcn29.web.kit.code;
+
+import io.github.lcn29.web.kit.response.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * StatusCodeRegistry 的测试
+ * 校验重复的状态码注册失败并且不影响已有的注册表, 以及缓存的 Response 的查询
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:30
+ */
+class StatusCodeRegistryTest {
+
+    @Test
+    void rejectDuplicateCode() {
+        int version = StatusCodeRegistry.version();
+        boolean rejected = false;
+        try {
+            StatusCodeRegistry.register(DuplicateStatusCode.class);
+        } catch (IllegalStateException e) {
+            rejected = true;
+            assertTrue(e.getMessage().contains(WebStatusCode.class.getName() + ".SUCCESS"));
+            assertTrue(e.getMessage().contains(DuplicateStatusCode.class.getName() + ".OK"));
+        }
+
+        assertTrue(rejected);
+        assertEquals(version, StatusCodeRegistry.version());
+        assertSame(WebStatusCode.SUCCESS, StatusCodeRegistry.find(WebStatusCode.SUCCESS.getCode()));
+        assertNull(StatusCodeRegistry.find(DuplicateStatusCode.UNIQUE.getCode()));
+    }
+
+    @Test
+    void findResponse() {
+        StatusCodeRegistry.register(TestStatusCode.class);
+        StatusCodeRegistry.register(TestStatusCode.class);
+
+        Response<Void> response = StatusCodeRegistry.findResponse(TestStatusCode.REGISTERED.getCode(), TestStatusCode.REGISTERED.getMessage());
+        assertEquals(TestStatusCode.REGISTERED.getCode(), response.getStatusCode());
+        assertEquals(TestStatusCode.REGISTERED.getMessage(), response.getMessage());
+        assertNull(response.getContent());
+        assertSame(response, StatusCodeRegistry.findResponse(TestStatusCode.REGISTERED.getCode(), TestStatusCode.REGISTERED.getMessage()));
+        assertSame(TestStatusCode.REGISTERED, StatusCodeRegistry.find(TestStatusCode.REGISTERED.getCode()));
+
+        // 描述信息不一致, 或者状态码没有注册
+        assertNull(StatusCodeRegistry.findResponse(TestStatusCode.REGISTERED.getCode(), "other"));
+        assertNull(StatusCodeRegistry.findResponse(99999, "unregistered"));
+    }
+
+    enum DuplicateStatusCode implements StatusCodeInterface {
+
+        UNIQUE(99801, "unique"),
+
+        OK(200, "ok");
+
+        private final int code;
+
+        private final String message;
+
+        DuplicateStatusCode(int code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    enum TestStatusCode implements StatusCodeInterface {
+
+        REGISTERED(99802, "registered");
+
+        private final int code;
+
+        private final String message;
+
+        TestStatusCode(int code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+    }
+}
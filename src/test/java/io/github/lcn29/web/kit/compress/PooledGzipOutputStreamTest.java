@@ -0,0 +1,101 @@
+package io.github.lcn29.web.kit.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * <pre>
+ * PooledGzipOutputStream 的测试
+ * 校验输出的内容可以被 GZIPInputStream 解压, 包括空的响应体, 中途 flush, 以及复用池中的 Deflater
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:50
+ */
+class PooledGzipOutputStreamTest {
+
+    /**
+     * 池中只有一个 Deflater, 之后的流复用前一个流归还的
+     */
+    private final GzipCompressor compressor = new GzipCompressor().poolSize(1);
+
+    @Test
+    void roundTrip() throws IOException {
+        byte[] text = repeat("{\"id\":1,\"name\":\"lcn29\"},", 4096);
+        byte[] random = new byte[64 * 1024];
+        new Random(29L).nextBytes(random);
+
+        assertArrayEquals(text, gunzip(gzip(text, false)));
+        assertArrayEquals(random, gunzip(gzip(random, false)));
+        assertArrayEquals(new byte[0], gunzip(gzip(new byte[0], false)));
+    }
+
+    @Test
+    void roundTripWithFlush() throws IOException {
+        byte[] text = repeat("flush-", 10_000);
+        assertArrayEquals(text, gunzip(gzip(text, true)));
+        // 前一个流归还的 Deflater 已经重置
+        assertArrayEquals(text, gunzip(gzip(text, false)));
+    }
+
+    @Test
+    void roundTripCompress() throws IOException {
+        byte[] text = repeat("compress-", 1000);
+        byte[] gzip = compressor.compress(text, 9, text.length - 18);
+        byte[] expected = new byte[text.length - 18];
+        System.arraycopy(text, 9, expected, 0, expected.length);
+        assertArrayEquals(expected, gunzip(gzip));
+    }
+
+    /**
+     * 分成不同大小的片段写入, flush 为 true 时每个片段之后 flush
+     */
+    private byte[] gzip(byte[] body, boolean flush) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PooledGzipOutputStream gzip = compressor.open(out, body.length)) {
+            int offset = 0;
+            for (int size = 1; offset < body.length; size = size * 3 + 1) {
+                int length = Math.min(size, body.length - offset);
+                if (length == 1) {
+                    gzip.write(body[offset]);
+                } else {
+                    gzip.write(body, offset, length);
+                }
+                offset += length;
+                if (flush) {
+                    gzip.flush();
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder(text.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
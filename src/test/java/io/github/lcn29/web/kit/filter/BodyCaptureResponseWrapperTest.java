@@ -0,0 +1,53 @@
+package io.github.lcn29.web.kit.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <pre>
+ * BodyCaptureResponseWrapper 的测试
+ * 校验输出流写出的字节按照 Content-Type 的 charset 参数解码, 没有 charset 参数的 json 按照 UTF-8 解码
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:50
+ */
+class BodyCaptureResponseWrapperTest {
+
+    private final static String BODY = "{\"name\":\"中文 é\"}";
+
+    private final BodyBufferPool pool = new BodyBufferPool(1, 1024);
+
+    @Test
+    void decodeJsonWithoutCharsetAsUtf8() throws Exception {
+        assertEquals(BODY, capture("application/json", StandardCharsets.UTF_8));
+        assertEquals(BODY, capture("application/problem+json", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodeWithContentTypeCharset() throws Exception {
+        String body = "{\"name\":\"é\"}";
+        assertEquals(body, capture("application/json;charset=ISO-8859-1", StandardCharsets.ISO_8859_1, body));
+        assertEquals(BODY, capture("text/plain;charset=UTF-8", StandardCharsets.UTF_8));
+    }
+
+    private String capture(String contentType, Charset charset) throws Exception {
+        return capture(contentType, charset, BODY);
+    }
+
+    private String capture(String contentType, Charset charset, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BodyCapture capture = new BodyCapture(pool);
+        BodyCaptureResponseWrapper wrapper = new BodyCaptureResponseWrapper(response, capture, type -> true);
+        wrapper.setContentType(contentType);
+        wrapper.getOutputStream().write(body.getBytes(charset));
+        String text = capture.toString();
+        capture.release(false);
+        return text;
+    }
+}
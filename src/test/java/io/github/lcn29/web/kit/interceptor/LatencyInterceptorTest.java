@@ -0,0 +1,59 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.metrics.LatencySnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <pre>
+ * LatencyInterceptor 的测试
+ * 校验同一个处理器映射了多个路径和请求方式时, 按照各自的路由分别统计
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 13:40
+ */
+class LatencyInterceptorTest {
+
+    private final LatencyInterceptor interceptor = new LatencyInterceptor();
+
+    @Test
+    void recordPerRoute() throws Exception {
+        Object handler = new Object();
+        record("GET", "/users/{id}", handler);
+        record("GET", "/users/{id}", handler);
+        record("POST", "/users/{id}", handler);
+        record("GET", "/members/{id}", handler);
+        record("GET", null, handler);
+
+        List<LatencySnapshot> snapshots = interceptor.getLatencyRecorder().snapshots();
+        Set<String> names = new TreeSet<>();
+        long count = 0;
+        for (LatencySnapshot snapshot : snapshots) {
+            names.add(snapshot.getName());
+            count += snapshot.getCount();
+        }
+
+        assertEquals(new TreeSet<>(Arrays.asList("GET /users/{id}", "POST /users/{id}", "GET /members/{id}", "GET UNKNOWN")), names);
+        assertEquals(5, count);
+    }
+
+    private void record(String method, String route, Object handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/");
+        if (route != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+}
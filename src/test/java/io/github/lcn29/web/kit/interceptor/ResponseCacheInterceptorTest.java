@@ -0,0 +1,89 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.response.annotation.CacheableResponse;
+import io.github.lcn29.web.kit.response.cache.ResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * ResponseCacheInterceptor 的测试
+ * 校验带有凭证的请求默认不使用缓存, 凭证在 varyHeaders 中或者声明了 shareAcrossUsers 时使用
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:20
+ */
+class ResponseCacheInterceptorTest {
+
+    private final static byte[] BODY = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCache cache = new ResponseCache(1024 * 1024);
+
+    private final ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(cache);
+
+    @Test
+    void skipRequestWithCredentials() throws Exception {
+        cache.put("/items", BODY, BODY.length, "application/json", new String[0], 60_000L);
+        HandlerMethod handler = handler("items");
+
+        assertFalse(interceptor.preHandle(get("/items", null, null), new MockHttpServletResponse(), handler));
+        assertTrue(interceptor.preHandle(get("/items", HttpHeaders.AUTHORIZATION, "Bearer a"), new MockHttpServletResponse(), handler));
+        assertTrue(interceptor.preHandle(get("/items", HttpHeaders.COOKIE, "SESSION=a"), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void keyByVaryCredentials() throws Exception {
+        cache.put("/profile|Authorization=Bearer a", BODY, BODY.length, "application/json", new String[0], 60_000L);
+        HandlerMethod handler = handler("profile");
+
+        assertFalse(interceptor.preHandle(get("/profile", HttpHeaders.AUTHORIZATION, "Bearer a"), new MockHttpServletResponse(), handler));
+        assertTrue(interceptor.preHandle(get("/profile", HttpHeaders.AUTHORIZATION, "Bearer b"), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void shareAcrossUsers() throws Exception {
+        cache.put("/banners", BODY, BODY.length, "application/json", new String[0], 60_000L);
+        HandlerMethod handler = handler("banners");
+
+        assertFalse(interceptor.preHandle(get("/banners", HttpHeaders.COOKIE, "SESSION=a"), new MockHttpServletResponse(), handler));
+    }
+
+    private static MockHttpServletRequest get(String uri, String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new CachedController(), CachedController.class.getMethod(name));
+    }
+
+    static class CachedController {
+
+        @CacheableResponse
+        public String items() {
+            return "items";
+        }
+
+        @CacheableResponse(varyHeaders = HttpHeaders.AUTHORIZATION)
+        public String profile() {
+            return "profile";
+        }
+
+        @CacheableResponse(shareAcrossUsers = true)
+        public String banners() {
+            return "banners";
+        }
+    }
+}
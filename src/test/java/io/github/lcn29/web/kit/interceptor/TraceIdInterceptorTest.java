@@ -0,0 +1,80 @@
+package io.github.lcn29.web.kit.interceptor;
+
+import io.github.lcn29.web.kit.constants.WebConstants;
+import io.github.lcn29.web.kit.trace.TraceIdGenerator;
+import io.github.lcn29.web.kit.trace.TraceParent;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * <pre>
+ * TraceIdInterceptor 的测试
+ * 校验返回的 traceresponse 只在同一条链路时沿用上游的 trace-flags, 并且 spanId 由注入的 TraceIdGenerator 生成
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 11:20
+ */
+class TraceIdInterceptorTest {
+
+    private final static String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final static String SPAN_ID = "00f067aa0ba902b7";
+
+    private final TraceIdGenerator traceIdGenerator = new TraceIdGenerator() {
+
+        @Override
+        public String generate() {
+            return TRACE_ID;
+        }
+
+        @Override
+        public String generateSpanId() {
+            return SPAN_ID;
+        }
+    };
+
+    @Test
+    void keepFlagsWhenTraceIdHeaderPresent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(WebConstants.TRACE_ID, TRACE_ID);
+        request.addHeader(TraceParent.HEADER, "00-" + TRACE_ID + "-b7ad6b7169203331-00");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TraceIdInterceptor(traceIdGenerator).preHandle(request, response, null);
+
+        assertEquals("00-" + TRACE_ID + "-" + SPAN_ID + "-00", response.getHeader(TraceParent.RESPONSE_HEADER));
+        assertEquals(response.getHeader(TraceParent.RESPONSE_HEADER),
+                request.getAttribute(TraceIdInterceptor.TRACE_PARENT_ATTRIBUTE));
+    }
+
+    @Test
+    void ignoreFlagsOfAnotherTrace() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(WebConstants.TRACE_ID, TRACE_ID);
+        request.addHeader(TraceParent.HEADER, "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TraceIdInterceptor(traceIdGenerator).preHandle(request, response, null);
+
+        assertEquals("00-" + TRACE_ID + "-" + SPAN_ID + "-" + TraceParent.DEFAULT_FLAGS,
+                response.getHeader(TraceParent.RESPONSE_HEADER));
+        assertNull(response.getHeader(TraceParent.HEADER));
+    }
+
+    @Test
+    void generateWithInjectedGenerator() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TraceIdInterceptor(traceIdGenerator).preHandle(request, response, null);
+
+        assertEquals(TRACE_ID, response.getHeader(WebConstants.TRACE_ID));
+        assertEquals("00-" + TRACE_ID + "-" + SPAN_ID + "-" + TraceParent.DEFAULT_FLAGS,
+                response.getHeader(TraceParent.RESPONSE_HEADER));
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.lcn29.web.kit.json.convert;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <pre>
+ * String2LocalDateTimeConverter / String2LocalDateConverter 的测试
+ * 校验快速解析不支持的数字字符串 (超过 18 位, 非 ASCII 的数字) 仍然按照时间戳处理
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 13:30
+ */
+class String2DateTimeConverterTest {
+
+    private final static long EPOCH_MILLIS = 1760763030123L;
+
+    /**
+     * 19 位的时间戳, 超出快速解析的位数
+     */
+    private final static long NINETEEN_DIGITS_EPOCH_MILLIS = 1000000000000000000L;
+
+    /**
+     * EPOCH_MILLIS 的阿拉伯-印度数字
+     */
+    private final static String ARABIC_INDIC_EPOCH_MILLIS = "١٧٦٠٧٦٣٠٣٠١٢٣";
+
+    private final String2LocalDateTimeConverter dateTimeConverter = new String2LocalDateTimeConverter();
+
+    private final String2LocalDateConverter dateConverter = new String2LocalDateConverter();
+
+    @Test
+    void convertText() {
+        assertEquals(LocalDateTime.of(2026, 10, 18, 13, 30, 5), dateTimeConverter.convert("2026-10-18 13:30:05"));
+        assertEquals(LocalDate.of(2026, 10, 18), dateConverter.convert("2026-10-18"));
+    }
+
+    @Test
+    void convertEpochMillis() {
+        assertEquals(toLocalDateTime(EPOCH_MILLIS), dateTimeConverter.convert(Long.toString(EPOCH_MILLIS)));
+        assertEquals(toLocalDateTime(EPOCH_MILLIS).toLocalDate(), dateConverter.convert(Long.toString(EPOCH_MILLIS)));
+    }
+
+    @Test
+    void convertNumericOutsideFastPath() {
+        assertEquals(toLocalDateTime(NINETEEN_DIGITS_EPOCH_MILLIS),
+                dateTimeConverter.convert(Long.toString(NINETEEN_DIGITS_EPOCH_MILLIS)));
+        assertEquals(toLocalDateTime(NINETEEN_DIGITS_EPOCH_MILLIS).toLocalDate(),
+                dateConverter.convert(Long.toString(NINETEEN_DIGITS_EPOCH_MILLIS)));
+        assertEquals(toLocalDateTime(EPOCH_MILLIS), dateTimeConverter.convert(ARABIC_INDIC_EPOCH_MILLIS));
+        assertEquals(toLocalDateTime(EPOCH_MILLIS).toLocalDate(), dateConverter.convert(ARABIC_INDIC_EPOCH_MILLIS));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.lcn29.web.kit.json.deserializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import io.github.lcn29.web.kit.constants.WebConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * <pre>
+ * String2LocalDateDeserializer / String2LocalDateTimeDeserializer 的测试
+ * 校验 jackson 实际使用的反序列化器, 没有 @JsonFormat 的属性使用快速解析, 有格式配置的属性使用 jackson 的反序列化器
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 10:20
+ */
+class String2DateTimeDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule()
+                    .addDeserializer(LocalDate.class,
+                            new String2LocalDateDeserializer(DateTimeFormatter.ofPattern(WebConstants.DATE_FORMAT)))
+                    .addDeserializer(LocalDateTime.class,
+                            new String2LocalDateTimeDeserializer(DateTimeFormatter.ofPattern(WebConstants.DATE_TIME_FORMAT))));
+
+    @Test
+    void rootValueUsesFastPath() throws Exception {
+        DeserializationContext ctxt = newContext();
+        assertInstanceOf(String2LocalDateDeserializer.class,
+                ctxt.findRootValueDeserializer(objectMapper.constructType(LocalDate.class)));
+        assertInstanceOf(String2LocalDateTimeDeserializer.class,
+                ctxt.findRootValueDeserializer(objectMapper.constructType(LocalDateTime.class)));
+    }
+
+    @Test
+    void plainPropertyUsesFastPath() throws Exception {
+        assertInstanceOf(String2LocalDateDeserializer.class, propertyDeserializer("date"));
+        assertInstanceOf(String2LocalDateTimeDeserializer.class, propertyDeserializer("dateTime"));
+    }
+
+    @Test
+    void formattedPropertyUsesJacksonDeserializer() throws Exception {
+        assertInstanceOf(LocalDateDeserializer.class, propertyDeserializer("formattedDate"));
+        assertInstanceOf(LocalDateTimeDeserializer.class, propertyDeserializer("formattedDateTime"));
+    }
+
+    @Test
+    void readValues() throws Exception {
+        Dto dto = objectMapper.readValue("{\"date\":\"2026-10-18\",\"dateTime\":\"2026-10-18 10:20:30\","
+                + "\"formattedDate\":\"2026/10/18\",\"formattedDateTime\":\"20261018102030\"}", Dto.class);
+        assertEquals(LocalDate.of(2026, 10, 18), dto.date);
+        assertEquals(LocalDateTime.of(2026, 10, 18, 10, 20, 30), dto.dateTime);
+        assertEquals(LocalDate.of(2026, 10, 18), dto.formattedDate);
+        assertEquals(LocalDateTime.of(2026, 10, 18, 10, 20, 30), dto.formattedDateTime);
+    }
+
+    private JsonDeserializer<Object> propertyDeserializer(String name) throws Exception {
+        DeserializationContext ctxt = newContext();
+        BeanDeserializerBase beanDeserializer = (BeanDeserializerBase) ctxt.findRootValueDeserializer(objectMapper.constructType(Dto.class));
+        return beanDeserializer.findProperty(name).getValueDeserializer();
+    }
+
+    private DeserializationContext newContext() {
+        return ((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+                .createInstance(objectMapper.getDeserializationConfig(), null, objectMapper.getInjectableValues());
+    }
+
+    static class Dto {
+
+        public LocalDate date;
+
+        public LocalDateTime dateTime;
+
+        @JsonFormat(pattern = "yyyy/MM/dd")
+        public LocalDate formattedDate;
+
+        @JsonFormat(pattern = "yyyyMMddHHmmss")
+        public LocalDateTime formattedDateTime;
+    }
+}
@@ -0,0 +1,505 @@
+package io.github.lcn29.web.kit.json.fastjson;
+
+import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import io.github.lcn29.web.kit.json.JacksonObjectMapperBuilderCustomizer;
+import io.github.lcn29.web.kit.response.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * Fastjson2HttpMessageConverter 的测试
+ * 校验常见的请求和响应对象的输出和解析和 Jackson 一致, 带有 Jackson 注解或者 mixin 的类型不支持输出
+ * Jackson 拒绝的请求体同样拒绝
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 12:50
+ */
+class Fastjson2HttpMessageConverterTest {
+
+    private final JacksonObjectMapperBuilderCustomizer customizer = new JacksonObjectMapperBuilderCustomizer();
+
+    private final ObjectMapper objectMapper = newObjectMapper(customizer);
+
+    private final Fastjson2HttpMessageConverter converter = new Fastjson2HttpMessageConverter(customizer, objectMapper);
+
+    @Test
+    void writeSameAsJackson() throws Exception {
+        assertWriteSameAsJackson(new UserDto());
+        assertWriteSameAsJackson(new Response<>(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(),
+                Arrays.asList(new UserDto(), new UserDto())));
+        assertWriteSameAsJackson(new Response<>(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage()));
+        assertWriteSameAsJackson(new PageDto());
+    }
+
+    @Test
+    void writeBigIntegerAsStringWithCustomLongSerializer() throws Exception {
+        JacksonObjectMapperBuilderCustomizer longCustomizer = new JacksonObjectMapperBuilderCustomizer()
+                .addJsonSerializer(Long.class, new NumberLongSerializer());
+        Fastjson2HttpMessageConverter longConverter = new Fastjson2HttpMessageConverter(longCustomizer, newObjectMapper(longCustomizer));
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        longConverter.write(Collections.singletonList(BigInteger.TEN), List.class, MediaType.APPLICATION_JSON, outputMessage);
+        assertEquals("[\"10\"]", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeNestedAnnotatedObjectWithJackson() throws Exception {
+        PageDto page = new PageDto();
+        page.setExtra(new AnnotatedDto());
+        assertWriteSameAsJackson(page);
+    }
+
+    @Test
+    void writeNonStringMapKeysSameAsJackson() throws Exception {
+        Map<Object, Object> intKeys = new LinkedHashMap<>();
+        intKeys.put(1, "a");
+        intKeys.put(-2, "b");
+        Map<Object, Object> booleanKeys = new LinkedHashMap<>();
+        booleanKeys.put(true, "a");
+        booleanKeys.put(false, "b");
+        Map<Object, Object> doubleKeys = new LinkedHashMap<>();
+        doubleKeys.put(1.5D, "a");
+        doubleKeys.put(2.0D, "b");
+
+        assertWriteSameAsJackson(intKeys);
+        assertWriteSameAsJackson(booleanKeys);
+        assertWriteSameAsJackson(doubleKeys);
+        PageDto page = new PageDto();
+        page.setExtra(intKeys);
+        assertWriteSameAsJackson(page);
+    }
+
+    @Test
+    void writeNonFiniteNumbersSameAsJackson() throws Exception {
+        assertWriteSameAsJackson(new NumberDto());
+        assertWriteSameAsJackson(new NumberBean());
+        assertWriteSameAsJackson(Arrays.asList(Double.NaN, 1.0E10D, 0.1D, Double.NEGATIVE_INFINITY));
+        assertWriteSameAsJackson(Collections.singletonMap("value", Float.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void writeOnlyUnsafeLongAsStringSameAsJackson() throws Exception {
+        JacksonObjectMapperBuilderCustomizer unsafeCustomizer = new JacksonObjectMapperBuilderCustomizer().onlyUnsafeLongAsString(true);
+        ObjectMapper unsafeMapper = newObjectMapper(unsafeCustomizer);
+        Fastjson2HttpMessageConverter unsafeConverter = new Fastjson2HttpMessageConverter(unsafeCustomizer, unsafeMapper);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("small", 1L);
+        value.put("big", Long.MAX_VALUE);
+        value.put("user", new UserDto());
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        unsafeConverter.write(value, value.getClass(), MediaType.APPLICATION_JSON, outputMessage);
+        assertEquals(unsafeMapper.writeValueAsString(value), outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectInputJacksonRejects() throws Exception {
+        assertRejected(UserDto.class, "{'id':1}");
+        assertRejected(UserDto.class, "{\"id\":1,}");
+        assertRejected(ListDto.class, "{\"l\":1}");
+        assertRejected(PageDto.class, "{\"total\":true}");
+    }
+
+    @Test
+    void readSameAsJackson() throws Exception {
+        String json = objectMapper.writeValueAsString(new UserDto());
+        Object value = converter.read(UserDto.class, null, new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(json, objectMapper.writeValueAsString(value));
+    }
+
+    @Test
+    void plainBeanUsesFastjson2Writer() {
+        Fastjson2Writers.JacksonBridgeWriter bridgeWriter = new Fastjson2Writers.JacksonBridgeWriter(objectMapper);
+        ObjectWriterProvider provider = new ObjectWriterProvider();
+        Fastjson2Modules.JacksonCompatibleWriterModule module =
+                new Fastjson2Modules.JacksonCompatibleWriterModule(new JacksonCompatibility(objectMapper), objectMapper, bridgeWriter,
+                        Collections.emptySet());
+        provider.register(module);
+
+        assertNotSame(bridgeWriter, module.getObjectWriter(AddressDto.class, AddressDto.class));
+        assertNotSame(bridgeWriter, module.getObjectWriter(UserDto.class, UserDto.class));
+        assertSame(bridgeWriter, module.getObjectWriter(AnnotatedDto.class, AnnotatedDto.class));
+        // 原始类型 double/float 的字段无法通过 writeUsing 输出 NaN/Infinity, getter 可以
+        assertNotSame(bridgeWriter, module.getObjectWriter(NumberBean.class, NumberBean.class));
+        assertSame(bridgeWriter, module.getObjectWriter(NumberDto.class, NumberDto.class));
+    }
+
+    @Test
+    void refuseJacksonConfiguredTypes() {
+        Type annotatedList = ResolvableType.forClassWithGenerics(List.class, AnnotatedDto.class).getType();
+
+        assertTrue(converter.canWrite(UserDto.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canRead(UserDto.class, null, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(AnnotatedDto.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(annotatedList, List.class, MediaType.APPLICATION_JSON));
+        // 解析由 Jackson 处理
+        assertTrue(converter.canRead(AnnotatedDto.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canRead(annotatedList, null, MediaType.APPLICATION_JSON));
+
+        ObjectMapper mixinMapper = newObjectMapper(customizer).addMixIn(AddressDto.class, AddressMixin.class);
+        Fastjson2HttpMessageConverter mixinConverter = new Fastjson2HttpMessageConverter(customizer, mixinMapper);
+        assertFalse(mixinConverter.canWrite(AddressDto.class, MediaType.APPLICATION_JSON));
+    }
+
+    private void assertRejected(Class<?> type, String json) throws Exception {
+        boolean rejected = false;
+        try {
+            converter.read(type, null, new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (HttpMessageNotReadableException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, json);
+    }
+
+    private void assertWriteSameAsJackson(Object value) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(value, value.getClass(), MediaType.APPLICATION_JSON, outputMessage);
+        assertEquals(objectMapper.writeValueAsString(value), outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 和 Spring Boot 默认的 ObjectMapper 一致
+     */
+    private static ObjectMapper newObjectMapper(JacksonObjectMapperBuilderCustomizer customizer) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        customizer.generateJackson2ObjectMapperBuilderCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    /**
+     * long 按照数字输出, 此时 fastjson2 不开启 WriteLongAsString
+     */
+    public static class NumberLongSerializer extends JsonSerializer<Long> {
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value);
+        }
+    }
+
+    public enum Gender {
+        MALE, FEMALE
+    }
+
+    public static class AddressDto {
+
+        public String city = "hz";
+
+        public String detail;
+    }
+
+    public static class UserDto {
+
+        private long id = Long.MAX_VALUE;
+
+        private Integer age;
+
+        private String name = "lcn29";
+
+        private boolean active = true;
+
+        private Gender gender = Gender.FEMALE;
+
+        private BigDecimal balance = new BigDecimal("10.50");
+
+        private BigInteger points = BigInteger.TEN;
+
+        private LocalDateTime createTime = LocalDateTime.of(2026, 10, 18, 12, 50, 30);
+
+        private LocalDate birthday = LocalDate.of(2000, 1, 2);
+
+        private Date updateTime = new Date(1760763030123L);
+
+        private Date deleteTime;
+
+        private Instant loginTime = Instant.ofEpochMilli(1760763030123L);
+
+        private byte[] avatar = {1, 2, 3};
+
+        private long[] roleIds = {1L, 2L};
+
+        private List<String> tags = Arrays.asList("a", "b");
+
+        private String URL = "https://github.com/lcn29";
+
+        private AddressDto address = new AddressDto();
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Gender getGender() {
+            return gender;
+        }
+
+        public void setGender(Gender gender) {
+            this.gender = gender;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public BigInteger getPoints() {
+            return points;
+        }
+
+        public void setPoints(BigInteger points) {
+            this.points = points;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(LocalDateTime createTime) {
+            this.createTime = createTime;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(LocalDate birthday) {
+            this.birthday = birthday;
+        }
+
+        public Date getUpdateTime() {
+            return updateTime;
+        }
+
+        public void setUpdateTime(Date updateTime) {
+            this.updateTime = updateTime;
+        }
+
+        public Date getDeleteTime() {
+            return deleteTime;
+        }
+
+        public void setDeleteTime(Date deleteTime) {
+            this.deleteTime = deleteTime;
+        }
+
+        public Instant getLoginTime() {
+            return loginTime;
+        }
+
+        public void setLoginTime(Instant loginTime) {
+            this.loginTime = loginTime;
+        }
+
+        public byte[] getAvatar() {
+            return avatar;
+        }
+
+        public void setAvatar(byte[] avatar) {
+            this.avatar = avatar;
+        }
+
+        public long[] getRoleIds() {
+            return roleIds;
+        }
+
+        public void setRoleIds(long[] roleIds) {
+            this.roleIds = roleIds;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public String getURL() {
+            return URL;
+        }
+
+        public void setURL(String URL) {
+            this.URL = URL;
+        }
+
+        public AddressDto getAddress() {
+            return address;
+        }
+
+        public void setAddress(AddressDto address) {
+            this.address = address;
+        }
+    }
+
+    public static class NumberDto {
+
+        public double nan = Double.NaN;
+
+        public Double infinity = Double.POSITIVE_INFINITY;
+
+        public float negativeInfinity = Float.NEGATIVE_INFINITY;
+
+        public Float floatNan = Float.NaN;
+
+        public double large = 1.0E10D;
+
+        public double small = 0.1D;
+
+        public float ratio = 0.3F;
+
+        public Double empty;
+    }
+
+    public static class NumberBean {
+
+        private double nan = Double.NaN;
+
+        private float infinity = Float.POSITIVE_INFINITY;
+
+        private double value = 12.5D;
+
+        public double getNan() {
+            return nan;
+        }
+
+        public float getInfinity() {
+            return infinity;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+
+    public static class ListDto {
+
+        public List<Long> l;
+    }
+
+    public static class PageDto {
+
+        private int total = 2;
+
+        private List<AddressDto> rows = Arrays.asList(new AddressDto(), new AddressDto());
+
+        private Map<String, Object> summary = new LinkedHashMap<>();
+
+        private Object extra;
+
+        PageDto() {
+            summary.put("count", 2);
+            summary.put("empty", null);
+            summary.put("ids", Collections.singletonList(3L));
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public void setTotal(int total) {
+            this.total = total;
+        }
+
+        public List<AddressDto> getRows() {
+            return rows;
+        }
+
+        public Map<String, Object> getSummary() {
+            return summary;
+        }
+
+        public Object getExtra() {
+            return extra;
+        }
+
+        public void setExtra(Object extra) {
+            this.extra = extra;
+        }
+    }
+
+    public static class AnnotatedDto {
+
+        @JsonProperty("user_name")
+        public String name = "lcn29";
+
+        @JsonIgnore
+        public String password = "secret";
+
+        @JsonFormat(pattern = "yyyy/MM/dd")
+        public LocalDate birthday = LocalDate.of(2000, 1, 2);
+    }
+
+    public abstract static class AddressMixin {
+
+        @JsonIgnore
+        public String detail;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.lcn29.web.kit.json.serializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import io.github.lcn29.web.kit.constants.WebConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * <pre>
+ * LocalDate2StringSerializer / LocalDateTime2StringSerializer 的测试
+ * 校验 jackson 实际使用的序列化器, 没有 @JsonFormat 的属性使用快速格式化, 有格式配置的属性使用 jackson 的序列化器
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 10:40
+ */
+class DateTime2StringSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule()
+                    .addSerializer(LocalDate.class,
+                            new LocalDate2StringSerializer(DateTimeFormatter.ofPattern(WebConstants.DATE_FORMAT)))
+                    .addSerializer(LocalDateTime.class,
+                            new LocalDateTime2StringSerializer(DateTimeFormatter.ofPattern(WebConstants.DATE_TIME_FORMAT))));
+
+    @Test
+    void rootValueUsesFastPath() throws Exception {
+        // 和 writeValue 一样, 获取经过 createContextual 的根序列化器
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        assertInstanceOf(LocalDate2StringSerializer.class, provider.findTypedValueSerializer(LocalDate.class, true, null));
+        assertInstanceOf(LocalDateTime2StringSerializer.class, provider.findTypedValueSerializer(LocalDateTime.class, true, null));
+    }
+
+    @Test
+    void plainPropertyUsesFastPath() throws Exception {
+        assertInstanceOf(LocalDate2StringSerializer.class, propertySerializer("date"));
+        assertInstanceOf(LocalDateTime2StringSerializer.class, propertySerializer("dateTime"));
+    }
+
+    @Test
+    void formattedPropertyUsesJacksonSerializer() throws Exception {
+        assertInstanceOf(LocalDateSerializer.class, propertySerializer("formattedDate"));
+        assertInstanceOf(LocalDateTimeSerializer.class, propertySerializer("formattedDateTime"));
+    }
+
+    @Test
+    void writeValues() throws Exception {
+        Dto dto = new Dto();
+        dto.date = LocalDate.of(2026, 10, 18);
+        dto.dateTime = LocalDateTime.of(2026, 10, 18, 10, 40, 5);
+        dto.formattedDate = dto.date;
+        dto.formattedDateTime = dto.dateTime;
+        assertEquals("{\"date\":\"2026-10-18\",\"dateTime\":\"2026-10-18 10:40:05\","
+                + "\"formattedDate\":\"2026/10/18\",\"formattedDateTime\":\"20261018104005\"}", objectMapper.writeValueAsString(dto));
+        assertEquals("\"2026-10-18 10:40:05\"", objectMapper.writeValueAsString(dto.dateTime));
+    }
+
+    private JsonSerializer<Object> propertySerializer(String name) throws Exception {
+        JsonSerializer<Object> beanSerializer = objectMapper.getSerializerProviderInstance().findValueSerializer(Dto.class);
+        Iterator<PropertyWriter> properties = beanSerializer.properties();
+        while (properties.hasNext()) {
+            PropertyWriter property = properties.next();
+            if (property.getName().equals(name)) {
+                return ((BeanPropertyWriter) property).getSerializer();
+            }
+        }
+        throw new IllegalArgumentException("No property " + name);
+    }
+
+    static class Dto {
+
+        public LocalDate date;
+
+        public LocalDateTime dateTime;
+
+        @JsonFormat(pattern = "yyyy/MM/dd")
+        public LocalDate formattedDate;
+
+        @JsonFormat(pattern = "yyyyMMddHHmmss")
+        public LocalDateTime formattedDateTime;
+    }
+}
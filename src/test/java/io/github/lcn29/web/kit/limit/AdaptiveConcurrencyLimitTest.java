@@ -0,0 +1,81 @@
+package io.github.lcn29.web.kit.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * AdaptiveConcurrencyLimit 的测试
+ * 窗口设置为每个样本结束一次, 校验延迟稳定 (或者在 tolerance 以内) 时限制增长, 延迟升高时下降, 低负载时不调整
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 15:10
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void adjustByGradient() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 20)
+                .limitRange(8, 200).smoothing(1D).window(0L, 1);
+
+        // 延迟稳定时增长
+        fillAndRelease(limit, 20, 10L);
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        // 延迟升高但在 tolerance 以内, 仍然增长
+        fillAndRelease(limit, grown, 14L);
+        int tolerated = limit.getLimit();
+        assertTrue(tolerated > grown, "limit " + tolerated);
+
+        // 开始排队, 延迟升高到 4 倍, 下降
+        fillAndRelease(limit, tolerated, 40L);
+        int dropped = limit.getLimit();
+        assertTrue(dropped < tolerated, "limit " + dropped);
+
+        // 持续排队时不低于 minLimit
+        for (int i = 0; i < 10; i++) {
+            fillAndRelease(limit, limit.getLimit(), 40L);
+        }
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void keepLimitUnderLowLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 20).smoothing(1D).window(0L, 1);
+        for (int i = 0; i < 100; i++) {
+            fillAndRelease(limit, 1, 10L);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void rejectAboveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 2);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.cancel();
+        assertTrue(limit.tryAcquire());
+        assertEquals(1, limit.getRejectedCount());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    /**
+     * 获取 permits 个许可, 再按照相同的 RTT 全部释放
+     */
+    private static void fillAndRelease(AdaptiveConcurrencyLimit limit, int permits, long rttMillis) {
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < permits; i++) {
+            limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+    }
+}
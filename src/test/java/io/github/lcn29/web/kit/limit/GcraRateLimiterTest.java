@@ -0,0 +1,65 @@
+package io.github.lcn29.web.kit.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * GcraRateLimiter 的测试
+ * 校验突发的许可数, 等待时间之后恢复许可, 以及相邻槽位都被占用时替换 TAT 最早的 key
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 15:00
+ */
+class GcraRateLimiterTest {
+
+    @Test
+    void allowBurstThenRate() throws InterruptedException {
+        GcraRateLimiter limiter = new GcraRateLimiter(10D, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertTrue(wait > 0 && wait <= 100_000L, "wait " + wait);
+
+        // 其他 key 不受影响
+        assertEquals(0L, limiter.tryAcquire("10.0.0.2"));
+
+        // 等待之后恢复一个许可
+        TimeUnit.MICROSECONDS.sleep(wait + 5_000L);
+        assertEquals(0L, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+
+        assertEquals(5, limiter.getAllowedCount());
+        assertEquals(2, limiter.getRejectedCount());
+    }
+
+    @Test
+    void replaceEarliestWhenSlotsFull() {
+        // 只有一组槽位, 所有的 key 落在相同的槽位中
+        GcraRateLimiter limiter = new GcraRateLimiter(1D, 1, 8);
+        for (int tag = 1; tag <= 8; tag++) {
+            assertEquals(0L, limiter.tryAcquire(keyHash(tag)));
+        }
+        assertTrue(limiter.tryAcquire(keyHash(1)) > 0);
+
+        // 第 9 个 key 替换 TAT 最早的 key 1
+        assertEquals(0L, limiter.tryAcquire(keyHash(9)));
+        assertTrue(limiter.tryAcquire(keyHash(9)) > 0);
+
+        // 被替换的 key 重新开始计算, 放宽而不是误拒
+        assertEquals(0L, limiter.tryAcquire(keyHash(1)));
+    }
+
+    /**
+     * 标签为 tag, 起始槽位为 0 的哈希
+     */
+    private static long keyHash(long tag) {
+        return tag << 48;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.lcn29.web.kit.response;
+
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import io.github.lcn29.web.kit.response.annotation.RawResponse;
+import io.github.lcn29.web.kit.response.annotation.ResponseEtag;
+import io.github.lcn29.web.kit.response.annotation.WrapResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * ResponseResultHandler 的测试
+ * 校验接口直接返回 Response 时同样标记计算 ETag, @RawResponse 的接口不标记
+ * 以及返回的 Stream 没有输出时在请求结束时关闭, 父类的方法按照子类上的注解包装, Stream 结果使用 @WrapResponse 的状态码
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 13:10
+ */
+class ResponseResultHandlerTest {
+
+    private final ResponseResultHandler handler = new ResponseResultHandler();
+
+    @Test
+    void markEtagWhenReturningResponse() throws Exception {
+        Response<String> body = new Response<>(WebStatusCode.SUCCESS.getCode(), WebStatusCode.SUCCESS.getMessage(), "content");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/etag");
+
+        assertSame(body, write(body, "etagResponse", request));
+        assertEquals(Boolean.TRUE, request.getAttribute(EnvelopeHttpMessageConverter.ETAG_ATTRIBUTE));
+    }
+
+    @Test
+    void skipEtagWhenRaw() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/raw");
+
+        assertEquals("content", write("content", "rawEtag", request));
+        assertNull(request.getAttribute(EnvelopeHttpMessageConverter.ETAG_ATTRIBUTE));
+    }
+
+    @Test
+    void closeStreamNotSerialized() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stream");
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        AtomicBoolean closed = new AtomicBoolean();
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            Object body = write(Stream.of("a").onClose(() -> closed.set(true)), "stream", request);
+            assertInstanceOf(StreamingResponse.class, body);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // 输出前异常, 只有请求结束的回调
+        attributes.requestCompleted();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void resolvePolicyPerContainingClass() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inherited");
+
+        assertEquals("content", write("content", "inherited", request, RawController.class));
+        Object body = write("content", "inherited", request, CodeController.class);
+        assertInstanceOf(Response.class, body);
+        assertEquals(20100, ((Response<?>) body).getStatusCode());
+        assertEquals("content", write("content", "inherited", request, RawController.class));
+    }
+
+    @Test
+    void wrapStreamWithCustomCode() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stream");
+
+        Object body = write(Stream.of("a"), "stream", request, CodeController.class);
+        assertInstanceOf(StreamingResponse.class, body);
+        assertEquals(20100, ((StreamingResponse) body).getStatusCode());
+        assertEquals("created", ((StreamingResponse) body).getMessage());
+    }
+
+    private Object write(Object body, String methodName, MockHttpServletRequest request) throws Exception {
+        return write(body, methodName, request, Controller.class);
+    }
+
+    private Object write(Object body, String methodName, MockHttpServletRequest request, Class<?> controllerClass) throws Exception {
+        MethodParameter returnType = new MethodParameter(controllerClass.getMethod(methodName), -1)
+                .withContainingClass(controllerClass);
+        return handler.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON, EnvelopeHttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    public static class Controller {
+
+        @ResponseEtag
+        public Response<String> etagResponse() {
+            return null;
+        }
+
+        @RawResponse
+        @ResponseEtag
+        public String rawEtag() {
+            return null;
+        }
+
+        public Stream<String> stream() {
+            return null;
+        }
+
+        public String inherited() {
+            return null;
+        }
+    }
+
+    @RawResponse
+    public static class RawController extends Controller {
+    }
+
+    @WrapResponse(code = 20100, message = "created")
+    public static class CodeController extends Controller {
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.lcn29.web.kit.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.lcn29.web.kit.code.WebStatusCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * StreamingResponse 的测试
+ * 校验元素序列化到一半失败时, 输出仍然是完整的 json, 并且带有 error 字段
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 11:50
+ */
+class StreamingResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writeAllElements() throws Exception {
+        JsonNode json = write(new Item(1), new Item(2));
+
+        assertEquals(2, json.get("content").size());
+        assertFalse(json.has(StreamingResponse.ERROR_FIELD));
+    }
+
+    @Test
+    void closeNestedObjectWhenElementFails() throws Exception {
+        JsonNode json = write(new Item(1), new Outer(new FailingItem()), new Item(3));
+
+        assertEquals(2, json.get("content").size());
+        assertEquals(1, json.get("content").get(0).get("id").asInt());
+        assertError(json);
+    }
+
+    @Test
+    void closeObjectWithPendingFieldName() throws Exception {
+        JsonNode json = write(new Item(1), new Outer(new Empty()));
+
+        assertEquals(2, json.get("content").size());
+        assertTrue(json.get("content").get(1).get("value").isNull());
+        assertError(json);
+    }
+
+    private JsonNode write(Object... elements) throws Exception {
+        StreamingResponse response = new StreamingResponse(WebStatusCode.SUCCESS.getCode(),
+                WebStatusCode.SUCCESS.getMessage(), Arrays.asList(elements).iterator());
+        return objectMapper.readTree(objectMapper.writeValueAsString(response));
+    }
+
+    private static void assertError(JsonNode json) {
+        JsonNode error = json.get(StreamingResponse.ERROR_FIELD);
+        assertEquals(WebStatusCode.INTERNAL_SERVER_ERROR.getCode(), error.get("statusCode").asInt());
+    }
+
+    public static class Item {
+
+        private final int id;
+
+        Item(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    public static class Outer {
+
+        private final Object value;
+
+        Outer(Object value) {
+            this.value = value;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    public static class FailingItem {
+
+        public int getId() {
+            return 2;
+        }
+
+        public String getName() {
+            throw new IllegalStateException("read name failed");
+        }
+    }
+
+    /**
+     * 没有任何属性, 序列化时在写出字段名之后才失败
+     */
+    public static class Empty {
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * RequestCoalescer 的测试
+ * 校验 leader 失败和等待超时时等待的请求自己执行接口, 以及成功时重放 leader 的 ETag 并返回 304
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:40
+ */
+class RequestCoalescerTest {
+
+    private final static String KEY = "/items";
+
+    private final static byte[] BODY = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void fallbackWhenLeaderFails() throws Exception {
+        RequestCoalescer.Flight flight = lead();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FutureTask<Boolean> waiter = startWaiting(() -> coalescer.coalesce(KEY, 10_000L, request(), response));
+
+        coalescer.complete(flight, null, 0, null, new String[0]);
+
+        assertFalse(waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, coalescer.getFallbacks());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void fallbackWhenTimeout() throws Exception {
+        RequestCoalescer.Flight flight = lead();
+        MockHttpServletRequest request = request();
+
+        assertFalse(coalescer.coalesce(KEY, 20L, request, new MockHttpServletResponse()));
+        assertEquals(1, coalescer.getTimeouts());
+        assertNull(request.getAttribute(RequestCoalescer.LEADER_ATTRIBUTE));
+
+        // leader 结束后移除 key, 之后的请求重新成为 leader
+        coalescer.complete(flight, null, 0, null, new String[0]);
+        assertEquals(0, coalescer.getInFlight());
+        lead();
+    }
+
+    @Test
+    void replayLeaderHeaders() throws Exception {
+        RequestCoalescer.Flight flight = lead();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FutureTask<Boolean> waiter = startWaiting(() -> coalescer.coalesce(KEY, 10_000L, request(), response));
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        FutureTask<Boolean> conditionalWaiter = startWaiting(() -> coalescer.coalesce(KEY, 10_000L, conditional, notModified));
+
+        coalescer.complete(flight, BODY, BODY.length, "application/json", new String[]{HttpHeaders.ETAG, "\"v1\""});
+
+        assertTrue(waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(200, response.getStatus());
+        assertEquals("\"v1\"", response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+
+        assertTrue(conditionalWaiter.get(10, TimeUnit.SECONDS));
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(2, coalescer.getCoalesced());
+    }
+
+    /**
+     * 当前请求成为 leader
+     */
+    private RequestCoalescer.Flight lead() throws Exception {
+        MockHttpServletRequest request = request();
+        assertFalse(coalescer.coalesce(KEY, 10_000L, request, new MockHttpServletResponse()));
+        return (RequestCoalescer.Flight) request.getAttribute(RequestCoalescer.LEADER_ATTRIBUTE);
+    }
+
+    /**
+     * 在新的线程中执行, 直到线程开始等待 leader
+     */
+    private static FutureTask<Boolean> startWaiting(Callable<Boolean> callable) throws InterruptedException {
+        FutureTask<Boolean> task = new FutureTask<>(callable);
+        Thread thread = new Thread(task, "coalesce-waiter");
+        thread.setDaemon(true);
+        thread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.TIMED_WAITING && !task.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        return task;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", KEY);
+        request.setAttribute(RequestCoalescer.FILTER_ATTRIBUTE, Boolean.TRUE);
+        return request;
+    }
+}
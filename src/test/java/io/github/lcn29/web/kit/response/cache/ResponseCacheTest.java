@@ -0,0 +1,140 @@
+package io.github.lcn29.web.kit.response.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <pre>
+ * ResponseCache 的测试
+ * 校验正在输出的条目被淘汰时, 块在输出结束后才释放; 以及命中时重放 ETag 和 Cache-Control, 并返回 304
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:20
+ */
+class ResponseCacheTest {
+
+    /**
+     * 只有一个 slab 的大小
+     */
+    private final static int SLAB_BYTES = 1024 * 1024;
+
+    private final static String JSON = "application/json";
+
+    private final static String[] NO_HEADERS = new String[0];
+
+    @Test
+    void keepPinnedEntryUntilWritten() throws IOException {
+        ResponseCache cache = new ResponseCache(SLAB_BYTES).maxEntryBytes(SLAB_BYTES);
+        byte[] first = body(600 * 1024, (byte) 'a');
+        byte[] second = body(600 * 1024, (byte) 'b');
+        assertTrue(cache.put("/first", first, first.length, JSON, NO_HEADERS, 60_000L));
+
+        // 输出第一个条目的过程中放入第二个条目, 第一个条目被淘汰, 但是块还在使用, 放入失败
+        boolean[] putWhilePinned = new boolean[1];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServletResponse evicting = new OnFirstWriteResponse(response,
+                () -> putWhilePinned[0] = cache.put("/second", second, second.length, JSON, NO_HEADERS, 60_000L));
+        assertTrue(cache.writeTo("/first", new MockHttpServletRequest("GET", "/first"), evicting));
+
+        assertFalse(putWhilePinned[0]);
+        assertArrayEquals(first, response.getContentAsByteArray());
+        assertEquals(1, cache.snapshot().getEvictions());
+        assertFalse(cache.writeTo("/first", new MockHttpServletRequest("GET", "/first"), new MockHttpServletResponse()));
+
+        // 输出结束后块已经释放
+        assertTrue(cache.put("/second", second, second.length, JSON, NO_HEADERS, 60_000L));
+        MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+        assertTrue(cache.writeTo("/second", new MockHttpServletRequest("GET", "/second"), secondResponse));
+        assertArrayEquals(second, secondResponse.getContentAsByteArray());
+    }
+
+    @Test
+    void replayHeadersAndNotModified() throws IOException {
+        ResponseCache cache = new ResponseCache(SLAB_BYTES);
+        byte[] body = body(16, (byte) 'c');
+        String[] headers = {HttpHeaders.ETAG, "\"v1\"", HttpHeaders.CACHE_CONTROL, "max-age=60"};
+        assertTrue(cache.put("/item", body, body.length, JSON, headers, 60_000L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(cache.writeTo("/item", new MockHttpServletRequest("GET", "/item"), response));
+        assertEquals(200, response.getStatus());
+        assertEquals("\"v1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=60", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertArrayEquals(body, response.getContentAsByteArray());
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/item");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertTrue(cache.writeTo("/item", conditional, notModified));
+        assertEquals(304, notModified.getStatus());
+        assertEquals("\"v1\"", notModified.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    private static byte[] body(int length, byte value) {
+        byte[] body = new byte[length];
+        Arrays.fill(body, value);
+        return body;
+    }
+
+    /**
+     * 第一次写入响应体时执行回调
+     */
+    private static class OnFirstWriteResponse extends HttpServletResponseWrapper {
+
+        private final Runnable callback;
+
+        private OnFirstWriteResponse(HttpServletResponse response, Runnable callback) {
+            super(response);
+            this.callback = callback;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            ServletOutputStream delegate = super.getOutputStream();
+            return new ServletOutputStream() {
+
+                private boolean called;
+
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    if (!called) {
+                        called = true;
+                        callback.run();
+                    }
+                    delegate.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return delegate.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    delegate.setWriteListener(writeListener);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.lcn29.web.kit.trace;
+
+import io.github.lcn29.web.kit.constants.WebConstants;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * <pre>
+ * TraceExecutors / TraceContextSnapshot 的测试
+ * 校验定时任务传递 traceId, 以及任务修改了 MDC 之后仍然恢复线程原有的上下文
+ * </pre>
+ *
+ * @author lcn29
+ * @date 2026-10-18 14:10
+ */
+class TraceExecutorsTest {
+
+    @Test
+    void scheduleWithTraceId() throws Exception {
+        ScheduledExecutorService executor = TraceExecutors.wrap(Executors.newSingleThreadScheduledExecutor());
+        try {
+            assertSame(executor, TraceExecutors.wrap(executor));
+
+            MDC.put(WebConstants.TRACE_ID, "scheduled");
+            String traceId = executor.schedule(() -> MDC.get(WebConstants.TRACE_ID), 1, TimeUnit.MILLISECONDS).get();
+            MDC.remove(WebConstants.TRACE_ID);
+
+            assertEquals("scheduled", traceId);
+            assertNull(executor.submit(() -> MDC.get(WebConstants.TRACE_ID)).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void restoreTraceIdChangedByTask() {
+        MDC.put(WebConstants.TRACE_ID, "task");
+        Runnable changeTraceId = TraceContextSnapshot.wrapRunnable(() -> MDC.put(WebConstants.TRACE_ID, "changed"));
+        Runnable removeTraceId = TraceContextSnapshot.wrapRunnable(() -> MDC.remove(WebConstants.TRACE_ID));
+
+        // 调用方线程直接执行, 原有的 traceId 和快照相同
+        changeTraceId.run();
+        assertEquals("task", MDC.get(WebConstants.TRACE_ID));
+        removeTraceId.run();
+        assertEquals("task", MDC.get(WebConstants.TRACE_ID));
+
+        // 线程原本没有 traceId
+        MDC.remove(WebConstants.TRACE_ID);
+        changeTraceId.run();
+        assertNull(MDC.get(WebConstants.TRACE_ID));
+    }
+}